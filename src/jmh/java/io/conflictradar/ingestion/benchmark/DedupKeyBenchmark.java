@@ -0,0 +1,54 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.api.service.RssDeduplicationService;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis key for an article link ({@link RssDeduplicationService#generateKey}):
+ * MD5 of the link, hex encoded, behind the key prefix. {@code md5} is the digest
+ * alone, to separate hashing from encoding.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DedupKeyBenchmark {
+
+    private String[] links;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        links = new String[256];
+        for (int i = 0; i < links.length; i++) {
+            links[i] = i % 2 == 0
+                    ? "https://www.bbc.com/news/articles/c" + Long.toString(Math.abs(random.nextLong()), 36)
+                    + "?at_medium=RSS&at_campaign=rss"
+                    : "https://www.reuters.com/world/" + FeedFixtures.sentence(random, 5, 8).toLowerCase()
+                    .replace(' ', '-').replace(".", "").replace(",", "") + "-2025-07-29/";
+        }
+    }
+
+    @Benchmark
+    public String generateKey() {
+        return RssDeduplicationService.generateKey(nextLink());
+    }
+
+    @Benchmark
+    public byte[] md5() {
+        return DigestUtils.md5(nextLink());
+    }
+
+    private String nextLink() {
+        String link = links[next];
+        next = (next + 1) & (links.length - 1);
+        return link;
+    }
+}
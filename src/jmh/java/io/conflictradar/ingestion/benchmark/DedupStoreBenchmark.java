@@ -0,0 +1,143 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.api.service.RssDeduplicationService;
+import io.conflictradar.ingestion.api.service.dedup.MappedDigestStore;
+import io.conflictradar.ingestion.config.DedupConfig;
+import io.conflictradar.ingestion.config.EmbeddedStoreConfig;
+import io.conflictradar.ingestion.config.RedisDedupConfig;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedup lookups on a store already holding {@value #PROCESSED} links, half of
+ * them hits. {@code isAlreadyProcessed} and {@code filterAndMarkNew} go through
+ * {@link RssDeduplicationService} (MD5 of the link included) with the embedded
+ * {@link MappedDigestStore} or Redis in the bucketed layout; a batch is the
+ * steady state of a poll, 50 links seen before. {@code storeContains} is the
+ * bare mapped table lookup for a precomputed key.
+ * <p>
+ * The Redis backend is not run by default: pass {@code -p backend=embedded,redis}
+ * with a Redis reachable at {@code REDIS_HOST}/{@code REDIS_PORT} (it writes
+ * {@code rss:seen:*} and {@code rss:stats:*} keys).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DedupStoreBenchmark {
+
+    static final int PROCESSED = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param({"embedded"})
+        public String backend;
+
+        RssDeduplicationService service;
+        LettuceConnectionFactory connectionFactory;
+        Path file;
+        String[] links;
+        List<List<String>> batches;
+        int next;
+
+        @Setup
+        public void setUp() throws IOException {
+            if (backend.equals("redis")) {
+                connectionFactory = new LettuceConnectionFactory(System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                        Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+                connectionFactory.afterPropertiesSet();
+                connectionFactory.start();
+                service = new RssDeduplicationService(new StringRedisTemplate(connectionFactory),
+                        new DedupConfig(null, null, new RedisDedupConfig(RedisDedupConfig.Layout.BUCKETS, 0)));
+            } else {
+                file = Files.createTempFile("dedup-benchmark", ".store");
+                service = new RssDeduplicationService(null, new DedupConfig(null, null, null,
+                        new EmbeddedStoreConfig(true, file, PROCESSED)));
+            }
+
+            links = links("https://www.reuters.com/world/benchmark-" + System.nanoTime() + "/", 2 * PROCESSED);
+            List<String> all = List.of(links);
+            batches = new ArrayList<>();
+            for (int i = 0; i < PROCESSED; i += 50) {
+                List<String> batch = all.subList(i, i + 50);
+                service.filterAndMarkNew("benchmark", batch);
+                if (batches.size() < 256) batches.add(batch);
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            service.close();
+            if (connectionFactory != null) connectionFactory.destroy();
+            if (file != null) Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        MappedDigestStore store;
+        Path file;
+        long[] keys;
+        int next;
+
+        @Setup
+        public void setUp() throws IOException {
+            file = Files.createTempFile("dedup-benchmark", ".store");
+            store = MappedDigestStore.open(file, PROCESSED, 8, Clock.systemUTC());
+
+            String[] links = links("https://www.bbc.com/news/articles/", 2 * PROCESSED);
+            keys = new long[4096];
+            for (int i = 0; i < links.length; i++) {
+                long key = MappedDigestStore.key(DigestUtils.md5(links[i]));
+                if (i < PROCESSED) store.claim(key);
+                // Even positions were claimed, odd ones were not
+                if (i % PROCESSED < keys.length / 2) keys[2 * (i % PROCESSED) + i / PROCESSED] = key;
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            store.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public boolean isAlreadyProcessed(Service state) {
+        // Alternates between a processed link and one never seen
+        int i = state.next++ & 4095;
+        return state.service.isAlreadyProcessed(state.links[(i & 1) * PROCESSED + (i >> 1)]);
+    }
+
+    @Benchmark
+    public Set<String> filterAndMarkNew(Service state) {
+        return state.service.filterAndMarkNew("benchmark", state.batches.get(state.next++ & 255));
+    }
+
+    @Benchmark
+    public boolean storeContains(Store state) {
+        return state.store.contains(state.keys[state.next++ & (state.keys.length - 1)]);
+    }
+
+    private static String[] links(String prefix, int count) {
+        String[] links = new String[count];
+        for (int i = 0; i < count; i++) {
+            links[i] = prefix + Long.toString(i * 0x9E3779B97F4A7C15L >>> 1, 36);
+        }
+        return links;
+    }
+}
@@ -0,0 +1,105 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.api.dto.kafka.HighRiskDetectedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.NewsIngestedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.codec.BinaryEventDeserializer;
+import io.conflictradar.ingestion.api.dto.kafka.codec.BinaryEventSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event value serialization, JSON (as sent before) against the binary codec.
+ * Scores are per event; {@code valueBytes} / {@code events} (aux counters) is the
+ * average serialized size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EventCodecBenchmark {
+
+    private static final int EVENTS = 64;
+    private static final String[] KEYWORDS = {"war", "conflict", "attack", "military", "bomb", "nuclear"};
+
+    @Param({"news", "alert"})
+    public String event;
+
+    private Object[] events;
+    private JsonSerializer<Object> json;
+    private BinaryEventSerializer binary;
+    private byte[][] encoded;
+    private BinaryEventDeserializer binaryDeserializer;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Size {
+        public long valueBytes;
+        public long events;
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(5);
+        events = new Object[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            String title = FeedFixtures.sentence(random, 8, 14);
+            String source = i % 2 == 0 ? "BBC" : "Reuters";
+            LocalDateTime published = LocalDateTime.of(2025, 7, 29, 10, 0).minusMinutes(i * 17L);
+            Set<String> keywords = i % 3 == 0 ? Set.of() : Set.of(KEYWORDS[i % KEYWORDS.length], KEYWORDS[(i + 1) % KEYWORDS.length]);
+
+            events[i] = "news".equals(event)
+                    ? new NewsIngestedEvent(id, title, "https://www.bbc.com/news/articles/c" + Long.toString(Math.abs(random.nextLong()), 36),
+                            source, published, random.nextDouble(), keywords, published.plusMinutes(5))
+                    : new HighRiskDetectedEvent("ALERT-" + id.substring(0, 8), id, title, 0.7 + random.nextDouble() * 0.3,
+                            keywords, source, published);
+        }
+
+        json = new JsonSerializer<>();
+        binary = new BinaryEventSerializer();
+        binaryDeserializer = new BinaryEventDeserializer();
+        encoded = new byte[EVENTS][];
+        for (int i = 0; i < EVENTS; i++) {
+            encoded[i] = binary.serialize("topic", events[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void json(Size size, Blackhole blackhole) {
+        for (Object e : events) {
+            byte[] value = json.serialize("topic", e);
+            size.valueBytes += value.length;
+            size.events++;
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void binary(Size size, Blackhole blackhole) {
+        for (Object e : events) {
+            byte[] value = binary.serialize("topic", e);
+            size.valueBytes += value.length;
+            size.events++;
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void binaryDecode(Blackhole blackhole) {
+        for (byte[] value : encoded) {
+            blackhole.consume(binaryDeserializer.deserialize("topic", value));
+        }
+    }
+}
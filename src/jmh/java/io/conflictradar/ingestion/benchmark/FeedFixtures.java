@@ -0,0 +1,159 @@
+package io.conflictradar.ingestion.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic feed bodies shaped like the real sources: item count, field
+ * lengths, CDATA / escaped HTML and extra namespaces follow the BBC World and
+ * Reuters World feeds, with generated wording.
+ */
+public final class FeedFixtures {
+
+    private static final String[] WORDS = {
+            "government", "officials", "said", "on", "the", "in", "a", "of", "and", "to", "after",
+            "talks", "region", "border", "minister", "president", "election", "economy", "market",
+            "war", "conflict", "attack", "violence", "military", "troops", "ceasefire", "protest",
+            "crisis", "sanctions", "bomb", "terrorist", "nuclear", "refugees", "aid", "summit",
+            "award", "bombastic", "warrant", "reward", "forces", "capital", "city", "northern",
+            "southern", "agency", "report", "statement", "week", "thursday", "monday", "early"
+    };
+
+    public static final int BBC_ENTRIES = 38;
+    public static final int REUTERS_ENTRIES = 20;
+
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private FeedFixtures() {
+    }
+
+    public static byte[] feed(String name) {
+        return switch (name) {
+            case "bbc" -> bbcWorld();
+            case "reuters" -> reutersWorld();
+            default -> throw new IllegalArgumentException("Unknown fixture: " + name);
+        };
+    }
+
+    public static int entryCount(String name) {
+        return switch (name) {
+            case "bbc" -> BBC_ENTRIES;
+            case "reuters" -> REUTERS_ENTRIES;
+            default -> throw new IllegalArgumentException("Unknown fixture: " + name);
+        };
+    }
+
+    /** ~38 short items, CDATA title/description, media thumbnails. */
+    public static byte[] bbcWorld() {
+        Random random = new Random(42);
+        StringBuilder xml = new StringBuilder(24 * 1024);
+        xml.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <rss xmlns:dc="http://purl.org/dc/elements/1.1/" xmlns:content="http://purl.org/rss/1.0/modules/content/" \
+                xmlns:atom="http://www.w3.org/2005/Atom" version="2.0" xmlns:media="http://search.yahoo.com/mrss/">
+                <channel>
+                <title><![CDATA[BBC News]]></title>
+                <description><![CDATA[BBC News - World]]></description>
+                <link>https://www.bbc.co.uk/news/world</link>
+                <generator>RSS for Node</generator>
+                <lastBuildDate>Tue, 29 Jul 2025 10:00:00 GMT</lastBuildDate>
+                <atom:link href="https://feeds.bbci.co.uk/news/world/rss.xml" rel="self" type="application/rss+xml"/>
+                <ttl>15</ttl>
+                """);
+
+        for (int i = 0; i < entryCount("bbc"); i++) {
+            String id = "c" + Long.toString(Math.abs(random.nextLong()), 36);
+            xml.append("<item>\n")
+                    .append("<title><![CDATA[").append(sentence(random, 8, 14)).append("]]></title>\n")
+                    .append("<description><![CDATA[").append(sentence(random, 20, 36)).append("]]></description>\n")
+                    .append("<link>https://www.bbc.com/news/articles/").append(id).append("?at_medium=RSS&amp;at_campaign=rss</link>\n")
+                    .append("<guid isPermaLink=\"false\">https://www.bbc.com/news/articles/").append(id).append("#0</guid>\n")
+                    .append("<pubDate>").append(date(i)).append("</pubDate>\n")
+                    .append("<media:thumbnail width=\"240\" height=\"135\" url=\"https://ichef.bbci.co.uk/ace/standard/240/cpsprodpb/")
+                    .append(id).append("/live/image.jpg\"/>\n")
+                    .append("</item>\n");
+        }
+
+        xml.append("</channel>\n</rss>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** ~20 longer items, entity-escaped HTML descriptions, dc:creator and categories. */
+    public static byte[] reutersWorld() {
+        Random random = new Random(7);
+        StringBuilder xml = new StringBuilder(32 * 1024);
+        xml.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <rss version="2.0" xmlns:dc="http://purl.org/dc/elements/1.1/">
+                <channel>
+                <title>Reuters: World News</title>
+                <link>https://www.reuters.com/world/</link>
+                <description>Reuters.com is your source for breaking news, business, financial and investing news.</description>
+                <language>en-us</language>
+                <copyright>All rights reserved.</copyright>
+                """);
+
+        for (int i = 0; i < entryCount("reuters"); i++) {
+            String slug = sentence(random, 5, 8).toLowerCase().replace(' ', '-').replace(".", "");
+            xml.append("<item>\n")
+                    .append("<title>").append(sentence(random, 9, 16)).append("</title>\n")
+                    .append("<link>https://www.reuters.com/world/").append(slug).append("-2025-07-29/</link>\n")
+                    .append("<description>&lt;p&gt;").append(sentence(random, 40, 60))
+                    .append("&lt;/p&gt;&lt;p&gt;").append(sentence(random, 30, 50))
+                    .append(" &amp;quot;").append(sentence(random, 6, 10)).append("&amp;quot;&lt;/p&gt;")
+                    .append("&lt;img src=&quot;https://feeds.feedburner.com/~r/reuters/worldNews/~4/")
+                    .append(i).append("&quot; height=&quot;1&quot; width=&quot;1&quot;/&gt;</description>\n")
+                    .append("<dc:creator>Reuters Staff</dc:creator>\n")
+                    .append("<category>World</category>\n<category>Politics</category>\n")
+                    .append("<pubDate>").append(date(i)).append("</pubDate>\n")
+                    .append("<guid isPermaLink=\"false\">reuters-").append(i).append("</guid>\n")
+                    .append("</item>\n");
+        }
+
+        xml.append("</channel>\n</rss>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Descriptions of the fixture feed with markup, as they arrive from the parser. */
+    public static List<String> rawDescriptions(String name) {
+        Random random = new Random(name.hashCode());
+        List<String> descriptions = new ArrayList<>();
+        for (int i = 0; i < entryCount(name); i++) {
+            if ("reuters".equals(name)) {
+                descriptions.add("<p>" + sentence(random, 40, 60) + "</p><p>" + sentence(random, 30, 50)
+                        + " &quot;" + sentence(random, 6, 10) + "&quot;</p>"
+                        + "<img src=\"https://feeds.feedburner.com/~r/reuters/worldNews/~4/" + i
+                        + "\" height=\"1\" width=\"1\"/>");
+            } else {
+                descriptions.add(sentence(random, 20, 36));
+            }
+        }
+        return descriptions;
+    }
+
+    static String sentence(Random random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder sentence = new StringBuilder(words * 8);
+        for (int w = 0; w < words; w++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (w == 0) {
+                sentence.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                sentence.append(' ').append(word);
+            }
+            if (w > 0 && w % 11 == 0) sentence.append(',');
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static String date(int minutesAgo) {
+        return ZonedDateTime.of(2025, 7, 29, 10, 0, 0, 0, ZoneOffset.UTC)
+                .minusMinutes(minutesAgo * 17L)
+                .format(RFC_1123);
+    }
+}
@@ -0,0 +1,118 @@
+package io.conflictradar.ingestion.benchmark;
+
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.io.SyndFeedInput;
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.service.parser.FeedParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feed body to articles. Scores are per entry: ops/s is entries/s and, with
+ * {@code -prof gc}, {@code gc.alloc.rate.norm} is bytes allocated per entry.
+ * <ul>
+ *   <li>{@code legacy} - readAllBytes into a String, Rome over a StringReader (the
+ *   path before the parser engines, minus the stdout dump of the body)</li>
+ *   <li>{@code rome} - Rome engine reading the stream directly</li>
+ *   <li>{@code stax} - streaming StAX engine</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedParsingBenchmark {
+
+    private byte[] bbc;
+    private byte[] reuters;
+    private FeedParser rome;
+    private FeedParser stax;
+
+    @Setup
+    public void setUp() {
+        bbc = FeedFixtures.bbcWorld();
+        reuters = FeedFixtures.reutersWorld();
+        rome = FeedParser.forEngine("rome");
+        stax = FeedParser.forEngine("stax");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FeedFixtures.BBC_ENTRIES)
+    public void legacy_bbc(Blackhole blackhole) throws Exception {
+        legacyParse(new ByteArrayInputStream(bbc), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FeedFixtures.REUTERS_ENTRIES)
+    public void legacy_reuters(Blackhole blackhole) throws Exception {
+        legacyParse(new ByteArrayInputStream(reuters), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FeedFixtures.BBC_ENTRIES)
+    public void rome_bbc(Blackhole blackhole) throws Exception {
+        rome.parse(new ByteArrayInputStream(bbc), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FeedFixtures.REUTERS_ENTRIES)
+    public void rome_reuters(Blackhole blackhole) throws Exception {
+        rome.parse(new ByteArrayInputStream(reuters), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FeedFixtures.BBC_ENTRIES)
+    public void stax_bbc(Blackhole blackhole) throws Exception {
+        stax.parse(new ByteArrayInputStream(bbc), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FeedFixtures.REUTERS_ENTRIES)
+    public void stax_reuters(Blackhole blackhole) throws Exception {
+        stax.parse(new ByteArrayInputStream(reuters), blackhole::consume);
+    }
+
+    private static void legacyParse(InputStream inputStream, Blackhole blackhole) throws Exception {
+        String xmlContent = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+
+        var feed = new SyndFeedInput().build(new StringReader(xmlContent));
+
+        for (SyndEntry entry : feed.getEntries()) {
+            blackhole.consume(legacyConvert(entry));
+        }
+    }
+
+    private static RssArticle legacyConvert(SyndEntry entry) {
+        var publishedAt = entry.getPublishedDate() != null
+                ? entry.getPublishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
+                : LocalDateTime.now();
+
+        var description = entry.getDescription() != null ? legacyCleanText(entry.getDescription().getValue()) : "";
+        var title = entry.getTitle() != null ? legacyCleanText(entry.getTitle()) : "Untitled";
+        var link = entry.getLink() != null ? entry.getLink().trim() : "";
+        var author = entry.getAuthor() != null ? legacyCleanText(entry.getAuthor()) : "Unknown";
+
+        return new RssArticle(UUID.randomUUID().toString(), title, description, link, author,
+                publishedAt, Set.of(), 0.0);
+    }
+
+    private static String legacyCleanText(String text) {
+        return text
+                .replaceAll("<[^>]+>", " ")
+                .replaceAll("&[a-zA-Z0-9#]+;", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+}
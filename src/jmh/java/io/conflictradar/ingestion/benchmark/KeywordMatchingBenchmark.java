@@ -0,0 +1,106 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.config.RiskAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword lookup on article text (title + description) of the fixture feeds.
+ * {@code keywords} is the size of the keyword list; 10 is the shipped config.
+ * <ul>
+ *   <li>{@code legacy} - merge the three lists, lowercase, {@code String.contains} per keyword</li>
+ *   <li>{@code automaton} - {@link RiskAnalysis#match}, Aho-Corasick with word boundaries</li>
+ *   <li>{@code findKeywords} - the same through {@link RiskAnalysis#findKeywords}</li>
+ *   <li>{@code matchAndScore} - match plus {@link RiskAnalysis.Matches#riskScore}, what the
+ *   scheduler does per article</li>
+ *   <li>{@code riskScore} - scoring alone, on precomputed matches</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordMatchingBenchmark {
+
+    @Param({"10", "2000"})
+    public int keywords;
+
+    private String[] texts;
+    private RiskAnalysis.Matches[] matches;
+    private RiskAnalysis riskAnalysis;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Set<String> conflict = new HashSet<>(List.of("war", "conflict", "attack", "violence", "terrorism",
+                "terrorist", "bomb", "military", "battle", "invasion"));
+        Random random = new Random(1);
+        while (conflict.size() < keywords) {
+            conflict.add(FeedFixtures.sentence(random, 1, 2).toLowerCase().replace(".", "").replace(",", "")
+                    + random.nextInt(1000));
+        }
+        riskAnalysis = new RiskAnalysis(conflict,
+                Set.of("war", "terrorism", "terrorist", "bomb", "attack", "invasion"),
+                Set.of("nuclear", "chemical", "genocide"));
+
+        List<String> descriptions = FeedFixtures.rawDescriptions("bbc");
+        texts = new String[descriptions.size()];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = FeedFixtures.sentence(random, 8, 14) + " " + descriptions.get(i);
+        }
+        matches = new RiskAnalysis.Matches[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            matches[i] = riskAnalysis.match(texts[i]);
+        }
+    }
+
+    @Benchmark
+    public Set<String> legacy() {
+        String lowerText = nextText().toLowerCase();
+
+        Set<String> allPossibleKeywords = new HashSet<>();
+        allPossibleKeywords.addAll(riskAnalysis.conflictKeywords());
+        allPossibleKeywords.addAll(riskAnalysis.highRiskKeywords());
+        allPossibleKeywords.addAll(riskAnalysis.criticalKeywords());
+
+        return allPossibleKeywords.stream()
+                .filter(lowerText::contains)
+                .collect(Collectors.toSet());
+    }
+
+    @Benchmark
+    public RiskAnalysis.Matches automaton() {
+        return riskAnalysis.match(nextText());
+    }
+
+    @Benchmark
+    public Set<String> findKeywords() {
+        return riskAnalysis.findKeywords(nextText());
+    }
+
+    @Benchmark
+    public double matchAndScore() {
+        return riskAnalysis.match(nextText()).riskScore(0.9);
+    }
+
+    @Benchmark
+    public double riskScore() {
+        RiskAnalysis.Matches m = matches[next];
+        next = next + 1 == matches.length ? 0 : next + 1;
+        return m.riskScore(0.9);
+    }
+
+    private String nextText() {
+        String text = texts[next];
+        next = next + 1 == texts.length ? 0 : next + 1;
+        return text;
+    }
+}
@@ -0,0 +1,75 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.api.service.dedup.NearDuplicateDetector;
+import io.conflictradar.ingestion.config.NearDuplicateConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-duplicate clustering of one article ({@link NearDuplicateDetector#assign})
+ * against an index already holding {@code indexed} fingerprints: SimHash of the
+ * text, banded LSH lookup and insert. Half the texts are light rewrites of an
+ * indexed story, half are new. Texts are drawn from a 20k word vocabulary: the
+ * small {@link FeedFixtures} one makes every text a near-duplicate of every other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class NearDuplicateBenchmark {
+
+    @Param({"100000", "2000000"})
+    public int indexed;
+
+    private NearDuplicateDetector detector;
+    private String[] vocabulary;
+    private String[] texts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        detector = new NearDuplicateDetector(
+                new NearDuplicateConfig(true, 3, Duration.ofDays(365), indexed, 6), Clock.systemUTC());
+
+        Random random = new Random(11);
+        vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = Long.toString(3_000 + random.nextInt(1 << 24), 36);
+        }
+
+        String[] stories = new String[1024];
+        for (int i = 0; i < indexed; i++) {
+            String story = text(random);
+            detector.assign(story);
+            if (i < stories.length) stories[i] = story;
+        }
+
+        texts = new String[1024];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = i % 2 == 0 ? "(reuters) - " + stories[i] : text(random);
+        }
+    }
+
+    @Benchmark
+    public NearDuplicateDetector.Cluster assign() {
+        String text = texts[next];
+        next = (next + 1) & (texts.length - 1);
+        return detector.assign(text);
+    }
+
+    private String text(Random random) {
+        int words = 26 + random.nextInt(24);
+        StringBuilder text = new StringBuilder(words * 6);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) text.append(' ');
+            text.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return text.toString();
+    }
+}
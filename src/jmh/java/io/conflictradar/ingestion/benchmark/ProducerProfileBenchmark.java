@@ -0,0 +1,126 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.api.dto.kafka.NewsIngestedEvent;
+import io.conflictradar.ingestion.config.ProducerProfile;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a producer profile does to one poll's worth of news events, without a
+ * broker: JSON serialization plus Kafka's own record batch encoding
+ * ({@link MemoryRecordsBuilder}) with the profile's compression and batch size.
+ * <p>
+ * Scores are per record. {@code wireBytes} / {@code records} (aux counters,
+ * summed per iteration) is the average produce request payload per record.
+ * <p>
+ * Batching model: a profile with {@code linger.ms > 0} fills batches up to
+ * {@code batch.size} (a poll hands the producer all its articles at once); the
+ * alert profile ({@code linger.ms = 0}) sends each record in its own batch.
+ * {@code bulk-zstd} needs zstd-jni on the classpath (a runtime dependency of
+ * kafka-clients).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProducerProfileBenchmark {
+
+    private static final int EVENTS = 64;
+
+    @Param({"standard", "bulk", "bulk-gzip", "bulk-snappy", "bulk-zstd", "alert"})
+    public String profile;
+
+    private ProducerProfile producerProfile;
+    private CompressionType compression;
+    private NewsIngestedEvent[] events;
+    private StringSerializer keySerializer;
+    private JsonSerializer<Object> valueSerializer;
+    private ByteBuffer buffer;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+        public long wireBytes;
+        public long records;
+    }
+
+    @Setup
+    public void setUp() {
+        producerProfile = switch (profile) {
+            case "standard" -> ProducerProfile.standard();
+            case "bulk" -> ProducerProfile.bulk();
+            case "alert" -> ProducerProfile.alert();
+            default -> {
+                ProducerProfile bulk = ProducerProfile.bulk();
+                yield new ProducerProfile(bulk.acks(), profile.substring("bulk-".length()),
+                        bulk.batchSize(), bulk.lingerMs(), bulk.idempotent(), bulk.format());
+            }
+        };
+        compression = CompressionType.forName(producerProfile.compression());
+        buffer = ByteBuffer.allocate(producerProfile.batchSize());
+        keySerializer = new StringSerializer();
+        valueSerializer = new JsonSerializer<>();
+
+        Random random = new Random(11);
+        events = new NewsIngestedEvent[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            events[i] = new NewsIngestedEvent(id,
+                    FeedFixtures.sentence(random, 8, 14),
+                    "https://www.bbc.com/news/articles/c" + Long.toString(Math.abs(random.nextLong()), 36),
+                    i % 2 == 0 ? "BBC" : "Reuters",
+                    LocalDateTime.of(2025, 7, 29, 10, 0).minusMinutes(i * 17L),
+                    random.nextDouble(),
+                    i % 3 == 0 ? Set.of("conflict", "military") : Set.of(),
+                    LocalDateTime.of(2025, 7, 29, 10, 5));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void encode(Wire wire, Blackhole blackhole) {
+        boolean oneRecordPerBatch = producerProfile.lingerMs() == 0;
+        long timestamp = 1_753_783_200_000L;
+
+        MemoryRecordsBuilder batch = newBatch();
+        for (NewsIngestedEvent event : events) {
+            byte[] key = keySerializer.serialize("news-ingested", event.articleId());
+            byte[] value = valueSerializer.serialize("news-ingested", event);
+
+            if (batch.numRecords() > 0 && (oneRecordPerBatch || !batch.hasRoomFor(timestamp, key, value, Record.EMPTY_HEADERS))) {
+                wire.wireBytes += close(batch, blackhole);
+                batch = newBatch();
+            }
+            batch.append(timestamp, key, value);
+            wire.records++;
+        }
+        wire.wireBytes += close(batch, blackhole);
+    }
+
+    private MemoryRecordsBuilder newBatch() {
+        buffer.clear();
+        return MemoryRecords.builder(buffer, compression, TimestampType.CREATE_TIME, 0L);
+    }
+
+    private static int close(MemoryRecordsBuilder batch, Blackhole blackhole) {
+        MemoryRecords records = batch.build();
+        blackhole.consume(records);
+        return records.sizeInBytes();
+    }
+}
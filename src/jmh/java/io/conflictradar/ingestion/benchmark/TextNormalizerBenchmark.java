@@ -0,0 +1,87 @@
+package io.conflictradar.ingestion.benchmark;
+
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-field text cleanup on descriptions shaped like the fixture feeds
+ * (BBC: short plain text, Reuters: longer HTML with entities).
+ * <ul>
+ *   <li>{@code clean_*} - cleaning one description</li>
+ *   <li>{@code analysisText_*} - building the lowercase title + description text
+ *   the keyword matcher reads</li>
+ * </ul>
+ * {@code regex} is the previous {@code cleanText} chain / concat + toLowerCase.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TextNormalizerBenchmark {
+
+    @Param({"bbc", "reuters"})
+    public String feed;
+
+    private String[] titles;
+    private String[] descriptions;
+    private String[] cleanDescriptions;
+    private TextNormalizer normalizer;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String> raw = FeedFixtures.rawDescriptions(feed);
+        Random random = new Random(3);
+
+        descriptions = raw.toArray(String[]::new);
+        titles = new String[descriptions.length];
+        cleanDescriptions = new String[descriptions.length];
+        for (int i = 0; i < descriptions.length; i++) {
+            titles[i] = FeedFixtures.sentence(random, 8, 16);
+            cleanDescriptions[i] = regexClean(descriptions[i]);
+        }
+        normalizer = new TextNormalizer();
+    }
+
+    @Benchmark
+    public String clean_regex() {
+        return regexClean(descriptions[advance()]);
+    }
+
+    @Benchmark
+    public String clean_normalizer() {
+        return normalizer.clean(descriptions[advance()]);
+    }
+
+    @Benchmark
+    public String analysisText_regex() {
+        int i = advance();
+        return (titles[i] + " " + cleanDescriptions[i]).toLowerCase();
+    }
+
+    @Benchmark
+    public CharSequence analysisText_normalizer() {
+        int i = advance();
+        return normalizer.lowercase(titles[i], cleanDescriptions[i]);
+    }
+
+    private int advance() {
+        int i = next;
+        next = next + 1 == descriptions.length ? 0 : next + 1;
+        return i;
+    }
+
+    private static String regexClean(String text) {
+        return text
+                .replaceAll("<[^>]+>", " ")
+                .replaceAll("&[a-zA-Z0-9#]+;", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+}
@@ -0,0 +1,353 @@
+package io.conflictradar.ingestion.loadtest;
+
+import io.conflictradar.ingestion.api.service.EventPublisherService;
+import io.conflictradar.ingestion.api.service.FeedHttpClient;
+import io.conflictradar.ingestion.api.service.RssDeduplicationService;
+import io.conflictradar.ingestion.api.service.RssParsingService;
+import io.conflictradar.ingestion.api.service.ScheduledRssService;
+import io.conflictradar.ingestion.api.service.metrics.LatencyHistogram;
+import io.conflictradar.ingestion.api.service.pipeline.Stage;
+import io.conflictradar.ingestion.config.ConcurrencyConfig;
+import io.conflictradar.ingestion.config.DedupConfig;
+import io.conflictradar.ingestion.config.EmbeddedStoreConfig;
+import io.conflictradar.ingestion.config.HttpConfig;
+import io.conflictradar.ingestion.config.KafkaProperties;
+import io.conflictradar.ingestion.config.KafkaTemplates;
+import io.conflictradar.ingestion.config.NearDuplicateConfig;
+import io.conflictradar.ingestion.config.ParserConfig;
+import io.conflictradar.ingestion.config.ProcessingConfig;
+import io.conflictradar.ingestion.config.RedisDedupConfig;
+import io.conflictradar.ingestion.config.RiskAnalysis;
+import io.conflictradar.ingestion.config.RssConfig;
+import io.conflictradar.ingestion.config.RssSource;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test of one polling tick: {@link ScheduledRssService#parseAllRssFeeds()}
+ * with the real HTTP client, parser, dedup and analysis/publish pipeline,
+ * fetching from a {@link SyntheticFeedServer} in the same JVM.
+ * <p>
+ * Redis is replaced by the embedded dedup store in a temporary file (or a real
+ * Redis with {@code --redis=host:port}), Kafka by a {@link MockProducer} that
+ * still serializes every event to JSON. Each tick reports its duration, articles
+ * fetched and new, articles per second, per-source fetch latency, the errors the
+ * server injected, heap in use, allocation rate and GC. Allocations include the
+ * feed server's threads, so compare runs rather than reading them absolutely.
+ * <p>
+ * Run with {@code ./gradlew loadTest -PloadTest.args="--feeds=500 --ticks=5"};
+ * the options are listed in the README.
+ */
+public final class IngestLoadTest {
+
+    private static final int SLOWEST_SOURCES = 5;
+
+    private final LoadTestArgs args;
+    private final SyntheticFeedServer server;
+    private final MockProducer<String, Object> producer;
+    private final TimedParsingService parsingService;
+    private final FeedHttpClient httpClient;
+    private final RssDeduplicationService deduplicationService;
+    private final ScheduledRssService scheduledService;
+    private final LettuceConnectionFactory redis;
+    private final Path storeFile;
+
+    private IngestLoadTest(LoadTestArgs args) throws IOException {
+        this.args = args;
+        this.server = SyntheticFeedServer.start(SyntheticFeedServer.Options.from(args), 0);
+
+        RssConfig rssConfig = rssConfig(sources(server, args.intValue("hosts", 8)));
+        this.httpClient = new FeedHttpClient(rssConfig);
+        this.parsingService = new TimedParsingService(rssConfig, httpClient);
+
+        String redisAddress = args.string("redis", null);
+        if (redisAddress != null) {
+            String[] hostAndPort = redisAddress.split(":");
+            this.redis = new LettuceConnectionFactory(hostAndPort[0],
+                    hostAndPort.length > 1 ? Integer.parseInt(hostAndPort[1]) : 6379);
+            redis.afterPropertiesSet();
+            redis.start();
+            this.storeFile = null;
+            this.deduplicationService = new RssDeduplicationService(new StringRedisTemplate(redis),
+                    new DedupConfig(null, nearDuplicate(), RedisDedupConfig.defaults()));
+        } else {
+            this.redis = null;
+            this.storeFile = Files.createTempFile("ingest-load-test", ".store");
+            this.deduplicationService = new RssDeduplicationService(null, new DedupConfig(null, nearDuplicate(), null,
+                    new EmbeddedStoreConfig(true, storeFile, (long) server.options().feeds() * server.options().entries())));
+        }
+
+        this.producer = new ReusedMockProducer();
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(new MockProducerFactory<>(() -> producer));
+        EventPublisherService eventPublisher = new EventPublisherService(KafkaTemplates.single(template),
+                new KafkaProperties("news-ingested", "high-risk-detected", "batch-processed"));
+
+        this.scheduledService = new ScheduledRssService(parsingService, deduplicationService, eventPublisher, rssConfig);
+    }
+
+    private RssConfig rssConfig(List<RssSource> sources) {
+        HttpConfig http = new HttpConfig(
+                5_000,
+                (int) args.duration("read-timeout", Duration.ofSeconds(10)).toMillis(),
+                0,
+                1_000,
+                List.of("ConflictRadar/1.0 (load test)"),
+                false,
+                args.intValue("max-connections", 256),
+                args.intValue("max-connections-per-host", 32));
+        ProcessingConfig processing = new ProcessingConfig(Duration.ofMinutes(1), Duration.ZERO, 0.6, false);
+        RiskAnalysis riskAnalysis = new RiskAnalysis(
+                Set.of("war", "conflict", "attack", "violence", "terrorist", "bomb"),
+                Set.of("war", "terrorist", "bomb", "attack"),
+                Set.of("nuclear"));
+        ConcurrencyConfig concurrency = new ConcurrencyConfig(true,
+                args.intValue("max-in-flight", 64), args.intValue("max-per-host", 16));
+
+        return new RssConfig(sources, processing, http, riskAnalysis, concurrency, ParserConfig.defaults());
+    }
+
+    /** Feeds spread over {@code hosts} loopback addresses, so per-host limits apply as with real sources. */
+    private static List<RssSource> sources(SyntheticFeedServer server, int hosts) {
+        List<RssSource> sources = new ArrayList<>(server.options().feeds());
+        for (int feed = 0; feed < server.options().feeds(); feed++) {
+            String host = "127.0.0." + (1 + feed % Math.max(1, hosts));
+            sources.add(new RssSource(server.feedUrl(host, feed), "feed-" + feed, 1.0, true));
+        }
+        return sources;
+    }
+
+    private static NearDuplicateConfig nearDuplicate() {
+        return new NearDuplicateConfig(true, 0, null, 0, 0);
+    }
+
+    private void run() throws InterruptedException {
+        int ticks = args.intValue("ticks", 5);
+        Duration interval = args.duration("interval", Duration.ZERO);
+        SyntheticFeedServer.Options options = server.options();
+
+        System.out.printf("%d feeds x %d entries, ~%d B bodies, %.1f new/min per feed, latency p50 %dms / p99 %dms%n",
+                options.feeds(), options.entries(), options.bodyBytes(), options.newPerMinute(),
+                options.latencyMedian().toMillis(), options.latencyP99().toMillis());
+        System.out.printf("errors: slow %.3f (+%ds), 429 %.3f, 503 %.3f, malformed %.3f; dedup: %s%n%n",
+                options.slowRate(), options.slowDelay().toSeconds(), options.tooManyRequestsRate(),
+                options.unavailableRate(), options.malformedRate(), redis != null ? "redis" : "embedded store");
+
+        List<TickReport> reports = new ArrayList<>(ticks);
+        for (int tick = 1; tick <= ticks; tick++) {
+            TickReport report = tick();
+            reports.add(report);
+            System.out.println(report.format(tick));
+
+            long pause = interval.toMillis() - report.durationMillis();
+            if (tick < ticks && pause > 0) Thread.sleep(pause);
+        }
+
+        System.out.println();
+        System.out.println(summary(reports));
+    }
+
+    private TickReport tick() {
+        SyntheticFeedServer.Stats serverBefore = server.stats();
+        long allocatedBefore = allocatedBytes();
+        long[] gcBefore = gc();
+        parsingService.reset();
+        producer.clear();
+
+        long start = System.nanoTime();
+        scheduledService.parseAllRssFeeds();
+        long durationNanos = System.nanoTime() - start;
+
+        long[] gcAfter = gc();
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+        long[] latencies = new long[LatencyHistogram.bucketCount()];
+        parsingService.latencies.addTo(latencies);
+
+        int published = 0;
+        int alerts = 0;
+        for (ProducerRecord<String, Object> record : producer.history()) {
+            if (record.topic().equals("news-ingested")) published++;
+            if (record.topic().equals("high-risk-detected")) alerts++;
+        }
+
+        List<Map.Entry<String, Long>> slowest = parsingService.lastMicros.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(SLOWEST_SOURCES)
+                .toList();
+
+        return new TickReport(durationNanos / 1_000_000, parsingService.articles.sum(), published, alerts,
+                LatencyHistogram.valueAt(latencies, 0.5), LatencyHistogram.valueAt(latencies, 0.99),
+                parsingService.maxMicros(), slowest, server.stats().minus(serverBefore),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), allocated,
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], scheduledService.getPipelineStats());
+    }
+
+    private static String summary(List<TickReport> reports) {
+        // The first tick sees every item as new, the rest are the steady state
+        List<TickReport> steady = reports.size() > 1 ? reports.subList(1, reports.size()) : reports;
+        double seconds = steady.stream().mapToLong(TickReport::durationMillis).sum() / 1000.0;
+        long fetched = steady.stream().mapToLong(TickReport::fetched).sum();
+        long allocated = steady.stream().mapToLong(TickReport::allocatedBytes).sum();
+        LongSummaryStatistics durations = steady.stream().mapToLong(TickReport::durationMillis).summaryStatistics();
+
+        return String.format("steady state (%d ticks): %.0f fetched/s, tick %d/%.0f/%d ms (min/avg/max), "
+                        + "source p99 max %d ms, alloc %s, heap max %d MB",
+                steady.size(),
+                fetched / Math.max(seconds, 0.001),
+                durations.getMin(), durations.getAverage(), durations.getMax(),
+                steady.stream().mapToLong(TickReport::p99Micros).max().orElse(0) / 1000,
+                allocated < 0 ? "n/a" : String.format("%.0f MB/s", allocated / 1e6 / Math.max(seconds, 0.001)),
+                steady.stream().mapToLong(TickReport::heapUsedBytes).max().orElse(0) >> 20);
+    }
+
+    private void close() throws IOException {
+        scheduledService.shutdown();
+        httpClient.shutdown();
+        deduplicationService.close();
+        server.close();
+        if (redis != null) redis.destroy();
+        if (storeFile != null) Files.deleteIfExists(storeFile);
+    }
+
+    /** Bytes allocated by all threads so far, -1 if the JVM does not track them. */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /** Collections and milliseconds spent in them, over all collectors. */
+    private static long[] gc() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, collector.getCollectionCount());
+            totals[1] += Math.max(0, collector.getCollectionTime());
+        }
+        return totals;
+    }
+
+    /**
+     * @param fetched   articles in the fetched feeds, new or not
+     * @param published news-ingested events sent
+     * @param alerts    high-risk-detected events sent
+     */
+    private record TickReport(
+            long durationMillis,
+            long fetched,
+            int published,
+            int alerts,
+            long p50Micros,
+            long p99Micros,
+            long maxMicros,
+            List<Map.Entry<String, Long>> slowest,
+            SyntheticFeedServer.Stats served,
+            long heapUsedBytes,
+            long allocatedBytes,
+            long collections,
+            long gcMillis,
+            List<Stage.Stats> stages
+    ) {
+        String format(int tick) {
+            double seconds = Math.max(durationMillis, 1) / 1000.0;
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("tick %d: %d ms, %d fetched (%.0f/s), %d new (%.0f/s), %d alerts%n",
+                    tick, durationMillis, fetched, fetched / seconds, published, published / seconds, alerts));
+            report.append(String.format("  source latency: p50 %.1f ms, p99 %.1f ms, max %.1f ms; slowest %s%n",
+                    p50Micros / 1000.0, p99Micros / 1000.0, maxMicros / 1000.0,
+                    slowest.stream().map(entry -> entry.getKey() + "=" + entry.getValue() / 1000 + "ms").toList()));
+            report.append(String.format("  server: %d served, %d not modified, %d slow, %d x 429, %d x 503, %d malformed%n",
+                    served.served(), served.notModified(), served.slow(), served.tooManyRequests(),
+                    served.unavailable(), served.malformed()));
+            report.append(String.format("  heap %d MB, alloc %s, %d GCs (%d ms)",
+                    heapUsedBytes >> 20,
+                    allocatedBytes < 0 ? "n/a" : String.format("%.0f MB/s", allocatedBytes / 1e6 / seconds),
+                    collections, gcMillis));
+            for (Stage.Stats stage : stages) {
+                report.append(String.format("%n  stage %s: %d processed since start, %d blocked submits",
+                        stage.name(), stage.processed(), stage.blockedSubmits()));
+            }
+            return report.toString();
+        }
+    }
+
+    /** KafkaTemplate closes a non-transactional producer after every send; the mock must outlive that. */
+    private static final class ReusedMockProducer extends MockProducer<String, Object> {
+
+        ReusedMockProducer() {
+            super(true, new StringSerializer(), new JsonSerializer<>());
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+
+    /** Records how long each source's fetch and parse took, by feed URL. */
+    private static final class TimedParsingService extends RssParsingService {
+
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final Map<String, Long> lastMicros = new ConcurrentHashMap<>();
+        final LongAdder articles = new LongAdder();
+
+        TimedParsingService(RssConfig rssConfig, FeedHttpClient httpClient) {
+            super(rssConfig, httpClient);
+        }
+
+        @Override
+        public FeedResult fetchRss(String url) {
+            long start = System.nanoTime();
+            FeedResult parsed = super.fetchRss(url);
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            latencies.record(micros);
+            lastMicros.put(url.substring(url.lastIndexOf('/') + 1), micros);
+            articles.add(parsed.articles().size());
+            return parsed;
+        }
+
+        void reset() {
+            latencies.reset();
+            lastMicros.clear();
+            articles.reset();
+        }
+
+        long maxMicros() {
+            return lastMicros.values().stream().max(Comparator.naturalOrder()).orElse(0L);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        IngestLoadTest loadTest = new IngestLoadTest(LoadTestArgs.parse(args));
+        try {
+            loadTest.run();
+        } finally {
+            loadTest.close();
+        }
+    }
+}
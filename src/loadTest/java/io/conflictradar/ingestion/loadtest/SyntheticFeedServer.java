@@ -0,0 +1,308 @@
+package io.conflictradar.ingestion.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local RSS 2.0 server for load tests: {@code /feeds/<n>.xml} for
+ * {@code n < feeds}, each with {@code entries} items.
+ * <p>
+ * Feeds gain {@code newPerMinute} items a minute from the moment the server
+ * starts (each feed at its own phase), the oldest item dropping out. Pages
+ * are rendered once per new item and answered with an {@code ETag}, so
+ * conditional polls of an unchanged feed get a 304 like from a real server.
+ * Every request first waits a log-normal latency with the given median and
+ * p99, then may be turned into an error: slow (an extra delay), 429 with
+ * {@code Retry-After}, 503, or a body cut off mid-document.
+ * <p>
+ * Requests are handled on virtual threads. Run {@link #main} to serve feeds
+ * to an instance of the service outside the load test.
+ */
+public final class SyntheticFeedServer implements AutoCloseable {
+
+    private static final DateTimeFormatter RFC_1123 = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+    // z for the 99th percentile of a standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    private static final String[] WORDS = {
+            "government", "officials", "said", "on", "tuesday", "that", "talks", "between", "the", "two",
+            "countries", "would", "resume", "next", "week", "after", "months", "of", "tension", "along",
+            "border", "region", "where", "forces", "reported", "minister", "parliament", "election",
+            "economy", "market", "prices", "energy", "supply", "agreement", "protest", "capital", "city",
+            "residents", "water", "power", "storm", "report", "international", "observers", "aid",
+    };
+    private static final String[] RISK_WORDS = {"attack", "conflict", "war", "bomb", "violence", "terrorist"};
+
+    /**
+     * @param feeds               number of feeds served
+     * @param entries             items in every feed
+     * @param bodyBytes           approximate size of an item's description
+     * @param newPerMinute        new items per feed and minute
+     * @param latencyMedian       median response latency
+     * @param latencyP99          99th percentile response latency
+     * @param slowRate            share of responses delayed by another {@code slowDelay}
+     * @param slowDelay           extra delay of slow responses
+     * @param tooManyRequestsRate share of 429 responses
+     * @param unavailableRate     share of 503 responses
+     * @param malformedRate       share of responses cut off mid-document
+     */
+    public record Options(
+            int feeds,
+            int entries,
+            int bodyBytes,
+            double newPerMinute,
+            Duration latencyMedian,
+            Duration latencyP99,
+            double slowRate,
+            Duration slowDelay,
+            double tooManyRequestsRate,
+            double unavailableRate,
+            double malformedRate
+    ) {
+        public Options {
+            if (feeds <= 0) feeds = 500;
+            if (entries <= 0) entries = 200;
+            if (bodyBytes < 0) bodyBytes = 400;
+            if (newPerMinute < 0) newPerMinute = 1;
+            if (latencyMedian == null) latencyMedian = Duration.ofMillis(30);
+            if (latencyP99 == null || latencyP99.compareTo(latencyMedian) < 0) latencyP99 = latencyMedian.multipliedBy(10);
+            if (slowDelay == null) slowDelay = Duration.ofSeconds(5);
+        }
+
+        static Options from(LoadTestArgs args) {
+            return new Options(
+                    args.intValue("feeds", 500),
+                    args.intValue("entries", 200),
+                    args.intValue("body-bytes", 400),
+                    args.doubleValue("new-per-minute", 1),
+                    args.duration("latency-median", Duration.ofMillis(30)),
+                    args.duration("latency-p99", Duration.ofMillis(300)),
+                    args.doubleValue("slow", 0.01),
+                    args.duration("slow-delay", Duration.ofSeconds(5)),
+                    args.doubleValue("429", 0.005),
+                    args.doubleValue("503", 0.005),
+                    args.doubleValue("malformed", 0.005));
+        }
+    }
+
+    private record Page(long latest, String etag, byte[] body) {}
+
+    private final Options options;
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicReferenceArray<Page> pages;
+    private final long startMillis = System.currentTimeMillis();
+    private final double sigma;
+
+    private final LongAdder served = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder tooManyRequests = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+
+    private SyntheticFeedServer(Options options, int port) throws IOException {
+        this.options = options;
+        this.pages = new AtomicReferenceArray<>(options.feeds());
+        this.sigma = Math.log((double) options.latencyP99().toNanos() / Math.max(1, options.latencyMedian().toNanos())) / Z_99;
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/feeds/", this::handle);
+        server.setExecutor(handlers);
+    }
+
+    public static SyntheticFeedServer start(Options options, int port) throws IOException {
+        SyntheticFeedServer server = new SyntheticFeedServer(options, port);
+        server.server.start();
+        return server;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String feedUrl(String host, int feed) {
+        return "http://" + host + ":" + port() + "/feeds/" + feed + ".xml";
+    }
+
+    public Options options() {
+        return options;
+    }
+
+    public Stats stats() {
+        return new Stats(served.sum(), notModified.sum(), slow.sum(), tooManyRequests.sum(),
+                unavailable.sum(), malformed.sum());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int feed = feedOf(exchange.getRequestURI().getPath());
+            if (feed < 0) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delay = (long) (options.latencyMedian().toNanos() * Math.exp(sigma * random.nextGaussian()));
+            double fault = random.nextDouble();
+            if (fault < options.slowRate()) {
+                slow.increment();
+                delay += options.slowDelay().toNanos();
+            }
+            sleep(delay);
+
+            fault -= options.slowRate();
+            if (fault >= 0 && fault < options.tooManyRequestsRate()) {
+                tooManyRequests.increment();
+                exchange.getResponseHeaders().set("Retry-After", "30");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            fault -= options.tooManyRequestsRate();
+            if (fault >= 0 && fault < options.unavailableRate()) {
+                unavailable.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            fault -= options.unavailableRate();
+
+            Page page = page(feed);
+            exchange.getResponseHeaders().set("ETag", page.etag());
+            if (page.etag().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.increment();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            boolean cutOff = fault >= 0 && fault < options.malformedRate();
+            int length = cutOff ? page.body().length / 2 : page.body().length;
+            (cutOff ? malformed : served).increment();
+
+            exchange.getResponseHeaders().set("Content-Type", "application/rss+xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page.body(), 0, length);
+            }
+        }
+    }
+
+    private int feedOf(String path) {
+        if (!path.endsWith(".xml")) return -1;
+        try {
+            int feed = Integer.parseInt(path.substring("/feeds/".length(), path.length() - ".xml".length()));
+            return feed >= 0 && feed < options.feeds() ? feed : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Current page of {@code feed}, rendered again only once it has a new item. */
+    private Page page(int feed) {
+        long latest = latestItem(feed, System.currentTimeMillis());
+        Page page = pages.get(feed);
+        if (page == null || page.latest() != latest) {
+            page = new Page(latest, "\"" + feed + "-" + latest + "\"", render(feed, latest));
+            pages.set(feed, page);
+        }
+        return page;
+    }
+
+    private long latestItem(int feed, long now) {
+        // Each feed at its own phase, so new items do not all appear at once
+        double phase = (feed * 0.618034) % 1.0;
+        return options.entries() + (long) ((now - startMillis) / 60_000.0 * options.newPerMinute() + phase);
+    }
+
+    private byte[] render(int feed, long latest) {
+        StringBuilder xml = new StringBuilder(options.entries() * (options.bodyBytes() + 300));
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<rss version=\"2.0\"><channel>")
+                .append("<title>Synthetic feed ").append(feed).append("</title>")
+                .append("<link>http://feeds.local/").append(feed).append("</link>")
+                .append("<description>Load test feed</description><ttl>1</ttl>");
+
+        for (long item = latest; item > latest - options.entries(); item--) {
+            Random random = new Random(feed * 1_000_003L + item);
+            String link = "http://feeds.local/" + feed + "/items/" + item;
+            // Items before the start are a minute apart, later ones come at the configured rate
+            long published = item < options.entries() ? startMillis - (options.entries() - item) * 60_000L
+                    : startMillis + (long) ((item - options.entries()) * 60_000 / Math.max(options.newPerMinute(), 0.001));
+
+            xml.append("<item><title>").append(sentence(random, 6 + random.nextInt(8))).append("</title>")
+                    .append("<link>").append(link).append("</link>")
+                    .append("<guid>").append(link).append("</guid>")
+                    .append("<pubDate>").append(RFC_1123.format(Instant.ofEpochMilli(published))).append("</pubDate>")
+                    .append("<description>");
+            int start = xml.length();
+            while (xml.length() - start < options.bodyBytes()) {
+                xml.append(sentence(random, 12)).append(". ");
+            }
+            xml.append("</description></item>");
+        }
+        return xml.append("</channel></rss>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sentence.append(' ');
+            // About one title in five mentions a risk keyword
+            sentence.append(random.nextInt(40) == 0 ? RISK_WORDS[random.nextInt(RISK_WORDS.length)]
+                    : WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param served          complete feeds sent
+     * @param notModified     conditional requests answered with 304
+     * @param slow            responses delayed by the slow delay
+     * @param tooManyRequests 429 responses
+     * @param unavailable     503 responses
+     * @param malformed       feeds cut off mid-document
+     */
+    public record Stats(long served, long notModified, long slow, long tooManyRequests, long unavailable, long malformed) {
+
+        Stats minus(Stats before) {
+            return new Stats(served - before.served, notModified - before.notModified, slow - before.slow,
+                    tooManyRequests - before.tooManyRequests, unavailable - before.unavailable,
+                    malformed - before.malformed);
+        }
+    }
+
+    /** Serves feeds until stopped: {@code --port=8089 --feeds=500 --entries=200 ...}. */
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs arguments = LoadTestArgs.parse(args);
+        SyntheticFeedServer server = start(Options.from(arguments), arguments.intValue("port", 8089));
+        System.out.printf("Serving %d feeds at %s%n", server.options().feeds(), server.feedUrl("localhost", 0));
+        Thread.currentThread().join();
+    }
+}
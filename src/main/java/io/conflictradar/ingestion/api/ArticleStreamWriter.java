@@ -0,0 +1,75 @@
+package io.conflictradar.ingestion.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Writes articles to a streaming response one by one, then a closing record
+ * saying how the fetch ended. Writes block while the client is slow to read,
+ * which throttles the upstream fetch instead of buffering it.
+ */
+interface ArticleStreamWriter {
+
+    /**
+     * @param newArticles articles not seen before, {@code null} for analysis-only streams
+     * @param error       why the feed could not be (fully) read, {@code null} if it was
+     */
+    record End(String url, int articles, Integer newArticles, ErrorCategory error) {}
+
+    void article(RssArticle article) throws IOException;
+
+    /** Pushes what was written so far to the client. */
+    void flush() throws IOException;
+
+    void end(End end) throws IOException;
+
+    /** One JSON document per line; the last line is {@code {"end": {...}}}. */
+    static ArticleStreamWriter ndjson(OutputStream out, ObjectMapper mapper) {
+        return new ArticleStreamWriter() {
+            @Override
+            public void article(RssArticle article) throws IOException {
+                out.write(mapper.writeValueAsBytes(article));
+                out.write('\n');
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void end(End end) throws IOException {
+                out.write(mapper.writeValueAsBytes(Map.of("end", end)));
+                out.write('\n');
+                out.flush();
+            }
+        };
+    }
+
+    /** {@code article} events, then a single {@code end} event. Every event is flushed on its own. */
+    static ArticleStreamWriter sse(SseEmitter emitter) {
+        return new ArticleStreamWriter() {
+            @Override
+            public void article(RssArticle article) throws IOException {
+                emitter.send(SseEmitter.event().name("article").id(article.id()).data(article, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void flush() {
+                // send() already flushed
+            }
+
+            @Override
+            public void end(End end) throws IOException {
+                emitter.send(SseEmitter.event().name("end").data(end, MediaType.APPLICATION_JSON));
+            }
+        };
+    }
+}
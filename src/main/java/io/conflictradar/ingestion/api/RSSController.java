@@ -1,27 +1,41 @@
 package io.conflictradar.ingestion.api;
 
-import com.rometools.rome.feed.synd.SyndEntry;
-import com.rometools.rome.io.SyndFeedInput;
-import com.rometools.rome.io.XmlReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.conflictradar.ingestion.api.ArticleStreamWriter.End;
+import io.conflictradar.ingestion.api.dto.BulkIngestRequest;
 import io.conflictradar.ingestion.api.dto.FeedRequest;
 import io.conflictradar.ingestion.api.dto.RssArticle;
 import io.conflictradar.ingestion.api.dto.SourcesInfo;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
 import io.conflictradar.ingestion.api.service.EventPublisherService;
+import io.conflictradar.ingestion.api.service.FeedAnalysisService;
+import io.conflictradar.ingestion.api.service.FeedAnalysisService.AnalyzedFeed;
 import io.conflictradar.ingestion.api.service.RssDeduplicationService;
+import io.conflictradar.ingestion.api.service.ScheduledRssService;
+import io.conflictradar.ingestion.api.service.job.BulkIngestJob;
+import io.conflictradar.ingestion.api.service.job.BulkIngestService;
+import io.conflictradar.ingestion.api.service.pipeline.Stage;
+import io.conflictradar.ingestion.api.util.FetchLimiter;
+import io.conflictradar.ingestion.config.RssConfig;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @RestController
 @RequestMapping("/api/v1/rss")
@@ -29,12 +43,41 @@ public class RSSController {
 
     private static final Logger logger = LoggerFactory.getLogger(RSSController.class);
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String MANUAL_REQUEST = "manual-request";
+    // New articles are claimed against Redis in chunks of this size while streaming,
+    // or sooner once the last claim is STREAM_DEDUP_WAIT ago, so a slow feed is not held back
+    private static final int STREAM_DEDUP_CHUNK = 32;
+    private static final Duration STREAM_DEDUP_WAIT = Duration.ofMillis(100);
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final RssDeduplicationService deduplicationService;
     private final EventPublisherService eventPublisher;
-
-    public RSSController(RssDeduplicationService deduplicationService, EventPublisherService eventPublisher) {
+    private final ScheduledRssService scheduledRssService;
+    private final FeedAnalysisService feedAnalysisService;
+    private final RssConfig rssConfig;
+    private final ObjectMapper objectMapper;
+    private final BulkIngestService bulkIngestService;
+    // Streaming requests read feeds under their own permits (rss.concurrency), NDJSON and SSE alike
+    private final FetchLimiter streamLimiter;
+    private final ExecutorService sseStreams = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RSSController(RssDeduplicationService deduplicationService, EventPublisherService eventPublisher,
+                         ScheduledRssService scheduledRssService, FeedAnalysisService feedAnalysisService,
+                         RssConfig rssConfig, ObjectMapper objectMapper, BulkIngestService bulkIngestService) {
         this.deduplicationService = deduplicationService;
         this.eventPublisher = eventPublisher;
+        this.scheduledRssService = scheduledRssService;
+        this.feedAnalysisService = feedAnalysisService;
+        this.rssConfig = rssConfig;
+        this.objectMapper = objectMapper;
+        this.bulkIngestService = bulkIngestService;
+        this.streamLimiter = new FetchLimiter(rssConfig.concurrency().maxInFlight(), rssConfig.concurrency().maxPerHost());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sseStreams.shutdownNow();
     }
 
     @GetMapping("/health")
@@ -66,69 +109,224 @@ public class RSSController {
             "statistics", Map.of(
                 "totalEventsPublished", stats.totalPublished(),
                 "totalEventsFailed", stats.totalFailed(),
+                "eventsInFlight", stats.inFlight(),
                 "averageProcessingTime", String.format("%.2fms", stats.getAverageProcessingTime()),
-                "successRate", String.format("%.2f%%", stats.getSuccessRate() * 100)
+                "successRate", String.format("%.2f%%", stats.getSuccessRate() * 100),
+                "topics", stats.topics()
             )
         ));
     }
 
-    @GetMapping("/feeds")
-    public ResponseEntity<List<RssArticle>> getFeeds(@RequestParam String url) {
-        try {
-            var allArticles = parseRssFromUrl(url);
-            var newArticles = filterNewArticles(allArticles);
+    @GetMapping("/dedup/stats")
+    public ResponseEntity<Map<String, Object>> dedupStats() {
+        var keyspace = deduplicationService.getKeyspaceStats();
+        var local = deduplicationService.getLocalTierStats();
+        var near = deduplicationService.getNearDuplicateStats();
+        var async = deduplicationService.getAsyncClaimStats();
+        var store = deduplicationService.getEmbeddedStoreStats();
+
+        var localTier = local == null
+            ? Map.<String, Object>of("enabled", false)
+            : Map.<String, Object>of(
+                "enabled", true,
+                "cacheHits", local.cacheHits(),
+                "bloomHits", local.bloomHits(),
+                "misses", local.misses(),
+                "hitRate", String.format("%.2f%%", local.getHitRate() * 100),
+                "cacheCapacity", local.cacheCapacity(),
+                "bloomBytes", local.bloomBytes(),
+                "bloomHashes", local.bloomHashes()
+            );
+
+        var nearDuplicate = near == null
+            ? Map.<String, Object>of("enabled", false)
+            : Map.<String, Object>of(
+                "enabled", true,
+                "clusters", near.clusters(),
+                "nearDuplicates", near.nearDuplicates(),
+                "skipped", near.skipped(),
+                "indexedFingerprints", near.indexedFingerprints(),
+                "capacity", near.capacity()
+            );
+
+        // Таймаут или ошибка асинхронного claim: ссылки считаются новыми
+        var asyncClaims = async == null
+            ? Map.<String, Object>of("enabled", false)
+            : Map.<String, Object>of(
+                "enabled", true,
+                "calls", async.calls(),
+                "inFlight", async.inFlight(),
+                "timeouts", async.timeouts(),
+                "failures", async.failures(),
+                "timeout", async.timeout().toMillis() + "ms"
+            );
+
+        // Локальный mmap-файл вместо Redis
+        var embeddedStore = store == null
+            ? Map.<String, Object>of("enabled", false)
+            : Map.<String, Object>of(
+                "enabled", true,
+                "claimedInWindow", store.claimedInWindow(),
+                "days", store.days(),
+                "slotsPerDay", store.slotsPerDay(),
+                "fileBytes", store.fileBytes(),
+                "overflows", store.overflows()
+            );
 
-            newArticles.forEach(article -> {
-                RssArticle analyzedArticle = analyzeConflictRisk(article);
-                eventPublisher.publishNewsIngested(analyzedArticle);
+        return ResponseEntity.ok(Map.of(
+            "keyspace", Map.of(
+                "activeArticles", keyspace.activeArticles(),
+                "countedBy", keyspace.countedBy(),
+                "claimedPerDay", keyspace.claimedPerDay(),
+                "claimedPerSourcePerDay", keyspace.claimedPerSourcePerDay()
+            ),
+            "localTier", localTier,
+            "nearDuplicate", nearDuplicate,
+            "asyncClaims", asyncClaims,
+            "embeddedStore", embeddedStore
+        ));
+    }
 
-                if (analyzedArticle.riskScore() > 0.6) {
-                    eventPublisher.publishHighRiskDetected(analyzedArticle);
-                }
-            });
+    @GetMapping("/dedup/memory")
+    public ResponseEntity<RssDeduplicationService.MemoryReport> dedupMemory() {
+        // Выборка MEMORY USAGE: байт Redis на одну ссылку в каждой раскладке
+        return ResponseEntity.ok(deduplicationService.getMemoryReport());
+    }
 
-            eventPublisher.publishBatchProcessed("manual-request",
-                    allArticles.size(),
-                    newArticles.size());
+    @GetMapping("/feeds")
+    public ResponseEntity<List<RssArticle>> getFeeds(@RequestParam String url) {
+        AnalyzedFeed feed = feedAnalysisService.getFeed(url);
+        if (feed.error() != null) {
+            return failure(feed.error());
+        }
 
-            return ResponseEntity.ok(newArticles);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().build();
+        List<RssArticle> newArticles;
+        try {
+            // Тот же analyze/publish, что и у планировщика: кластер и один алерт на историю
+            newArticles = scheduledRssService.publishNew(MANUAL_REQUEST, url, feed.articles());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(ErrorCategory.UNKNOWN);
         }
+
+        eventPublisher.publishBatchProcessed(MANUAL_REQUEST,
+                feed.articles().size(),
+                newArticles.size());
+
+        return ResponseEntity.ok(newArticles);
     }
 
     @PostMapping("/feeds")
     public ResponseEntity<List<RssArticle>> createFeedAnalysis(@RequestBody FeedRequest request) {
+        AnalyzedFeed feed = feedAnalysisService.getFeed(request.url());
+        if (feed.error() != null) {
+            return failure(feed.error());
+        }
+        return ResponseEntity.ok(feed.byRiskDescending());
+    }
+
+    /**
+     * Streaming {@code GET /feeds}: new articles as NDJSON while the feed is read,
+     * in feed order, ending with a {@code {"end": {...}}} line.
+     */
+    @GetMapping(value = "/feeds/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamNewArticles(@RequestParam String url) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> ingest(url, ArticleStreamWriter.ndjson(out, objectMapper)));
+    }
+
+    /** Streaming {@code GET /feeds} as server-sent {@code article} events and a final {@code end} event. */
+    @GetMapping(value = "/feeds/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNewArticleEvents(@RequestParam String url) {
+        return sse(writer -> ingest(url, writer));
+    }
+
+    /** Streaming {@code POST /feeds}: analyzed articles as NDJSON in feed order (not sorted by risk). */
+    @PostMapping(value = "/feeds/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamFeedAnalysis(@RequestBody FeedRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(out -> analyze(request.url(), ArticleStreamWriter.ndjson(out, objectMapper)));
+    }
+
+    /** Streaming {@code POST /feeds} as server-sent events. */
+    @PostMapping(value = "/feeds/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFeedAnalysisEvents(@RequestBody FeedRequest request) {
+        return sse(writer -> analyze(request.url(), writer));
+    }
+
+    /** Starts ingesting many feeds in the background; poll {@code /jobs/{id}} for progress. */
+    @PostMapping("/feeds/bulk")
+    public ResponseEntity<Map<String, Object>> submitBulkIngest(@RequestBody BulkIngestRequest request) {
         try {
-            var articles = parseRssFromUrl(request.url());
-            var analyzed = articles.stream()
-                    .map(this::analyzeConflictRisk)
-                    .sorted((a, b) -> Double.compare(b.riskScore(), a.riskScore()))
-                    .toList();
-
-            return ResponseEntity.ok(analyzed);
-        } catch (Exception e) {
+            BulkIngestJob job = bulkIngestService.submit(request);
+            var status = job.status();
+            return ResponseEntity.accepted().body(Map.of(
+                    "jobId", job.id(),
+                    "feeds", status.feeds(),
+                    "status", "/api/v1/rss/jobs/" + job.id(),
+                    "articles", "/api/v1/rss/jobs/" + job.id() + "/articles"
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BulkIngestJob.Status> getBulkJob(@PathVariable String jobId) {
+        return bulkIngestService.find(jobId)
+                .map(job -> ResponseEntity.ok(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** New articles of a bulk job, in the order their feeds finished. */
+    @GetMapping("/jobs/{jobId}/articles")
+    public ResponseEntity<BulkIngestJob.Page> getBulkJobArticles(@PathVariable String jobId,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
             return ResponseEntity.badRequest().build();
         }
+        return bulkIngestService.find(jobId)
+                .map(job -> ResponseEntity.ok(job.articles(page, size)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/feeds/bbc")
-    public List<RssArticle> getBbcFeed() {
-        return parseRssFromUrl("https://feeds.bbci.co.uk/news/world/rss.xml");
+    public ResponseEntity<List<RssArticle>> getBbcFeed() {
+        return articles(feedAnalysisService.getFeed("https://feeds.bbci.co.uk/news/world/rss.xml"));
     }
 
     @GetMapping("/feeds/reuters")
-    public List<RssArticle> getReutersFeed() {
-        return parseRssFromUrl("https://www.reuters.com/rssFeed/worldNews");
+    public ResponseEntity<List<RssArticle>> getReutersFeed() {
+        return articles(feedAnalysisService.getFeed("https://www.reuters.com/rssFeed/worldNews"));
     }
 
     @GetMapping("/feeds/cnn")
-    public List<RssArticle> getCnnFeed() {
-        return parseRssFromUrl("http://rss.cnn.com/rss/edition.rss");
+    public ResponseEntity<List<RssArticle>> getCnnFeed() {
+        return articles(feedAnalysisService.getFeed("http://rss.cnn.com/rss/edition.rss"));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> feedCacheStats() {
+        var stats = feedAnalysisService.getCacheStats();
+        return ResponseEntity.ok(Map.of(
+                "hits", stats.hits(),
+                "misses", stats.misses(),
+                "coalesced", stats.coalesced(),
+                "evictions", stats.evictions(),
+                "hitRate", String.format("%.2f%%", stats.getHitRate() * 100),
+                "size", stats.size(),
+                "capacity", stats.capacity(),
+                "ttl", rssConfig.feedCache().ttl().toString()
+        ));
     }
 
     @GetMapping("/feeds/{source}/analysis")
-    public List<RssArticle> getSourceAnalysis(@PathVariable String source) {
+    public ResponseEntity<List<RssArticle>> getSourceAnalysis(@PathVariable String source) {
         var url = switch (source.toLowerCase()) {
             case "bbc" -> "https://feeds.bbci.co.uk/news/world/rss.xml";
             case "reuters" -> "https://www.reuters.com/rssFeed/worldNews";
@@ -136,10 +334,11 @@ public class RSSController {
             default -> throw new IllegalArgumentException("Unknown source: " + source);
         };
 
-        return parseRssFromUrl(url).stream()
-                .map(this::analyzeConflictRisk)
-                .sorted((a, b) -> Double.compare(b.riskScore(), a.riskScore()))
-                .toList();
+        AnalyzedFeed feed = feedAnalysisService.getFeed(url);
+        if (feed.error() != null) {
+            return failure(feed.error());
+        }
+        return ResponseEntity.ok(feed.byRiskDescending());
     }
 
     @GetMapping("/sources")
@@ -162,108 +361,139 @@ public class RSSController {
 
     @GetMapping("/scheduled/status")
     public ResponseEntity<Map<String, Object>> getScheduledStatus() {
-        // Простая статистика scheduled парсинга
+        // Каждый источник опрашивается по своему адаптивному расписанию
         return ResponseEntity.ok(Map.of(
-                "scheduledParsingEnabled", true,
-                "intervalMinutes", 5,
-                "sources", List.of("BBC", "Reuters", "CNN"),
-                "nextRunInfo", "Runs every 5 minutes automatically"
+                "scheduledParsingEnabled", scheduledRssService.isPolling(),
+                "sources", scheduledRssService.getPollingStatus(),
+                "circuits", scheduledRssService.getCircuitStatus()
         ));
     }
 
-    // Private helper methods
-
-    private List<RssArticle> parseRssFromUrl(String url) {
-        try {
-            URL feedUrl = new URL(url);
-            HttpURLConnection connection = (HttpURLConnection) feedUrl.openConnection();
-            connection.setRequestProperty("User-Agent", "ConflictRadar/1.0");
-            connection.setInstanceFollowRedirects(true);
-
-            var input = new SyndFeedInput();
-            var feed = input.build(new XmlReader(connection.getInputStream()));
+    @GetMapping("/pipeline/stats")
+    public ResponseEntity<List<Stage.Stats>> getPipelineStats() {
+        // Глубина очередей и пропускная способность каждой стадии: fetch -> analyze -> publish
+        return ResponseEntity.ok(scheduledRssService.getPipelineStats());
+    }
 
-            return feed.getEntries().stream()
-                    .map(this::convertToRecord)
-                    .toList();
+    // Private helper methods
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse RSS from: " + url, e);
+    /**
+     * Claims, publishes and writes new articles a chunk at a time, so at most one
+     * chunk is held. A chunk is claimed once it is full or the previous claim is
+     * {@link #STREAM_DEDUP_WAIT} ago, and its articles are flushed right after.
+     */
+    private void ingest(String url, ArticleStreamWriter writer) throws IOException {
+        List<RssArticle> chunk = new ArrayList<>(STREAM_DEDUP_CHUNK);
+        int[] total = new int[1];
+        int[] fresh = new int[1];
+        long[] lastClaim = {System.nanoTime()};
+
+        ErrorCategory error = stream(url, article -> {
+            total[0]++;
+            chunk.add(article);
+            if (chunk.size() == STREAM_DEDUP_CHUNK || System.nanoTime() - lastClaim[0] >= STREAM_DEDUP_WAIT.toNanos()) {
+                fresh[0] += publishNew(url, chunk, writer);
+                lastClaim[0] = System.nanoTime();
+            }
+        });
+        fresh[0] += publishNew(url, chunk, writer);
+
+        if (error == null || total[0] > 0) {
+            eventPublisher.publishBatchProcessed(MANUAL_REQUEST, total[0], fresh[0]);
         }
+        writer.end(new End(url, total[0], fresh[0], error));
     }
 
-    private List<RssArticle> filterNewArticles(List<RssArticle> articles) {
-        return articles.stream()
-                .filter(article -> {
-                    if (deduplicationService.isAlreadyProcessed(article.link())) {
-                        return false;
-                    } else {
-                        deduplicationService.markAsProcessed(article.link());
-                        return true;
-                    }
-                })
-                .toList();
-    }
-
-    private RssArticle convertToRecord(SyndEntry entry) {
-        var publishedAt = entry.getPublishedDate() != null
-                ? entry.getPublishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
-                : LocalDateTime.now();
-
-        var description = entry.getDescription() != null
-                ? entry.getDescription().getValue()
-                : "";
-
-        return new RssArticle(
-                UUID.randomUUID().toString(),
-                entry.getTitle(),
-                description,
-                entry.getLink(),
-                entry.getAuthor(),
-                publishedAt,
-                Set.of(),
-                0.0
-        );
+    private int publishNew(String url, List<RssArticle> chunk, ArticleStreamWriter writer) throws IOException {
+        List<RssArticle> newArticles;
+        try {
+            newArticles = scheduledRssService.publishNew(MANUAL_REQUEST, url, chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while publishing " + url);
+        }
+        for (RssArticle article : newArticles) {
+            writer.article(article);
+        }
+        writer.flush();
+        chunk.clear();
+        return newArticles.size();
     }
 
-    private RssArticle analyzeConflictRisk(RssArticle article) {
-        var conflictKeywords = Set.of(
-                "war", "conflict", "attack", "violence", "protest", "crisis",
-                "terrorism", "bomb", "shooting", "riot", "strike", "sanctions"
-        );
-
-        var text = (article.title() + " " + article.description()).toLowerCase();
-
-        var foundKeywords = conflictKeywords.stream()
-                .filter(text::contains)
-                .collect(java.util.stream.Collectors.toSet());
+    private void analyze(String url, ArticleStreamWriter writer) throws IOException {
+        int[] total = new int[1];
+        ErrorCategory error = stream(url, article -> {
+            total[0]++;
+            writer.article(article);
+            writer.flush();
+        });
+        writer.end(new End(url, total[0], null, error));
+    }
 
-        var riskScore = calculateRiskScore(foundKeywords, text);
+    /** Reads the feed holding a stream permit, so at most {@code max-in-flight} streams fetch at once. */
+    private ErrorCategory stream(String url, ArticleHandler handler) throws IOException {
+        FetchLimiter.Permit permit;
+        try {
+            permit = streamLimiter.acquire(url);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ErrorCategory.UNKNOWN;
+        }
 
-        return new RssArticle(
-                article.id(),
-                article.title(),
-                article.description(),
-                article.link(),
-                article.author(),
-                article.publishedAt(),
-                foundKeywords,
-                riskScore
-        );
+        try {
+            return feedAnalysisService.streamFeed(url, article -> {
+                try {
+                    handler.accept(article);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away: stop reading the feed
+            logger.debug("Streaming {} aborted: {}", url, e.getMessage());
+            throw e.getCause();
+        } finally {
+            permit.close();
+        }
     }
 
-    private double calculateRiskScore(Set<String> conflictKeywords, String text) {
-        if (conflictKeywords.isEmpty()) return 0.0;
+    /** Runs the stream on a virtual thread; the emitter times out after the fetch could have. */
+    private SseEmitter sse(StreamTask task) {
+        var http = rssConfig.http();
+        SseEmitter emitter = new SseEmitter((long) http.connectTimeout() + http.readTimeout() + 30_000);
+
+        sseStreams.execute(() -> {
+            try {
+                task.run(ArticleStreamWriter.sse(emitter));
+                emitter.complete();
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
 
-        var baseScore = Math.min(conflictKeywords.size() * 0.2, 1.0);
+    @FunctionalInterface
+    private interface ArticleHandler {
+        void accept(RssArticle article) throws IOException;
+    }
 
-        var highRiskWords = Set.of("war", "terrorism", "bomb", "attack");
-        var hasHighRisk = conflictKeywords.stream().anyMatch(highRiskWords::contains);
+    @FunctionalInterface
+    private interface StreamTask {
+        void run(ArticleStreamWriter writer) throws IOException;
+    }
 
-        if (hasHighRisk) {
-            baseScore = Math.min(baseScore + 0.3, 1.0);
-        }
+    /** Articles of the feed in feed order, or the status of its fetch error. */
+    private static ResponseEntity<List<RssArticle>> articles(AnalyzedFeed feed) {
+        return feed.error() != null ? failure(feed.error()) : ResponseEntity.ok(feed.articles());
+    }
 
-        return Math.round(baseScore * 100.0) / 100.0;
+    private static <T> ResponseEntity<T> failure(ErrorCategory error) {
+        return switch (error) {
+            case INVALID_URL -> ResponseEntity.badRequest().build();
+            // Фид не запрашивался: ждём, пока breaker снова пропустит запросы
+            case CIRCUIT_OPEN -> ResponseEntity.status(503).build();
+            default -> ResponseEntity.status(502).build();
+        };
     }
-}
\ No newline at end of file
+}
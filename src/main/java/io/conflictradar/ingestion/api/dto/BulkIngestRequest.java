@@ -0,0 +1,12 @@
+package io.conflictradar.ingestion.api.dto;
+
+import java.util.List;
+
+public record BulkIngestRequest(
+        List<Feed> feeds
+) {
+    /**
+     * @param weight risk score weight of the feed, 1.0 when omitted
+     */
+    public record Feed(String url, Double weight) {}
+}
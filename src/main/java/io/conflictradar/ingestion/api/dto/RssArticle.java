@@ -3,6 +3,10 @@ package io.conflictradar.ingestion.api.dto;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+/**
+ * @param clusterId near-duplicate cluster the article belongs to, {@code null}
+ *                  until clustered or when near-duplicate detection is off
+ */
 public record RssArticle(
         String id,
         String title,
@@ -11,5 +15,19 @@ public record RssArticle(
         String author,
         LocalDateTime publishedAt,
         Set<String> conflictKeywords,
-        double riskScore
-) {}
+        double riskScore,
+        String clusterId
+) {
+    public RssArticle(String id, String title, String description, String link, String author,
+                      LocalDateTime publishedAt, Set<String> conflictKeywords, double riskScore) {
+        this(id, title, description, link, author, publishedAt, conflictKeywords, riskScore, null);
+    }
+
+    public RssArticle withRisk(Set<String> conflictKeywords, double riskScore) {
+        return new RssArticle(id, title, description, link, author, publishedAt, conflictKeywords, riskScore, clusterId);
+    }
+
+    public RssArticle withCluster(String clusterId) {
+        return new RssArticle(id, title, description, link, author, publishedAt, conflictKeywords, riskScore, clusterId);
+    }
+}
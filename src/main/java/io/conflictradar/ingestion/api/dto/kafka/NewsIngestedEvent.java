@@ -16,14 +16,26 @@ public record NewsIngestedEvent(
         @JsonProperty("riskScore") double riskScore,
         @JsonProperty("conflictKeywords") Set<String> conflictKeywords,
         @JsonProperty("processedAt") @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
-        LocalDateTime processedAt
+        LocalDateTime processedAt,
+        @JsonProperty("clusterId") String clusterId
 ) {
+    public NewsIngestedEvent(String articleId, String title, String link, String source,
+                             LocalDateTime publishedAt, double riskScore,
+                             Set<String> conflictKeywords, LocalDateTime processedAt) {
+        this(articleId, title, link, source, publishedAt, riskScore, conflictKeywords, processedAt, null);
+    }
+
+    /**
+     * @param clusterId near-duplicate cluster of the article; consumers can collapse
+     *                  events sharing one. {@code null} when not clustered.
+     */
     public static NewsIngestedEvent create(String articleId, String title, String link,
                                            String source, LocalDateTime publishedAt,
-                                           double riskScore, Set<String> conflictKeywords) {
+                                           double riskScore, Set<String> conflictKeywords,
+                                           String clusterId) {
         return new NewsIngestedEvent(
                 articleId, title, link, source, publishedAt,
-                riskScore, conflictKeywords, LocalDateTime.now()
+                riskScore, conflictKeywords, LocalDateTime.now(), clusterId
         );
     }
 }
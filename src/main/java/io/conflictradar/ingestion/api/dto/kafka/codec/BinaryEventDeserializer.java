@@ -0,0 +1,23 @@
+package io.conflictradar.ingestion.api.dto.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer for consumers of topics using the binary format.
+ * Returns a {@code NewsIngestedEvent}, {@code HighRiskDetectedEvent} or
+ * {@code BatchProcessedEvent}.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) return null;
+
+        try {
+            return EventCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Can't deserialize event from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.conflictradar.ingestion.api.dto.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer for the {@link EventCodec} binary format.
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) return null;
+
+        try {
+            return EventCodec.encode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Can't serialize event for topic " + topic, e);
+        }
+    }
+}
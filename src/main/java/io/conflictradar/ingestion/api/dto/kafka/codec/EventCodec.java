@@ -0,0 +1,286 @@
+package io.conflictradar.ingestion.api.dto.kafka.codec;
+
+import io.conflictradar.ingestion.api.dto.kafka.BatchProcessedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.HighRiskDetectedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.NewsIngestedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of the Kafka events.
+ * <p>
+ * Layout: {@code MAGIC, version, event type}, then the record components in
+ * declaration order:
+ * <ul>
+ *   <li>strings: varint (UTF-8 length + 1), 0 for null, then the bytes</li>
+ *   <li>source names and keywords: varint (dictionary index + 1) for known
+ *   values, 0 followed by an inline string otherwise</li>
+ *   <li>keyword sets: varint (size + 1), 0 for null, then the keywords</li>
+ *   <li>timestamps: {@link LocalDateTime} read as UTC, varint of zigzag(epoch
+ *   millis) + 1, 0 for null; precision below a millisecond is dropped</li>
+ *   <li>ints / longs: zigzag varints; doubles: 8 bytes, big endian</li>
+ * </ul>
+ * The first byte is never {@code '{'}, so a consumer can tell binary from JSON.
+ * <p>
+ * Version 2 appended {@link NewsIngestedEvent#clusterId()}. Version 1 data is
+ * still read (without a cluster), but only version 2 is written: consumers
+ * have to be upgraded before producers.
+ */
+public final class EventCodec {
+
+    static final byte MAGIC = (byte) 0xC5;
+    public static final byte VERSION = 2;
+    static final byte VERSION_1 = 1;
+
+    static final byte NEWS_INGESTED = 1;
+    static final byte HIGH_RISK_DETECTED = 2;
+    static final byte BATCH_PROCESSED = 3;
+
+    private EventCodec() {
+    }
+
+    public static byte[] encode(Object event) {
+        Writer out = new Writer(256);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+
+        switch (event) {
+            case NewsIngestedEvent e -> {
+                out.writeByte(NEWS_INGESTED);
+                out.writeString(e.articleId());
+                out.writeString(e.title());
+                out.writeString(e.link());
+                out.writeDictionaryString(e.source(), EventDictionary.V1_SOURCES);
+                out.writeTimestamp(e.publishedAt());
+                out.writeDouble(e.riskScore());
+                out.writeKeywords(e.conflictKeywords());
+                out.writeTimestamp(e.processedAt());
+                out.writeString(e.clusterId());
+            }
+            case HighRiskDetectedEvent e -> {
+                out.writeByte(HIGH_RISK_DETECTED);
+                out.writeString(e.alertId());
+                out.writeString(e.articleId());
+                out.writeString(e.title());
+                out.writeDouble(e.riskScore());
+                out.writeKeywords(e.triggerKeywords());
+                out.writeDictionaryString(e.source(), EventDictionary.V1_SOURCES);
+                out.writeTimestamp(e.detectedAt());
+            }
+            case BatchProcessedEvent e -> {
+                out.writeByte(BATCH_PROCESSED);
+                out.writeString(e.batchId());
+                out.writeDictionaryString(e.source(), EventDictionary.V1_SOURCES);
+                out.writeVarLong(zigzag(e.totalArticles()));
+                out.writeVarLong(zigzag(e.newArticles()));
+                out.writeVarLong(zigzag(e.highRiskArticles()));
+                out.writeVarLong(zigzag(e.processingDurationMs()));
+                out.writeTimestamp(e.processedAt());
+            }
+            default -> throw new IllegalArgumentException(
+                    "No binary encoding for " + event.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    public static Object decode(byte[] data) {
+        Reader in = new Reader(data);
+        if (data.length < 3 || in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary encoded event");
+        }
+        byte version = in.readByte();
+        if (version != VERSION && version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported event format version: " + version);
+        }
+
+        byte type = in.readByte();
+        return switch (type) {
+            case NEWS_INGESTED -> new NewsIngestedEvent(
+                    in.readString(),
+                    in.readString(),
+                    in.readString(),
+                    in.readDictionaryString(EventDictionary.V1_SOURCES),
+                    in.readTimestamp(),
+                    in.readDouble(),
+                    in.readKeywords(),
+                    in.readTimestamp(),
+                    version >= VERSION ? in.readString() : null);
+            case HIGH_RISK_DETECTED -> new HighRiskDetectedEvent(
+                    in.readString(),
+                    in.readString(),
+                    in.readString(),
+                    in.readDouble(),
+                    in.readKeywords(),
+                    in.readDictionaryString(EventDictionary.V1_SOURCES),
+                    in.readTimestamp());
+            case BATCH_PROCESSED -> new BatchProcessedEvent(
+                    in.readString(),
+                    in.readDictionaryString(EventDictionary.V1_SOURCES),
+                    (int) unzigzag(in.readVarLong()),
+                    (int) unzigzag(in.readVarLong()),
+                    (int) unzigzag(in.readVarLong()),
+                    unzigzag(in.readVarLong()),
+                    in.readTimestamp());
+            default -> throw new IllegalArgumentException("Unknown event type: " + type);
+        };
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] bytes;
+        private int length;
+
+        Writer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            bytes[length++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (bits >>> shift));
+            }
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            if (length + utf8.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + utf8.length));
+            }
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        void writeDictionaryString(String value, EventDictionary dictionary) {
+            int index = value != null ? dictionary.indexOf(value) : -1;
+            if (index >= 0) {
+                writeVarLong(index + 1L);
+            } else {
+                writeByte(0);
+                writeString(value);
+            }
+        }
+
+        void writeKeywords(Set<String> keywords) {
+            if (keywords == null) {
+                writeByte(0);
+                return;
+            }
+            writeVarLong(keywords.size() + 1L);
+            for (String keyword : keywords) {
+                writeDictionaryString(keyword, EventDictionary.V1_KEYWORDS);
+            }
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            writeVarLong(zigzag(value.toInstant(ZoneOffset.UTC).toEpochMilli()) + 1);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Truncated event at byte " + position);
+            }
+            return bytes[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint at byte " + position);
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (readByte() & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length == 0) return null;
+
+            int n = (int) (length - 1);
+            if (n < 0 || n > bytes.length - position) {
+                throw new IllegalArgumentException("Truncated string at byte " + position);
+            }
+            String value = new String(bytes, position, n, StandardCharsets.UTF_8);
+            position += n;
+            return value;
+        }
+
+        String readDictionaryString(EventDictionary dictionary) {
+            long index = readVarLong();
+            return index == 0 ? readString() : dictionary.get((int) (index - 1));
+        }
+
+        Set<String> readKeywords() {
+            long size = readVarLong();
+            if (size == 0) return null;
+
+            Set<String> keywords = new HashSet<>();
+            for (long i = 1; i < size; i++) {
+                keywords.add(readDictionaryString(EventDictionary.V1_KEYWORDS));
+            }
+            return keywords;
+        }
+
+        LocalDateTime readTimestamp() {
+            long value = readVarLong();
+            if (value == 0) return null;
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(unzigzag(value - 1)), ZoneOffset.UTC);
+        }
+    }
+}
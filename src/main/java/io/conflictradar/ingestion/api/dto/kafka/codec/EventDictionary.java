@@ -0,0 +1,51 @@
+package io.conflictradar.ingestion.api.dto.kafka.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strings the binary format sends as a small index instead of inline UTF-8.
+ * <p>
+ * The dictionaries are part of the wire format: an index means the same string
+ * to every consumer of a format version. They are never edited; new entries go
+ * into the dictionary of a new format version. Strings not listed (a keyword
+ * added to the configuration later, a new source) are still encoded, inline.
+ */
+final class EventDictionary {
+
+    static final EventDictionary V1_SOURCES = new EventDictionary(List.of(
+            "BBC", "Reuters", "CNN", "unknown",
+            "BBC World News", "Reuters World News", "CNN International", "manual-request"
+    ));
+
+    static final EventDictionary V1_KEYWORDS = new EventDictionary(List.of(
+            "war", "conflict", "attack", "violence", "terrorism", "terrorist", "bomb",
+            "military", "battle", "invasion", "nuclear", "chemical", "genocide", "shooting",
+            "missile", "airstrike", "ceasefire", "troops", "explosion", "hostage", "coup",
+            "insurgent", "militia", "sanctions", "protest", "riot", "crisis", "refugees"
+    ));
+
+    private final List<String> entries;
+    private final Map<String, Integer> index = new HashMap<>();
+
+    private EventDictionary(List<String> entries) {
+        this.entries = entries;
+        for (int i = 0; i < entries.size(); i++) {
+            index.put(entries.get(i), i);
+        }
+    }
+
+    /** Index of {@code value}, or -1 if it is not in the dictionary. */
+    int indexOf(String value) {
+        Integer i = index.get(value);
+        return i != null ? i : -1;
+    }
+
+    String get(int i) {
+        if (i < 0 || i >= entries.size()) {
+            throw new IllegalArgumentException("Unknown dictionary index: " + i);
+        }
+        return entries.get(i);
+    }
+}
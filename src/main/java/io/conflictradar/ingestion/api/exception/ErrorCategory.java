@@ -15,5 +15,6 @@ public enum ErrorCategory {
     HTTP_ERROR,          // Other HTTP errors
     PARSE_ERROR,         // XML/RSS parsing issues
     RATE_LIMITED,        // 429 Too Many Requests
+    CIRCUIT_OPEN,        // Not fetched: circuit of the feed or its host is open
     UNKNOWN              // Unexpected errors
 }
@@ -4,26 +4,31 @@ import io.conflictradar.ingestion.api.dto.RssArticle;
 import io.conflictradar.ingestion.api.dto.kafka.BatchProcessedEvent;
 import io.conflictradar.ingestion.api.dto.kafka.HighRiskDetectedEvent;
 import io.conflictradar.ingestion.api.dto.kafka.NewsIngestedEvent;
-import io.conflictradar.ingestion.config.KafkaConfig;
+import io.conflictradar.ingestion.api.service.metrics.TopicStats;
 import io.conflictradar.ingestion.config.KafkaProperties;
+import io.conflictradar.ingestion.config.KafkaTemplates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class EventPublisherService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventPublisherService.class);
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTemplates kafkaTemplates;
     private final KafkaProperties kafkaProperties;
+    private final Map<String, TopicStats> topicStats = new ConcurrentHashMap<>();
 
-    public EventPublisherService(KafkaTemplate<String, Object> kafkaTemplate, KafkaProperties kafkaProperties) {
-        this.kafkaTemplate = kafkaTemplate;
+    public EventPublisherService(KafkaTemplates kafkaTemplates, KafkaProperties kafkaProperties) {
+        this.kafkaTemplates = kafkaTemplates;
         this.kafkaProperties = kafkaProperties;
     }
 
@@ -36,11 +41,12 @@ public class EventPublisherService {
                     extractSourceFromLink(article.link()),
                     article.publishedAt(),
                     article.riskScore(),
-                    article.conflictKeywords()
+                    article.conflictKeywords(),
+                    article.clusterId()
             );
 
             CompletableFuture<SendResult<String, Object>> future =
-                kafkaTemplate.send(kafkaProperties.newsIngested(), article.id(), event);
+                send(kafkaProperties.newsIngested(), article.id(), event);
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -67,7 +73,7 @@ public class EventPublisherService {
             );
 
             CompletableFuture<SendResult<String, Object>> future =
-                kafkaTemplate.send(kafkaProperties.highRiskDetected(), event.alertId(), event);
+                send(kafkaProperties.highRiskDetected(), event.alertId(), event);
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -97,7 +103,7 @@ public class EventPublisherService {
             );
 
             CompletableFuture<SendResult<String, Object>> future =
-                    kafkaTemplate.send(kafkaProperties.batchProcessed(), event.batchId(), event);
+                    send(kafkaProperties.batchProcessed(), event.batchId(), event);
 
             future.whenComplete((result, ex) -> {
                 if (ex == null) {
@@ -125,30 +131,91 @@ public class EventPublisherService {
         }
     }
 
+    /**
+     * Sends with the topic's producer profile and counts the attempt; the ack or failure is counted when the future
+     * completes. A send that throws, or returns no future, counts as failed.
+     */
+    private CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object event) {
+        TopicStats stats = topicStats.computeIfAbsent(topic, t -> new TopicStats());
+        long sentAt = stats.sent();
+
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplates.forTopic(topic).send(topic, key, event);
+        } catch (RuntimeException e) {
+            stats.failed(sentAt);
+            throw e;
+        }
+        if (future == null) {
+            stats.failed(sentAt);
+            throw new IllegalStateException("No send future returned for topic " + topic);
+        }
+
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                stats.acked(sentAt);
+            } else {
+                stats.failed(sentAt);
+            }
+        });
+        return future;
+    }
+
     public PublishingStats getStats() {
-        return new PublishingStats(
-                100.0,
-                5.0,
-                105,
-                2500.0
-        );
+        long attempted = 0;
+        long acked = 0;
+        long failed = 0;
+        long inFlight = 0;
+        double latencyMs = 0;
+        Map<String, TopicPublishingStats> topics = new TreeMap<>();
+
+        for (Map.Entry<String, TopicStats> entry : topicStats.entrySet()) {
+            TopicStats stats = entry.getValue();
+            TopicStats.Snapshot total = stats.total();
+
+            attempted += total.attempted();
+            acked += total.acked();
+            failed += total.failed();
+            inFlight += total.inFlight();
+            latencyMs += total.totalLatencyMs();
+
+            topics.put(entry.getKey(), new TopicPublishingStats(
+                    total, stats.window(Duration.ofMinutes(1)), stats.window(Duration.ofMinutes(5))));
+        }
+
+        return new PublishingStats(acked, failed, attempted, latencyMs, inFlight, topics);
     }
 
+    /**
+     * Totals since startup. Processing time is send-to-completion, so success rate
+     * and average are taken over completed sends; in-flight ones are not counted yet.
+     */
     public record PublishingStats(
             double totalPublished,
             double totalFailed,
             long totalAttempts,
-            double totalProcessingTimeMs
+            double totalProcessingTimeMs,
+            long inFlight,
+            Map<String, TopicPublishingStats> topics
     ) {
         public double getSuccessRate() {
-            return totalAttempts > 0 ? totalPublished / totalAttempts : 0.0;
+            double completed = totalPublished + totalFailed;
+            return completed > 0 ? totalPublished / completed : 0.0;
         }
 
         public double getAverageProcessingTime() {
-            return totalAttempts > 0 ? totalProcessingTimeMs / totalAttempts : 0.0;
+            double completed = totalPublished + totalFailed;
+            return completed > 0 ? totalProcessingTimeMs / completed : 0.0;
         }
     }
 
+    public record TopicPublishingStats(
+            TopicStats.Snapshot total,
+            TopicStats.Snapshot lastMinute,
+            TopicStats.Snapshot lastFiveMinutes
+    ) {
+    }
+
     private String extractSourceFromLink(String link) {
         if (link == null) return "unknown";
 
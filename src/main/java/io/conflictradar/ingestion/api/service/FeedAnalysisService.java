@@ -0,0 +1,113 @@
+package io.conflictradar.ingestion.api.service;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.cache.TtlCache;
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import io.conflictradar.ingestion.config.RssConfig;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parsed and risk-analyzed feeds for the on-demand endpoints.
+ * <p>
+ * Fetches through {@link RssParsingService} (timeouts, gzip, circuit breaker)
+ * unconditionally: the scheduled polls' ETag / Last-Modified are neither sent
+ * nor overwritten, so a 304 never comes back as an empty feed and the poller
+ * never misses items. Scores with the configured
+ * {@link io.conflictradar.ingestion.config.RiskAnalysis} and keeps each result
+ * for {@code rss.feed-cache.ttl}: however many clients refresh a dashboard, a
+ * feed is fetched at most once per TTL. Failed fetches are not cached.
+ */
+@Service
+public class FeedAnalysisService {
+
+    private final RssParsingService rssParsingService;
+    private final RssConfig rssConfig;
+    private final TtlCache<String, AnalyzedFeed> cache;
+    private final Clock clock = Clock.systemUTC();
+
+    public FeedAnalysisService(RssParsingService rssParsingService, RssConfig rssConfig) {
+        this.rssParsingService = rssParsingService;
+        this.rssConfig = rssConfig;
+        this.cache = new TtlCache<>(rssConfig.feedCache().maxEntries(), rssConfig.feedCache().ttl(), clock,
+                feed -> feed.error() == null);
+    }
+
+    /**
+     * @param articles articles in feed order, with keywords and risk score filled in
+     * @param error    why the fetch failed, {@code null} if it succeeded
+     */
+    public record AnalyzedFeed(String url, List<RssArticle> articles, ErrorCategory error, Instant fetchedAt) {
+
+        public List<RssArticle> byRiskDescending() {
+            return articles.stream()
+                    .sorted(Comparator.comparingDouble(RssArticle::riskScore).reversed())
+                    .toList();
+        }
+    }
+
+    public AnalyzedFeed getFeed(String url) {
+        if (url == null || url.isBlank()) {
+            return new AnalyzedFeed(url, List.of(), ErrorCategory.INVALID_URL, clock.instant());
+        }
+        return cache.get(url, this::fetch);
+    }
+
+    /**
+     * Hands the analyzed articles of {@code url} to {@code sink} in feed order, each
+     * as soon as it is parsed and scored, without holding the feed in memory. A
+     * fresh cached copy is replayed instead of fetching. Exceptions thrown by
+     * {@code sink} are passed on.
+     *
+     * @return {@code null} if the feed was read, otherwise why not
+     */
+    public ErrorCategory streamFeed(String url, Consumer<RssArticle> sink) {
+        if (url == null || url.isBlank()) {
+            return ErrorCategory.INVALID_URL;
+        }
+
+        AnalyzedFeed cached = cache.getIfPresent(url);
+        if (cached != null) {
+            cached.articles().forEach(sink);
+            return null;
+        }
+
+        Analyzer analyzer = new Analyzer(rssConfig.weightOf(url));
+        return rssParsingService.streamRssFromUrl(url, article -> sink.accept(analyzer.analyze(article)));
+    }
+
+    public TtlCache.Stats getCacheStats() {
+        return cache.stats();
+    }
+
+    private AnalyzedFeed fetch(String url) {
+        Analyzer analyzer = new Analyzer(rssConfig.weightOf(url));
+        List<RssArticle> analyzed = new ArrayList<>();
+
+        ErrorCategory error = rssParsingService.streamRssFromUrl(url, article -> analyzed.add(analyzer.analyze(article)));
+
+        return new AnalyzedFeed(url, error == null ? List.copyOf(analyzed) : List.of(), error, clock.instant());
+    }
+
+    /** Scores articles of one feed; holds a normalizer, so one per fetch. */
+    private final class Analyzer {
+        private final TextNormalizer normalizer = new TextNormalizer();
+        private final double weight;
+
+        Analyzer(double weight) {
+            this.weight = weight;
+        }
+
+        RssArticle analyze(RssArticle article) {
+            var matches = rssConfig.riskAnalysis().match(normalizer.lowercase(article.title(), article.description()));
+            return article.withRisk(matches.keywords(), matches.riskScore(weight));
+        }
+    }
+}
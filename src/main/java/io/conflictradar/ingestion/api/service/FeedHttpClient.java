@@ -0,0 +1,139 @@
+package io.conflictradar.ingestion.api.service;
+
+import io.conflictradar.ingestion.api.service.RssParsingService.RssParsingException;
+import io.conflictradar.ingestion.api.util.FetchLimiter;
+import io.conflictradar.ingestion.config.HttpConfig;
+import io.conflictradar.ingestion.config.RssConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared HTTP client for feed fetches.
+ * <p>
+ * Connections are pooled and kept alive between polls, HTTP/2 is negotiated
+ * when the server supports it, and the number of connections per host is capped.
+ * The JDK client only applies its request timeout until the response headers
+ * arrive, so the body read is guarded by a watchdog that closes the stream.
+ * Idle connections are closed after {@code jdk.httpclient.keepalive.timeout}
+ * seconds, a JVM-wide property set at launch.
+ */
+@Component
+public class FeedHttpClient {
+
+    private static final long MAX_DRAIN_BYTES = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final FetchLimiter connectionLimiter;
+    private final Duration readTimeout;
+    private final ScheduledExecutorService watchdog;
+
+    public FeedHttpClient(RssConfig rssConfig) {
+        HttpConfig http = rssConfig.http();
+
+        this.httpClient = HttpClient.newBuilder()
+                .version(http.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(http.connectTimeout()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.connectionLimiter = new FetchLimiter(http.maxConnections(), http.maxConnectionsPerHost());
+        this.readTimeout = Duration.ofMillis(http.readTimeout());
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("feed-read-timeout").daemon().factory());
+    }
+
+    public Duration readTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Send the request and hand the response to {@code handler} while holding a
+     * connection slot for the host. The body stream is always closed afterwards,
+     * which returns a fully read connection to the pool.
+     */
+    public <T> T execute(HttpRequest request, ResponseHandler<T> handler)
+            throws IOException, InterruptedException, RssParsingException {
+
+        FetchLimiter.Permit permit = connectionLimiter.acquire(request.uri().toString());
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            InputStream body = response.body();
+
+            AtomicBoolean timedOut = new AtomicBoolean();
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+                timedOut.set(true);
+                closeQuietly(body);
+            }, readTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+            try {
+                return handler.handle(response);
+            } catch (IOException | RssParsingException e) {
+                if (timedOut.get()) {
+                    throw new HttpTimeoutException("Read timed out after " + readTimeout.toMillis() + "ms");
+                }
+                throw e;
+            } finally {
+                deadline.cancel(false);
+                if (!timedOut.get()) {
+                    drain(body);
+                }
+                closeQuietly(body);
+            }
+        } finally {
+            permit.close();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        // Closes pooled connections and the client's executor
+        httpClient.close();
+    }
+
+    /**
+     * A stream closed before EOF cancels the exchange and drops the connection,
+     * so read off any short tail (trailing whitespace, small error pages) first.
+     */
+    private static void drain(InputStream body) {
+        try {
+            long remaining = MAX_DRAIN_BYTES;
+            while (remaining > 0) {
+                long skipped = body.skip(remaining);
+                if (skipped <= 0) {
+                    if (body.read() < 0) return;
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+        } catch (IOException ignored) {
+            // connection will simply not be reused
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // nothing useful to do, the connection is dropped from the pool
+        }
+    }
+
+    @FunctionalInterface
+    public interface ResponseHandler<T> {
+        T handle(HttpResponse<InputStream> response) throws IOException, RssParsingException;
+    }
+}
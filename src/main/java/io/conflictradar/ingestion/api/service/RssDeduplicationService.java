@@ -1,56 +1,769 @@
 package io.conflictradar.ingestion.api.service;
 
+import io.conflictradar.ingestion.api.service.dedup.AsyncScriptExecutor;
+import io.conflictradar.ingestion.api.service.dedup.DigestBuckets;
+import io.conflictradar.ingestion.api.service.dedup.LocalDedupTier;
+import io.conflictradar.ingestion.api.service.dedup.MappedDigestStore;
+import io.conflictradar.ingestion.api.service.dedup.NearDuplicateDetector;
+import io.conflictradar.ingestion.config.DedupConfig;
+import io.conflictradar.ingestion.config.RedisDedupConfig;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
+/**
+ * Remembers processed article links for {@value #TTL_DAYS} days.
+ * <p>
+ * Links are stored in one of two Redis layouts ({@link RedisDedupConfig}): a key
+ * per link ({@code rss:article:<md5 hex>}, about 170 bytes of Redis memory per
+ * link) or 8 byte digests in per-day bucketed hashes ({@link DigestBuckets},
+ * about 15 bytes per link). In the {@code migrate} layout new links go to the
+ * buckets while keys written before are still honoured until they expire;
+ * once a full TTL has passed the layout can be switched to {@code buckets}.
+ * {@link #getMemoryReport()} samples what each layout actually costs.
+ * <p>
+ * With {@code dedup.redis.async} claims run on an {@link AsyncScriptExecutor}:
+ * concurrent claims share one pipelined connection and none waits longer than
+ * the configured timeout. A claim that times out or fails counts its links as
+ * new, so a slow Redis delays nothing and at worst republishes an article.
+ * Single-link lookups and marks go over the same connection and fail with a
+ * {@link QueryTimeoutException} past the timeout.
+ * <p>
+ * With {@code dedup.embedded} enabled links are kept in a {@link MappedDigestStore}
+ * on local disk instead, and neither Redis nor the local tier is used for them.
+ */
 @Service
 public class RssDeduplicationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RssDeduplicationService.class);
+
+    private static final int TTL_DAYS = 7;
+
     private static final String RSS_ARTICLE_PREFIX = "rss:article:";
-    private static final Duration DEFAULT_TTL = Duration.ofDays(7);
+    private static final Duration DEFAULT_TTL = Duration.ofDays(TTL_DAYS);
+
+    // Claim counters, one bucket per UTC day. They outlive the article keys by a day.
+    private static final String DAY_COUNT_PREFIX = "rss:stats:day:";
+    private static final String SOURCE_COUNT_PREFIX = "rss:stats:source:";
+    private static final String COUNTING_SINCE_KEY = "rss:stats:since";
+    private static final Duration STATS_TTL = DEFAULT_TTL.plusDays(1);
+    // How long a SCAN count is reused while the counters do not cover the TTL yet
+    private static final Duration SCAN_COUNT_TTL = Duration.ofMinutes(5);
+
+    /**
+     * Claims every article key that is not set yet ({@code SET NX PX}) and
+     * returns the 1-based positions of the claimed links. Runs atomically on the
+     * server, so two callers can never claim the same link. Claims are added to
+     * the day and source counters in the same call.
+     * <p>
+     * Every key the script touches is passed in KEYS. KEYS: day counter, source
+     * counter, counting-since key, then one article key per link. ARGV: value,
+     * ttl millis, source name, counter ttl seconds, now millis.
+     */
+    private static final RedisScript<List<Long>> CLAIM_SCRIPT = listScript("""
+            local claimed = {}
+            for i = 4, #KEYS do
+                if redis.call('SET', KEYS[i], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                    claimed[#claimed + 1] = i - 3
+                end
+            end
+            if #claimed > 0 then
+                redis.call('INCRBY', KEYS[1], #claimed)
+                redis.call('EXPIRE', KEYS[1], ARGV[4])
+                redis.call('HINCRBY', KEYS[2], ARGV[3], #claimed)
+                redis.call('EXPIRE', KEYS[2], ARGV[4])
+                redis.call('SET', KEYS[3], ARGV[5], 'NX')
+            end
+            return claimed
+            """);
+
+    /**
+     * {@link #CLAIM_SCRIPT} for the bucketed layout: claims every link found in
+     * none of the window's day buckets (nor, while migrating, under its legacy
+     * key) into today's bucket.
+     * <p>
+     * KEYS: the three counter keys of {@link #CLAIM_SCRIPT}, then per link its
+     * bucket in every day of the window (today first) followed, only while
+     * migrating, by its legacy key. ARGV: number of days, 1 while migrating
+     * else 0, expire-at of today's buckets, value, fields
+     * ({@link DigestBuckets#FIELD_BYTES} per link), source name, counter ttl
+     * seconds, now millis.
+     */
+    private static final RedisScript<List<Long>> BUCKET_CLAIM_SCRIPT = listScript("""
+            local days = tonumber(ARGV[1])
+            local legacy = tonumber(ARGV[2])
+            local fields = ARGV[5]
+            local claimed = {}
+            for i = 1, #fields / 8 do
+                local field = string.sub(fields, (i - 1) * 8 + 1, i * 8)
+                local k = 3 + (i - 1) * (days + legacy)
+                local seen = legacy == 1 and redis.call('EXISTS', KEYS[k + days + 1]) == 1
+                local d = 1
+                while not seen and d <= days do
+                    seen = redis.call('HEXISTS', KEYS[k + d], field) == 1
+                    d = d + 1
+                end
+                if not seen then
+                    redis.call('HSET', KEYS[k + 1], field, ARGV[4])
+                    redis.call('EXPIREAT', KEYS[k + 1], ARGV[3])
+                    claimed[#claimed + 1] = i
+                end
+            end
+            if #claimed > 0 then
+                redis.call('INCRBY', KEYS[1], #claimed)
+                redis.call('EXPIRE', KEYS[1], ARGV[7])
+                redis.call('HINCRBY', KEYS[2], ARGV[6], #claimed)
+                redis.call('EXPIRE', KEYS[2], ARGV[7])
+                redis.call('SET', KEYS[3], ARGV[8], 'NX')
+            end
+            return claimed
+            """);
+
+    /** KEYS: a link's bucket in every day of the window, today first. ARGV: field. Returns {days ago, minute} or nil. */
+    private static final RedisScript<List<Long>> BUCKET_FIND_SCRIPT = listScript("""
+            for d, key in ipairs(KEYS) do
+                local minute = redis.call('HGET', key, ARGV[1])
+                if minute then
+                    return {d - 1, tonumber(minute)}
+                end
+            end
+            return nil
+            """);
+
+    /** KEYS: today's bucket. ARGV: field, value, expire-at. */
+    private static final RedisScript<Long> BUCKET_MARK_SCRIPT = RedisScript.of("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('EXPIREAT', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    /** KEYS: a link's bucket in every day of the window. ARGV: field. */
+    private static final RedisScript<Long> BUCKET_REMOVE_SCRIPT = RedisScript.of("""
+            local removed = 0
+            for _, key in ipairs(KEYS) do
+                removed = removed + redis.call('HDEL', key, ARGV[1])
+            end
+            return removed
+            """, Long.class);
+
+    private static final int MEMORY_SAMPLE_KEYS = 64;
+
+    /** A script returning a list of integers; {@code RedisScript.of} only takes the raw {@code List.class}. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> listScript(String script) {
+        return (RedisScript) RedisScript.of(script, List.class);
+    }
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final RedisDedupConfig layout;
+    private final AsyncScriptExecutor asyncScripts;
+    private final MappedDigestStore embedded;
+    private final DigestBuckets buckets;
+    private final LocalDedupTier localTier;
+    private final NearDuplicateDetector nearDuplicates;
+    private final Clock clock = Clock.systemUTC();
+    private volatile ScanCount lastScan;
 
-    public RssDeduplicationService(RedisTemplate<String, String> redisTemplate) {
+    public RssDeduplicationService(RedisTemplate<String, String> redisTemplate, DedupConfig dedupConfig) {
         this.redisTemplate = redisTemplate;
+        this.layout = dedupConfig.redis();
+        this.buckets = new DigestBuckets(layout.bucketsPerDay(), DEFAULT_TTL);
+        this.asyncScripts = layout.async() && !dedupConfig.embedded().enabled()
+                ? AsyncScriptExecutor.forSharedConnection(redisTemplate.getConnectionFactory(), layout.timeout())
+                : null;
+        if (layout.async() && asyncScripts == null && !dedupConfig.embedded().enabled()) {
+            logger.warn("dedup.redis.async needs a Lettuce connection factory sharing its connection, claiming synchronously:"
+                    + " claims are bounded by the client's command timeout only, not by dedup.redis.timeout");
+        }
+        this.embedded = dedupConfig.embedded().enabled() ? openEmbedded(dedupConfig) : null;
+        // The embedded store answers from local memory already
+        this.localTier = dedupConfig.local().enabled() && embedded == null
+                ? new LocalDedupTier(dedupConfig.local(), DEFAULT_TTL, clock)
+                : null;
+        this.nearDuplicates = dedupConfig.nearDuplicate().enabled()
+                ? new NearDuplicateDetector(dedupConfig.nearDuplicate(), clock)
+                : null;
+    }
+
+    private MappedDigestStore openEmbedded(DedupConfig dedupConfig) {
+        var config = dedupConfig.embedded();
+        try {
+            MappedDigestStore store = MappedDigestStore.open(config.path(), config.linksPerDay(), TTL_DAYS + 1, clock);
+            logger.info("Processed links kept in {} ({} slots per day)", config.path(), store.stats().slotsPerDay());
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open dedup store " + config.path(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
     }
 
     public boolean isAlreadyProcessed(String rssUrl) {
-        String key = generateKey(rssUrl);
+        byte[] digest = DigestUtils.md5(rssUrl);
+        if (embedded != null) {
+            return embedded.contains(MappedDigestStore.key(digest));
+        }
+        if (localTier != null && localTier.isSeen(digest)) {
+            return true;
+        }
 
-        return redisTemplate.hasKey(key);
+        boolean processed = layout.writesBuckets() && findInBuckets(digest) != null
+                || layout.readsKeys() && hasKey(generateKey(digest));
+        if (processed && localTier != null) {
+            localTier.markSeen(digest);
+        }
+        return processed;
     }
 
+    /**
+     * Single-link mark that overwrites any existing one. Not counted in the
+     * keyspace stats, which are maintained by {@link #filterAndMarkNew}.
+     */
     public void markAsProcessed(String rssUrl) {
-        String key = generateKey(rssUrl);
-        String value = LocalDateTime.now().toString();
+        byte[] digest = DigestUtils.md5(rssUrl);
+
+        if (embedded != null) {
+            embedded.put(MappedDigestStore.key(digest));
+        } else if (layout.writesBuckets()) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            runScript(BUCKET_MARK_SCRIPT, ScriptOutputType.INTEGER, List.of(buckets.key(now.toLocalDate(), digest)),
+                    field(digest), DigestBuckets.minuteOfDay(now), buckets.expireAt(now.toLocalDate()));
+        } else {
+            String key = generateKey(digest);
+            String value = LocalDateTime.now(clock).toString();
+            if (asyncScripts != null) {
+                await(asyncScripts.call(commands -> commands.set(bytes(key), bytes(value), SetArgs.Builder.px(DEFAULT_TTL))));
+            } else {
+                redisTemplate.opsForValue().set(key, value, DEFAULT_TTL);
+            }
+        }
+
+        if (localTier != null) {
+            localTier.markSeen(digest);
+        }
+    }
+
+    /**
+     * Marks all not yet processed links as processed in a single round trip.
+     * Blocks on {@link #filterAndMarkNewAsync}: with {@code dedup.redis.async}
+     * only the wait is bounded, by the async timeout, the calling thread still
+     * waits for it.
+     *
+     * @param source name the claimed links are counted under
+     * @return the links claimed by this call; links already processed (or
+     * claimed concurrently by another instance) are left out
+     */
+    public Set<String> filterAndMarkNew(String source, Collection<String> rssUrls) {
+        return filterAndMarkNewAsync(source, rssUrls).join();
+    }
+
+    /**
+     * {@link #filterAndMarkNew} as a future. Without {@code dedup.redis.async}
+     * the claim runs on the calling thread and the future is already complete.
+     * A claim that times out or fails, synchronous or not, completes with every
+     * link the local tier does not know, never exceptionally.
+     */
+    public CompletableFuture<Set<String>> filterAndMarkNewAsync(String source, Collection<String> rssUrls) {
+        List<String> links = new ArrayList<>();
+        List<byte[]> digests = new ArrayList<>();
+
+        for (String link : new LinkedHashSet<>(rssUrls)) {
+            if (link == null || link.isBlank()) continue;
+
+            byte[] digest = DigestUtils.md5(link);
+            // Only links the local tier cannot rule out go to Redis
+            if (localTier != null && localTier.isSeen(digest)) continue;
+
+            links.add(link);
+            digests.add(digest);
+        }
+
+        if (links.isEmpty()) {
+            return CompletableFuture.completedFuture(Set.of());
+        }
+
+        if (embedded != null) {
+            Set<String> newLinks = new HashSet<>();
+            for (int i = 0; i < links.size(); i++) {
+                if (embedded.claim(MappedDigestStore.key(digests.get(i)))) newLinks.add(links.get(i));
+            }
+            return CompletableFuture.completedFuture(newLinks);
+        }
+
+        CompletableFuture<List<Long>> claim = layout.writesBuckets() ? claimInBuckets(source, digests) : claimKeys(source, digests);
+
+        return claim.handle((claimed, failure) -> {
+            Set<String> newLinks;
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                logger.warn("Claim of {} links from {} failed, taking them as new: {}", links.size(), source, cause.toString());
+                newLinks = new HashSet<>(links);
+            } else {
+                newLinks = new HashSet<>();
+                if (claimed != null) {
+                    for (Number position : claimed) {
+                        newLinks.add(links.get(position.intValue() - 1));
+                    }
+                }
+            }
+
+            if (localTier != null) {
+                // Claimed or not, every link sent to Redis is processed by now
+                digests.forEach(localTier::markSeen);
+            }
+            return newLinks;
+        });
+    }
+
+    private CompletableFuture<List<Long>> claimKeys(String source, List<byte[]> digests) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<String> keys = new ArrayList<>(counterKeys(now.toLocalDate()));
+        digests.forEach(digest -> keys.add(generateKey(digest)));
+
+        Object[] args = {
+                now.toString(),
+                String.valueOf(DEFAULT_TTL.toMillis()),
+                source,
+                String.valueOf(STATS_TTL.toSeconds()),
+                String.valueOf(clock.millis())
+        };
+        if (asyncScripts != null) {
+            return asyncScripts.execute(CLAIM_SCRIPT, ScriptOutputType.MULTI, keys, args);
+        }
+        return claimNow(() -> redisTemplate.execute(CLAIM_SCRIPT, keys, args));
+    }
+
+    private CompletableFuture<List<Long>> claimInBuckets(String source, List<byte[]> digests) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        List<String> window = buckets.window(today);
+        boolean migrating = layout.readsKeys();
+
+        List<String> keys = new ArrayList<>(3 + digests.size() * (window.size() + 1));
+        keys.addAll(counterKeys(today));
+        for (byte[] digest : digests) {
+            for (String day : window) {
+                keys.add(day + buckets.bucket(digest));
+            }
+            if (migrating) {
+                keys.add(generateKey(digest));
+            }
+        }
+
+        Object[] args = {
+                window.size(),
+                migrating ? 1 : 0,
+                buckets.expireAt(today),
+                DigestBuckets.minuteOfDay(now),
+                DigestBuckets.fields(digests),
+                source,
+                STATS_TTL.toSeconds(),
+                clock.millis()
+        };
+
+        if (asyncScripts != null) {
+            return asyncScripts.execute(BUCKET_CLAIM_SCRIPT, ScriptOutputType.MULTI, keys, args);
+        }
+        return claimNow(() -> executeBinary(BUCKET_CLAIM_SCRIPT, keys, args));
+    }
+
+    /** A synchronous claim as a future, failed instead of throwing like an async one. */
+    private static CompletableFuture<List<Long>> claimNow(Supplier<List<Long>> claim) {
+        try {
+            return CompletableFuture.completedFuture(claim.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Day counter, source counter and counting-since key the claim scripts update. */
+    private static List<String> counterKeys(LocalDate today) {
+        return List.of(DAY_COUNT_PREFIX + today, SOURCE_COUNT_PREFIX + today, COUNTING_SINCE_KEY);
+    }
+
+    /** {@code {days ago, minute of day}} of a link's claim in the bucketed layout, or {@code null}. */
+    private List<Long> findInBuckets(byte[] digest) {
+        List<String> keys = buckets.window(LocalDate.now(clock)).stream()
+                .map(prefix -> prefix + buckets.bucket(digest))
+                .toList();
+        List<Long> found = runScript(BUCKET_FIND_SCRIPT, ScriptOutputType.MULTI, keys, field(digest));
+        return found == null || found.isEmpty() ? null : found;
+    }
+
+    private boolean hasKey(String key) {
+        if (asyncScripts != null) {
+            return await(asyncScripts.call(commands -> commands.exists(bytes(key)))) > 0;
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    }
+
+    /** A single-link script: on the async connection when there is one, bounded by its timeout. */
+    private <T> T runScript(RedisScript<T> script, ScriptOutputType output, List<String> keys, Object... args) {
+        return asyncScripts != null
+                ? await(asyncScripts.execute(script, output, keys, args))
+                : executeBinary(script, keys, args);
+    }
 
-        redisTemplate.opsForValue().set(key, value, DEFAULT_TTL);
+    /**
+     * Reply of an async call, failing the way a template call does: a
+     * {@link QueryTimeoutException} past the timeout, else a {@link RedisSystemException}.
+     */
+    private <T> T await(CompletableFuture<T> reply) {
+        try {
+            return reply.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                throw new QueryTimeoutException("No reply from Redis within " + layout.timeout(), cause);
+            }
+            throw new RedisSystemException("Redis call failed: " + cause.getMessage(), cause);
+        }
     }
 
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Runs a script whose arguments may be binary: {@code byte[]} arguments go
+     * to Redis as they are, everything else as its UTF-8 string.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T executeBinary(RedisScript<T> script, List<String> keys, Object... args) {
+        Object[] binary = AsyncScriptExecutor.encode(args);
+        // Scripts return integers and lists of them, the result serializer is never used
+        RedisSerializer<T> results = (RedisSerializer<T>) RedisSerializer.byteArray();
+        return redisTemplate.execute(script, RedisSerializer.byteArray(), results, keys, binary);
+    }
+
+    private static byte[] field(byte[] digest) {
+        return Arrays.copyOf(digest, DigestBuckets.FIELD_BYTES);
+    }
+
+    /**
+     * When the link was processed: the stored timestamp in the key layout, the
+     * minute of the claim in the bucketed one.
+     */
     public String getProcessedTime(String rssUrl) {
-        String key = generateKey(rssUrl);
+        byte[] digest = DigestUtils.md5(rssUrl);
 
+        if (embedded != null) {
+            long claimedAt = embedded.claimedAt(MappedDigestStore.key(digest));
+            return claimedAt != 0
+                    ? LocalDateTime.ofInstant(Instant.ofEpochMilli(claimedAt), clock.getZone()).toString()
+                    : null;
+        }
+        if (layout.writesBuckets()) {
+            List<Long> found = findInBuckets(digest);
+            if (found != null) {
+                long daysAgo = found.get(0);
+                long minute = found.get(1);
+                return LocalDate.now(clock).minusDays(daysAgo).atStartOfDay().plusMinutes(minute).toString();
+            }
+        }
+        if (!layout.readsKeys()) {
+            return null;
+        }
+        String key = generateKey(digest);
+        if (asyncScripts != null) {
+            byte[] value = await(asyncScripts.call(commands -> commands.get(bytes(key))));
+            return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+        }
         return redisTemplate.opsForValue().get(key);
     }
 
+    /**
+     * Removes the Redis mark only: with the local tier enabled this instance
+     * may keep treating the link as processed until the tier forgets it.
+     */
     public void removeProcessedMark(String rssUrl) {
-        String key = generateKey(rssUrl);
+        byte[] digest = DigestUtils.md5(rssUrl);
+
+        if (embedded != null) {
+            embedded.remove(MappedDigestStore.key(digest));
+            return;
+        }
+        if (layout.writesBuckets()) {
+            List<String> keys = buckets.window(LocalDate.now(clock)).stream()
+                    .map(prefix -> prefix + buckets.bucket(digest))
+                    .toList();
+            runScript(BUCKET_REMOVE_SCRIPT, ScriptOutputType.INTEGER, keys, field(digest));
+        }
+        if (layout.readsKeys()) {
+            String key = generateKey(digest);
+            if (asyncScripts != null) {
+                await(asyncScripts.call(commands -> commands.del(bytes(key))));
+            } else {
+                redisTemplate.delete(key);
+            }
+        }
+    }
+
+    /** Local tier counters, or {@code null} when the local tier is disabled. */
+    public LocalDedupTier.Stats getLocalTierStats() {
+        return localTier != null ? localTier.stats() : null;
+    }
+
+    /**
+     * Near-duplicate cluster of a new article, for links {@link #filterAndMarkNew}
+     * has just claimed. An article repeating a story seen recently (the same wire
+     * copy under another link) joins that story's cluster.
+     *
+     * @param text lowercased title and description
+     * @return the cluster, or {@code null} when near-duplicate detection is
+     * disabled or the text is too short to compare
+     */
+    public NearDuplicateDetector.Cluster assignCluster(CharSequence text) {
+        return nearDuplicates != null ? nearDuplicates.assign(text) : null;
+    }
 
-        redisTemplate.delete(key);
+    /**
+     * Claims the high-risk alert of a story; see {@link NearDuplicateDetector#claimAlert}.
+     *
+     * @return {@code false} if an alert for the cluster was already sent
+     */
+    public boolean claimClusterAlert(NearDuplicateDetector.Cluster cluster) {
+        return nearDuplicates == null || cluster == null || nearDuplicates.claimAlert(cluster);
     }
 
-    private String generateKey(String rssUrl) {
-        String urlHash = DigestUtils.md5Hex(rssUrl);
+    /** Embedded store counters, or {@code null} when links are kept in Redis. */
+    public MappedDigestStore.Stats getEmbeddedStoreStats() {
+        return embedded != null ? embedded.stats() : null;
+    }
+
+    /** Async claim counters, or {@code null} when claims run on the blocking template. */
+    public AsyncScriptExecutor.Stats getAsyncClaimStats() {
+        return asyncScripts != null ? asyncScripts.stats() : null;
+    }
+
+    /** Near-duplicate counters, or {@code null} when near-duplicate detection is disabled. */
+    public NearDuplicateDetector.Stats getNearDuplicateStats() {
+        return nearDuplicates != null ? nearDuplicates.stats() : null;
+    }
+
+    /** Redis key marking {@code rssUrl} as processed: prefix + MD5 hex of the link. */
+    public static String generateKey(String rssUrl) {
+        return generateKey(DigestUtils.md5(rssUrl));
+    }
+
+    private static String generateKey(byte[] urlDigest) {
+        String urlHash = Hex.encodeHexString(urlDigest);
 
         return RSS_ARTICLE_PREFIX + urlHash;
     }
 
     public long getCachedArticlesCount() {
-        return redisTemplate.keys(RSS_ARTICLE_PREFIX + "*").size();
+        return getKeyspaceStats().activeArticles();
     }
+
+    /**
+     * Number of live article keys with a per day / per source breakdown.
+     * <p>
+     * Read from the claim counters with two small reads per day of the TTL
+     * window. Keys claimed {@code TTL} ago expire during the day, so the oldest
+     * bucket is pro-rated by the part of the day still ahead. Until the counters
+     * have been maintained for a full TTL window they miss older keys; the total
+     * then comes from an incremental {@code SCAN} instead, which does not block
+     * Redis the way {@code KEYS} did. Its result is reused for
+     * {@code SCAN_COUNT_TTL}, so polling {@code /health} or {@code /status} does
+     * not walk the keyspace on every call.
+     */
+    public KeyspaceStats getKeyspaceStats() {
+        if (embedded != null) {
+            // Claims are counted per day only, without a per source breakdown
+            return new KeyspaceStats(embedded.stats().claimedInWindow(), "embedded", embedded.claimedPerDay(), Map.of());
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        int days = (int) DEFAULT_TTL.toDays();
+
+        List<String> dayKeys = new ArrayList<>();
+        for (int i = days; i >= 0; i--) {
+            dayKeys.add(DAY_COUNT_PREFIX + today.minusDays(i));
+        }
+        List<String> dayCounts = redisTemplate.opsForValue().multiGet(dayKeys);
+
+        Map<LocalDate, Long> perDay = new TreeMap<>();
+        Map<LocalDate, Map<String, Long>> perSource = new TreeMap<>();
+        double active = 0;
+
+        for (int i = 0; i <= days; i++) {
+            LocalDate day = today.minusDays(days - i);
+            String count = dayCounts != null ? dayCounts.get(i) : null;
+            if (count == null) continue;
+
+            long claimed = Long.parseLong(count);
+            perDay.put(day, claimed);
+
+            if (i == 0) {
+                double dayElapsed = (clock.millis() % Duration.ofDays(1).toMillis()) / (double) Duration.ofDays(1).toMillis();
+                active += claimed * (1.0 - dayElapsed);
+            } else {
+                active += claimed;
+            }
+
+            Map<String, Long> sources = new LinkedHashMap<>();
+            redisTemplate.<String, String>opsForHash().entries(SOURCE_COUNT_PREFIX + day)
+                    .forEach((name, value) -> sources.put(name, Long.parseLong(value)));
+            perSource.put(day, sources);
+        }
+
+        String since = redisTemplate.opsForValue().get(COUNTING_SINCE_KEY);
+        boolean countersCoverTtl = since != null
+                && clock.millis() - Long.parseLong(since) >= DEFAULT_TTL.toMillis();
+
+        long total = countersCoverTtl ? Math.round(active) : scannedArticleCount();
+        return new KeyspaceStats(total, countersCoverTtl ? "counters" : "scan", perDay, perSource);
+    }
+
+    private long scannedArticleCount() {
+        ScanCount scan = lastScan;
+        long now = clock.millis();
+        if (scan == null || now - scan.takenAt() >= SCAN_COUNT_TTL.toMillis()) {
+            scan = new ScanCount(scanArticleCount(), now);
+            lastScan = scan;
+        }
+        return scan.articles();
+    }
+
+    private record ScanCount(long articles, long takenAt) {}
+
+    private long scanArticleCount() {
+        long count = 0;
+        if (layout.readsKeys()) {
+            try (Cursor<String> cursor = scan(RSS_ARTICLE_PREFIX)) {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    count++;
+                }
+            }
+        }
+        if (layout.writesBuckets()) {
+            try (Cursor<String> cursor = scan(DigestBuckets.PREFIX)) {
+                while (cursor.hasNext()) {
+                    count += redisTemplate.opsForHash().size(cursor.next());
+                }
+            }
+        }
+        return count;
+    }
+
+    private Cursor<String> scan(String prefix) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(1000).build());
+    }
+
+    /**
+     * Redis memory per tracked link in each layout, from {@code MEMORY USAGE} of
+     * up to {@value #MEMORY_SAMPLE_KEYS} keys of each. {@code MEMORY USAGE} leaves
+     * out the key's slots in the keyspace and expiry tables (about 40 bytes per
+     * key), which favours the key layout. A layout without keys reports
+     * {@code null}; so does everything with the embedded store, which takes
+     * 16 bytes per slot, see {@link #getEmbeddedStoreStats()}.
+     */
+    public MemoryReport getMemoryReport() {
+        if (embedded != null) {
+            return new MemoryReport("embedded", 0, null, 0, 0, null);
+        }
+
+        long legacyBytes = 0;
+        int legacyKeys = 0;
+        try (Cursor<String> cursor = scan(RSS_ARTICLE_PREFIX)) {
+            while (cursor.hasNext() && legacyKeys < MEMORY_SAMPLE_KEYS) {
+                legacyBytes += memoryUsage(cursor.next());
+                legacyKeys++;
+            }
+        }
+
+        long bucketBytes = 0;
+        long bucketLinks = 0;
+        int bucketKeys = 0;
+        try (Cursor<String> cursor = scan(DigestBuckets.PREFIX)) {
+            while (cursor.hasNext() && bucketKeys < MEMORY_SAMPLE_KEYS) {
+                String key = cursor.next();
+                bucketBytes += memoryUsage(key);
+                bucketLinks += redisTemplate.opsForHash().size(key);
+                bucketKeys++;
+            }
+        }
+
+        return new MemoryReport(
+                layout.layout().name().toLowerCase(),
+                legacyKeys,
+                legacyKeys > 0 ? (double) legacyBytes / legacyKeys : null,
+                bucketKeys,
+                bucketLinks,
+                bucketLinks > 0 ? (double) bucketBytes / bucketLinks : null);
+    }
+
+    private long memoryUsage(String key) {
+        Object bytes = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("MEMORY",
+                "USAGE".getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8)));
+        return bytes instanceof Number number ? number.longValue() : 0;
+    }
+
+    /**
+     * @param layout                 layout new links are written in
+     * @param keysSampled            {@code rss:article:*} keys measured
+     * @param keyBytesPerArticle     average bytes per link in the key layout
+     * @param bucketsSampled         {@code rss:seen:*} hashes measured
+     * @param bucketArticlesSampled  links held by the measured hashes
+     * @param bucketBytesPerArticle  average bytes per link in the bucketed layout
+     */
+    public record MemoryReport(
+            String layout,
+            int keysSampled,
+            Double keyBytesPerArticle,
+            int bucketsSampled,
+            long bucketArticlesSampled,
+            Double bucketBytesPerArticle
+    ) {}
+
+    public record KeyspaceStats(
+            long activeArticles,
+            String countedBy,
+            Map<LocalDate, Long> claimedPerDay,
+            Map<LocalDate, Map<String, Long>> claimedPerSourcePerDay
+    ) {}
 }
@@ -1,97 +1,254 @@
 package io.conflictradar.ingestion.api.service;
 
-import com.rometools.rome.feed.synd.SyndEntry;
-import com.rometools.rome.io.SyndFeedInput;
-import com.rometools.rome.io.XmlReader;
 import io.conflictradar.ingestion.api.dto.RssArticle;
 import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.breaker.FeedCircuitBreaker;
+import io.conflictradar.ingestion.api.service.parser.FeedHints;
+import io.conflictradar.ingestion.api.service.parser.FeedParser;
 import io.conflictradar.ingestion.config.RssConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringReader;
 import java.net.*;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 @Service
 public class RssParsingService {
 
     private static final Logger logger = LoggerFactory.getLogger(RssParsingService.class);
 
-    private int userAgentIndex = 0;
+    private final AtomicInteger userAgentIndex = new AtomicInteger();
     private final RssConfig rssConfig;
+    private final FeedHttpClient httpClient;
+    private final FeedParser feedParser;
+    private final Map<String, FeedValidators> validators = new ConcurrentHashMap<>();
+    private final Map<String, FeedHints> feedHints = new ConcurrentHashMap<>();
+    private final FeedCircuitBreaker circuitBreaker;
 
-    public RssParsingService(RssConfig rssConfig) {
+    public RssParsingService(RssConfig rssConfig, FeedHttpClient httpClient) {
         this.rssConfig = rssConfig;
+        this.httpClient = httpClient;
+        this.feedParser = FeedParser.forEngine(rssConfig.parser().engine());
+        this.circuitBreaker = new FeedCircuitBreaker(rssConfig.circuitBreaker());
     }
 
     /**
-     * Parse RSS with retry logic and comprehensive error handling
+     * @param articles   articles of the feed, empty if it could not be read
+     * @param error      why the feed could not be read, {@code null} if it was
+     * @param validators ETag / Last-Modified of the response, kept by
+     *                   {@link #commitValidators}; {@code null} if nothing was downloaded
+     */
+    public record FeedResult(List<RssArticle> articles, ErrorCategory error, FeedValidators validators) {
+
+        public FeedResult(List<RssArticle> articles, ErrorCategory error) {
+            this(articles, error, null);
+        }
+    }
+
+    /** Validators of a feed response; both {@code null} if the server sent none. */
+    public record FeedValidators(String etag, String lastModified) {}
+
+    /**
+     * Parse RSS with comprehensive error handling. The articles are returned to
+     * the caller, so the validators of the response are kept right away.
      *
      * @param url RSS feed URL
-     * @return List of articles (empty if parsing fails)
+     * @return List of articles (empty if parsing fails or the circuit of the
+     * source or its host is open, in which case nothing is sent)
      */
-    @Retryable(
-            value = { IOException.class, SocketTimeoutException.class },
-            maxAttemptsExpression = "#{@rssProps.maxAttempts}",
-            backoff = @Backoff(delayExpression = "#{@rssProps.retryDelay}", multiplier = 2.0, maxDelay = 10000)
-    )
     public List<RssArticle> parseRssFromUrl(String url) {
+        FeedResult feed = fetchRss(url);
+        commitValidators(url, feed);
+        return feed.articles();
+    }
+
+    /**
+     * Conditional fetch for the scheduled polls. Never retries by itself: the
+     * caller decides based on the returned error, {@link ErrorCategory#CIRCUIT_OPEN}
+     * if the circuit of the source or its host kept it from being fetched.
+     * The validators of the response are only kept once the caller passes the
+     * result to {@link #commitValidators}.
+     */
+    public FeedResult fetchRss(String url) {
+        List<RssArticle> articles = new ArrayList<>();
+        FeedValidators[] received = new FeedValidators[1];
+        ErrorCategory error = fetch(url, validators -> received[0] = validators, articles::add);
+        return error == null
+                ? new FeedResult(articles, null, received[0])
+                : new FeedResult(Collections.emptyList(), error);
+    }
+
+    /**
+     * Keeps the ETag / Last-Modified of a successful {@link #fetchRss}, so the next
+     * fetch of {@code url} is conditional. Call it once the articles were handed
+     * off: until then a failed poll downloads the feed again instead of getting a 304.
+     */
+    public void commitValidators(String url, FeedResult feed) {
+        FeedValidators received = feed.validators();
+        if (url == null || feed.error() != null || received == null) {
+            return;
+        }
+        if (received.etag() == null && received.lastModified() == null) {
+            validators.remove(url);
+        } else {
+            validators.put(url, received);
+        }
+    }
+
+    /**
+     * Unconditional one-off fetch, for bulk jobs: like {@link #streamRssFromUrl}
+     * but collecting the articles.
+     */
+    public FeedResult fetchOnce(String url) {
+        List<RssArticle> articles = new ArrayList<>();
+        ErrorCategory error = streamRssFromUrl(url, articles::add);
+        return new FeedResult(error == null ? articles : Collections.emptyList(), error);
+    }
+
+    /**
+     * Unconditional one-off fetch for on-demand readers: hands every article of
+     * the feed to {@code sink} while it is being parsed. The validators of the
+     * scheduled polls are neither sent nor updated, so this never hides new items
+     * from them. An open circuit is honoured, but nothing about the fetch is kept
+     * (validators, hints, circuit outcome), so arbitrary URLs leave no state behind.
+     * Exceptions thrown by {@code sink} are passed on unchanged and do not count
+     * as a failure of the feed.
+     *
+     * @return {@code null} if the feed was read, otherwise why not
+     */
+    public ErrorCategory streamRssFromUrl(String url, Consumer<RssArticle> sink) {
+        try {
+            return fetch(url, null, article -> {
+                try {
+                    sink.accept(article);
+                } catch (RuntimeException e) {
+                    throw new SinkException(e);
+                }
+            });
+        } catch (SinkException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * @param received gets the validators of a downloaded response; {@code null}
+     *                 for a one-off fetch, which neither sends validators nor
+     *                 records hints or circuit outcomes
+     */
+    private ErrorCategory fetch(String url, Consumer<FeedValidators> received, Consumer<RssArticle> sink) {
+        boolean tracked = url != null && received != null;
+        // A one-off fetch reports no outcome, so it must not take a half-open circuit's probe
+        boolean blocked = tracked ? !circuitBreaker.allowRequest(url)
+                : url != null && circuitBreaker.status(url).isOpen();
+        if (blocked) {
+            FeedCircuitBreaker.Status circuit = circuitBreaker.status(url);
+            logger.debug("Circuit open for {}, next attempt at {}", url, circuit.nextAttemptAt());
+            return ErrorCategory.CIRCUIT_OPEN;
+        }
+
         try {
             logger.debug("Parsing RSS from: {}", url);
-            return parseRssWithErrorHandling(url);
+            parseRssWithErrorHandling(url, received, sink);
+            if (tracked) {
+                circuitBreaker.recordSuccess(url);
+            }
+            return null;
+
+        } catch (SinkException e) {
+            throw e;
 
         } catch (RssParsingException e) {
             logger.error("RSS parsing failed for {}: {} (category: {})", url, e.getMessage(), e.getCategory());
-            return handleParsingError(url, e);
+            if (tracked) {
+                circuitBreaker.recordFailure(url, e.getCategory(), e.getRetryAfter());
+            }
+            handleParsingError(url, e);
+            return e.getCategory();
 
         } catch (Exception e) {
             logger.error("Unexpected error parsing RSS from {}: {}", url, e.getMessage(), e);
-            return Collections.emptyList();
+            if (tracked) {
+                circuitBreaker.recordFailure(url, ErrorCategory.UNKNOWN, null);
+            }
+            return ErrorCategory.UNKNOWN;
         }
     }
 
+    /** Circuit breaker state of {@code url} and the next time it may be fetched. */
+    public FeedCircuitBreaker.Status getCircuitStatus(String url) {
+        return circuitBreaker.status(url);
+    }
+
     /**
-     * Parse RSS with detailed error categorization
+     * Polling hints from the last successful poll of {@code url} (feed {@code <ttl>},
+     * {@code <skipHours>}, response {@code Cache-Control: max-age}).
      */
-    private List<RssArticle> parseRssWithErrorHandling(String url) throws RssParsingException {
-        HttpURLConnection connection = null;
+    public FeedHints getFeedHints(String url) {
+        return feedHints.getOrDefault(url, FeedHints.NONE);
+    }
 
+    /**
+     * Parse RSS with detailed error categorization
+     */
+    private void parseRssWithErrorHandling(String url, Consumer<FeedValidators> received, Consumer<RssArticle> sink)
+            throws RssParsingException {
         try {
             if (url == null || url.trim().isEmpty()) {
                 throw new RssParsingException("URL is null or empty", ErrorCategory.INVALID_URL);
             }
 
-            URL feedUrl = new URL(url);
-            connection = (HttpURLConnection) feedUrl.openConnection();
+            HttpRequest request = buildRequest(URI.create(url.trim()), received != null ? validators.get(url) : null);
 
-            configureConnection(connection);
+            httpClient.execute(request, response -> {
+                logger.debug("Response code for {}: {} ({})", url, response.statusCode(), response.version());
 
-            connection.connect();
+                if (response.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    logger.debug("Feed not modified since last poll: {}", url);
+                    rememberHints(url, getFeedHints(url), response);
+                    return null;
+                }
 
-            System.out.println("Response code: " + connection.getResponseCode());
-            System.out.println("Content-Type: " + connection.getContentType());
+                validateHttpResponse(response, url);
 
-            validateHttpResponse(connection, url);
+                FeedHints hints = parseRssFeed(response, sink);
+                if (received != null) {
+                    // Only once the body parsed, so a broken response is downloaded again
+                    received.accept(validatorsOf(response));
+                    rememberHints(url, hints, response);
+                }
+                return null;
+            });
 
-            return parseRssFeed(connection);
+        } catch (RssParsingException | SinkException e) {
+            throw e;
 
-        } catch (MalformedURLException e) {
+        } catch (IllegalArgumentException e) {
             throw new RssParsingException("Invalid URL format: " + url, e, ErrorCategory.INVALID_URL);
 
-        } catch (SocketTimeoutException e) {
+        } catch (HttpTimeoutException | SocketTimeoutException e) {
             throw new RssParsingException("Connection timeout for: " + url, e, ErrorCategory.TIMEOUT);
 
         } catch (ConnectException e) {
+            if (e.getCause() instanceof UnresolvedAddressException) {
+                throw new RssParsingException("Unknown host: " + url, e, ErrorCategory.DNS_ERROR);
+            }
             throw new RssParsingException("Connection refused: " + url, e, ErrorCategory.CONNECTION_REFUSED);
 
         } catch (UnknownHostException e) {
@@ -103,59 +260,103 @@ public class RssParsingService {
         } catch (IOException e) {
             throw new RssParsingException("I/O error reading: " + url, e, ErrorCategory.IO_ERROR);
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RssParsingException("Interrupted while fetching: " + url, e, ErrorCategory.UNKNOWN);
+
         } catch (Exception e) {
-            System.out.println("=== FULL STACK TRACE ===");
-            e.printStackTrace();
-            System.out.println("Exception class: " + e.getClass().getName());
-            System.out.println("Exception message: " + e.getMessage());
-
-            if (e.getCause() != null) {
-                System.out.println("Caused by: " + e.getCause().getClass().getName());
-                System.out.println("Cause message: " + e.getCause().getMessage());
-                e.getCause().printStackTrace();
+            logger.error("Unexpected error fetching {}", url, e);
+            throw new RssParsingException("Unexpected error: " + url, e, ErrorCategory.UNKNOWN);
+        }
+    }
+
+    /**
+     * Build the feed request with proper headers and timeouts.
+     * Validators from the last successful poll make it a conditional GET.
+     */
+    private HttpRequest buildRequest(URI uri, FeedValidators cached) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(httpClient.readTimeout())
+                .header("User-Agent", getNextUserAgent())
+                .header("Accept", "application/rss+xml, application/xml, text/xml, */*")
+                .header("Accept-Language", "en-US,en;q=0.9")
+                .header("Accept-Encoding", "gzip, deflate")
+                .GET();
+
+        if (cached != null) {
+            if (cached.etag() != null) {
+                builder.header("If-None-Match", cached.etag());
             }
+            if (cached.lastModified() != null) {
+                builder.header("If-Modified-Since", cached.lastModified());
+            }
+        }
 
-            throw new RssParsingException("Unexpected error: " + url, e, ErrorCategory.UNKNOWN);
+        return builder.build();
+    }
+
+    private static FeedValidators validatorsOf(HttpResponse<?> response) {
+        return new FeedValidators(response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null));
+    }
 
-        } finally {
-            if (connection != null) {
-                connection.disconnect();
+    private void rememberHints(String url, FeedHints parsed, HttpResponse<?> response) {
+        Duration maxAge = parseMaxAge(response.headers().firstValue("Cache-Control").orElse(null));
+        feedHints.put(url, parsed.withMaxAge(maxAge));
+    }
+
+    /** {@code max-age} of a Cache-Control header, or {@code null} if absent or not cacheable. */
+    static Duration parseMaxAge(String cacheControl) {
+        if (cacheControl == null) return null;
+
+        Duration maxAge = null;
+        for (String directive : cacheControl.split(",")) {
+            String d = directive.trim().toLowerCase(Locale.ROOT);
+            if (d.equals("no-cache") || d.equals("no-store")) return null;
+            if (d.startsWith("max-age=")) {
+                try {
+                    long seconds = Long.parseLong(d.substring("max-age=".length()).replace("\"", ""));
+                    maxAge = seconds > 0 ? Duration.ofSeconds(seconds) : null;
+                } catch (NumberFormatException ignored) {
+                    // malformed, treat as absent
+                }
             }
         }
+        return maxAge;
     }
 
     /**
-     * Configure HTTP connection with proper headers and timeouts
+     * {@code Retry-After} as delay-seconds or HTTP-date, {@code null} if absent,
+     * malformed or already passed.
      */
-    private void configureConnection(HttpURLConnection connection) {
-        connection.setConnectTimeout(rssConfig.http().connectTimeout());
-        connection.setReadTimeout(rssConfig.http().readTimeout());
-
-        // Set headers to avoid blocking
-        connection.setRequestProperty("User-Agent", getNextUserAgent());
-        connection.setRequestProperty("Accept", "application/rss+xml, application/xml, text/xml, */*");
-        connection.setRequestProperty("Accept-Language", "en-US,en;q=0.9");
-        connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
-        connection.setRequestProperty("Cache-Control", "no-cache");
-        connection.setRequestProperty("Connection", "close");
-
-        connection.setInstanceFollowRedirects(true);
-        connection.setUseCaches(false);
-        connection.setDoInput(true);
-        connection.setDoOutput(false);
+    static Duration parseRetryAfter(String retryAfter, Instant now) {
+        if (retryAfter == null || retryAfter.isBlank()) return null;
+
+        String value = retryAfter.trim();
+        try {
+            long seconds = Long.parseLong(value);
+            return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException ignored) {
+            // not delay-seconds, try HTTP-date
+        }
+        try {
+            Duration delay = Duration.between(now, ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+            return delay.isNegative() || delay.isZero() ? null : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     /**
      * Validate HTTP response and handle different status codes
      */
-    private void validateHttpResponse(HttpURLConnection connection, String url) throws IOException, RssParsingException {
-        int responseCode = connection.getResponseCode();
-        String responseMessage = connection.getResponseMessage();
+    private void validateHttpResponse(HttpResponse<?> response, String url) throws RssParsingException {
+        int responseCode = response.statusCode();
 
         switch (responseCode) {
             case HttpURLConnection.HTTP_OK:
                 // Check content type
-                String contentType = connection.getContentType();
+                String contentType = response.headers().firstValue("Content-Type").orElse(null);
                 if (contentType != null && !isValidRssContentType(contentType)) {
                     logger.warn("Unexpected content type for {}: {}", url, contentType);
                 }
@@ -171,7 +372,8 @@ public class RssParsingService {
                 throw new RssParsingException("Authentication required (401): " + url, ErrorCategory.AUTH_REQUIRED);
 
             case 429:
-                throw new RssParsingException("Rate limited (429): " + url, ErrorCategory.RATE_LIMITED);
+                throw new RssParsingException("Rate limited (429): " + url, ErrorCategory.RATE_LIMITED,
+                        parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null), Instant.now()));
 
             case HttpURLConnection.HTTP_INTERNAL_ERROR:
                 throw new RssParsingException("Server error (500): " + url, ErrorCategory.SERVER_ERROR);
@@ -180,130 +382,68 @@ public class RssParsingService {
             case HttpURLConnection.HTTP_UNAVAILABLE:
             case HttpURLConnection.HTTP_GATEWAY_TIMEOUT:
                 throw new RssParsingException("Server temporarily unavailable (" + responseCode + "): " + url,
-                        ErrorCategory.SERVER_UNAVAILABLE);
+                        ErrorCategory.SERVER_UNAVAILABLE,
+                        parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null), Instant.now()));
 
             default:
                 if (responseCode >= 400) {
                     throw new RssParsingException(
-                            String.format("HTTP error %d (%s): %s", responseCode, responseMessage, url),
+                            String.format("HTTP error %d: %s", responseCode, url),
                             ErrorCategory.HTTP_ERROR
                     );
                 }
         }
     }
 
-    private List<RssArticle> parseRssFeed(HttpURLConnection connection) throws RssParsingException {
+    private FeedHints parseRssFeed(HttpResponse<InputStream> response, Consumer<RssArticle> sink)
+            throws RssParsingException {
 
         try {
-            System.out.println("=== parseRssFeed started ===");
-
-            InputStream inputStream = connection.getInputStream();
+            InputStream inputStream = response.body();
 
             // Проверь Content-Encoding для GZIP
-            String encoding = connection.getContentEncoding();
-            if ("gzip".equals(encoding)) {
+            String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+            if ("gzip".equalsIgnoreCase(encoding)) {
                 inputStream = new GZIPInputStream(inputStream);
+            } else if ("deflate".equalsIgnoreCase(encoding)) {
+                inputStream = new InflaterInputStream(inputStream);
             }
 
-            // Читай весь контент один раз
-            String xmlContent = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            System.out.println("Received XML: " + xmlContent);
-
-            // Парси из строки через StringReader
-            var input = new SyndFeedInput();
-            var feed = input.build(new StringReader(xmlContent));
-
-            if (feed == null) {
-                throw new RssParsingException("RSS feed is null", ErrorCategory.PARSE_ERROR);
-            }
+            int[] count = new int[1];
+            FeedHints hints = feedParser.parse(inputStream, article -> {
+                count[0]++;
+                sink.accept(article);
+            });
 
-            if (feed.getEntries() == null || feed.getEntries().isEmpty()) {
+            if (count[0] == 0) {
                 logger.warn("RSS feed has no entries");
-                return Collections.emptyList();
             }
 
-            return feed.getEntries().stream()
-                    .map(this::convertToArticle)
-                    .filter(Objects::nonNull)
-                    .toList();
+            return hints;
 
-        } catch (com.rometools.rome.io.FeedException e) {
-            throw new RssParsingException("RSS parsing error: " + e.getMessage(), e, ErrorCategory.PARSE_ERROR);
         } catch (IOException e) {
             throw new RssParsingException("I/O error reading RSS: " + e.getMessage(), e, ErrorCategory.IO_ERROR);
         }
     }
 
-    private RssArticle convertToArticle(SyndEntry entry) {
-        try {
-            if (entry == null) {
-                return null;
-            }
-
-            var publishedAt = entry.getPublishedDate() != null
-                    ? entry.getPublishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
-                    : LocalDateTime.now();
-
-            var description = entry.getDescription() != null
-                    ? cleanText(entry.getDescription().getValue())
-                    : "";
-
-            var title = entry.getTitle() != null ? cleanText(entry.getTitle()) : "Untitled";
-            var link = entry.getLink() != null ? entry.getLink().trim() : "";
-            var author = entry.getAuthor() != null ? cleanText(entry.getAuthor()) : "Unknown";
-
-            if (title.isBlank() || link.isBlank()) {
-                logger.debug("Skipping article with missing title or link: title='{}', link='{}'", title, link);
-                return null;
-            }
-
-            return new RssArticle(
-                    UUID.randomUUID().toString(),
-                    title,
-                    description,
-                    link,
-                    author,
-                    publishedAt,
-                    Set.of(), // Keywords added during analysis
-                    0.0       // Risk score calculated during analysis
-            );
-
-        } catch (Exception e) {
-            logger.warn("Failed to convert RSS entry to article: {}", e.getMessage());
-            return null;
+    private void handleParsingError(String url, RssParsingException e) {
+        switch (e.getCategory()) {
+            case TIMEOUT, CONNECTION_REFUSED, NETWORK_ERROR, SERVER_UNAVAILABLE ->
+                    logger.warn("Temporary error for {}: {}", url, e.getMessage());
+            case NOT_FOUND, ACCESS_FORBIDDEN, AUTH_REQUIRED ->
+                    logger.error("Permanent error for {}: {}, backing off until {}", url, e.getMessage(),
+                            circuitBreaker.status(url).nextAttemptAt());
+            case RATE_LIMITED ->
+                    logger.warn("Rate limited for {}: {}, backing off until {}", url, e.getMessage(),
+                            circuitBreaker.status(url).nextAttemptAt());
+            case PARSE_ERROR -> logger.warn("Parse error for {}: {}", url, e.getMessage());
+            default -> logger.error("Unknown error for {}: {}", url, e.getMessage());
         }
     }
 
-    private List<RssArticle> handleParsingError(String url, RssParsingException e) {
-        return switch (e.getCategory()) {
-            case TIMEOUT, CONNECTION_REFUSED, NETWORK_ERROR, SERVER_UNAVAILABLE -> {
-                logger.warn("Temporary error for {}: {}", url, e.getMessage());
-                yield Collections.emptyList();
-            }
-            case NOT_FOUND, ACCESS_FORBIDDEN, AUTH_REQUIRED -> {
-                logger.error("Permanent error for {}: {}", url, e.getMessage());
-                yield Collections.emptyList();
-            }
-            case RATE_LIMITED -> {
-                logger.warn("Rate limited for {}: {}", url, e.getMessage());
-                yield Collections.emptyList();
-            }
-            case PARSE_ERROR -> {
-                logger.warn("Parse error for {}: {}", url, e.getMessage());
-                yield Collections.emptyList();
-            }
-            default -> {
-                logger.error("Unknown error for {}: {}", url, e.getMessage());
-                yield Collections.emptyList();
-            }
-        };
-    }
-
     private String getNextUserAgent() {
         List<String> userAgents = rssConfig.http().userAgents();
-        String userAgent = userAgents.get(userAgentIndex);
-        userAgentIndex = (userAgentIndex + 1) % userAgents.size();
-        return userAgent;
+        return userAgents.get(Math.floorMod(userAgentIndex.getAndIncrement(), userAgents.size()));
     }
 
     private boolean isValidRssContentType(String contentType) {
@@ -316,31 +456,42 @@ public class RssParsingService {
                 lowerContentType.contains("text");
     }
 
-    private String cleanText(String text) {
-        if (text == null) return "";
+    /** Carries an exception thrown by a caller's sink past the feed error handling. */
+    private static final class SinkException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
 
-        return text
-                .replaceAll("<[^>]+>", " ")     // Remove HTML tags
-                .replaceAll("&[a-zA-Z0-9#]+;", " ") // Remove HTML entities
-                .replaceAll("\\s+", " ")        // Normalize whitespace
-                .trim();
+        SinkException(RuntimeException cause) {
+            super(cause);
+        }
     }
 
     public static class RssParsingException extends Exception {
         private final ErrorCategory category;
+        private final Duration retryAfter;
 
         public RssParsingException(String message, ErrorCategory category) {
+            this(message, category, null);
+        }
+
+        public RssParsingException(String message, ErrorCategory category, Duration retryAfter) {
             super(message);
             this.category = category;
+            this.retryAfter = retryAfter;
         }
 
         public RssParsingException(String message, Throwable cause, ErrorCategory category) {
             super(message, cause);
             this.category = category;
+            this.retryAfter = null;
         }
 
         public ErrorCategory getCategory() {
             return category;
         }
+
+        /** Server's {@code Retry-After}, {@code null} if it sent none. */
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
     }
 }
\ No newline at end of file
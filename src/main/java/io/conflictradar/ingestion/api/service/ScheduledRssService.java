@@ -1,16 +1,60 @@
 package io.conflictradar.ingestion.api.service;
 
 import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.breaker.FeedCircuitBreaker;
+import io.conflictradar.ingestion.api.service.dedup.NearDuplicateDetector;
+import io.conflictradar.ingestion.api.service.parser.FeedHints;
+import io.conflictradar.ingestion.api.service.pipeline.IngestPipeline;
+import io.conflictradar.ingestion.api.service.pipeline.RateMeter;
+import io.conflictradar.ingestion.api.service.pipeline.Stage;
+import io.conflictradar.ingestion.api.service.schedule.PollSchedule;
+import io.conflictradar.ingestion.api.service.schedule.RetryPolicy;
+import io.conflictradar.ingestion.api.util.FetchLimiter;
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import io.conflictradar.ingestion.config.ProcessingConfig;
 import io.conflictradar.ingestion.config.RssConfig;
 import io.conflictradar.ingestion.config.RssSource;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * Polls every enabled source on its own adaptive {@link PollSchedule}: a source
+ * that publishes often is polled often, a quiet one backs off up to its maximum
+ * interval, and one slow or failing feed never delays the others.
+ * {@link #parseAllRssFeeds()} remains available for a manual full sweep.
+ * <p>
+ * Sources are fetched on virtual threads; their new articles go through the
+ * {@link IngestPipeline}, which analyzes them on a CPU pool and publishes them
+ * on its own threads. With {@code rss.concurrency.enabled} off, scheduled polls
+ * still run off the timer thread, one at a time.
+ */
 @Service
 public class ScheduledRssService {
     private static final Logger logger = LoggerFactory.getLogger(ScheduledRssService.class);
@@ -19,59 +63,241 @@ public class ScheduledRssService {
     private final EventPublisherService eventPublisher;
     private final RssParsingService rssParsingService;
     private final RssConfig rssConfig;
+    private final FetchLimiter fetchLimiter;
+    // Gates scheduled polls: the fetch limits, or a single permit when polling sequentially
+    private final FetchLimiter pollLimiter;
+    private final Clock clock;
+
+    private final RetryPolicy retryPolicy;
+    private final IngestPipeline pipeline;
+    private final RateMeter fetched;
+
+    private final Map<String, PollSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<String, Integer> retryAttempts = new ConcurrentHashMap<>();
+    private ScheduledExecutorService timer;
+    private ExecutorService pollers;
 
     public ScheduledRssService(RssParsingService rssParsingService,
                                RssDeduplicationService deduplicationService,
                                EventPublisherService eventPublisher,
                                RssConfig rssConfig) {
+        this(rssParsingService, deduplicationService, eventPublisher, rssConfig, Clock.systemUTC());
+    }
+
+    ScheduledRssService(RssParsingService rssParsingService,
+                        RssDeduplicationService deduplicationService,
+                        EventPublisherService eventPublisher,
+                        RssConfig rssConfig,
+                        Clock clock) {
+        this.clock = clock;
         this.rssParsingService = rssParsingService;
         this.deduplicationService = deduplicationService;
         this.eventPublisher = eventPublisher;
         this.rssConfig = rssConfig;
+        this.retryPolicy = new RetryPolicy(
+                rssConfig.http().maxRetries(),
+                Duration.ofMillis(rssConfig.http().retryDelay()),
+                rssConfig.retry().maxDelay(),
+                rssConfig.retry().budget(),
+                rssConfig.retry().budgetWindow()
+        );
+        this.fetchLimiter = new FetchLimiter(
+                rssConfig.concurrency().maxInFlight(),
+                rssConfig.concurrency().maxPerHost()
+        );
+        this.pollLimiter = rssConfig.concurrency().enabled() ? fetchLimiter : new FetchLimiter(1, 1);
+        this.pipeline = new IngestPipeline(rssConfig.pipeline(), this::analyze, this::publish, clock);
+        this.fetched = new RateMeter(clock);
     }
 
-    @Scheduled(
-            fixedRateString = "#{@rssProps.scheduleIntervalMs}",
-            initialDelayString = "#{@rssProps.initialDelayMs}"
-    )
-    public void parseAllRssFeeds() {
-        List<RssSource> enabledSources = rssConfig.getEnabledSources();
+    /**
+     * Starts polling each enabled source independently, unless
+     * {@code rss.processing.enable-scheduling} is off.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startPolling() {
+        ProcessingConfig processing = rssConfig.processing();
+        if (!processing.enableScheduling() || timer != null) {
+            return;
+        }
 
-        logger.info("Starting scheduled RSS parsing for {} enabled sources", enabledSources.size());
-        long startTime = System.currentTimeMillis();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rss-poll-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pollers = Executors.newVirtualThreadPerTaskExecutor();
 
-        int totalArticles = 0;
-        int totalNewArticles = 0;
+        Instant firstPoll = clock.instant().plus(processing.initialDelay());
+        for (RssSource source : rssConfig.getEnabledSources()) {
+            PollSchedule schedule = new PollSchedule(processing.scheduleInterval(),
+                    source.minInterval() != null ? source.minInterval() : processing.minInterval(),
+                    source.maxInterval() != null ? source.maxInterval() : processing.maxInterval());
+            schedules.put(source.name(), schedule);
+            scheduleNext(source, schedule.start(firstPoll));
+        }
 
-        for (RssSource source : enabledSources) {
-            try {
-                logger.debug("Parsing RSS from: {} ({})", source.name(), source.url());
+        logger.info("Polling {} sources independently, first poll in {}",
+                schedules.size(), processing.initialDelay());
+    }
 
-                List<RssArticle> allArticles = rssParsingService.parseRssFromUrl(source.url());
-                List<RssArticle> newArticles = filterNewArticles(allArticles);
+    public synchronized void stopPolling() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+        if (pollers != null) {
+            pollers.shutdownNow();
+            pollers = null;
+        }
+    }
 
-                for (RssArticle article : newArticles) {
-                    RssArticle analyzedArticle = analyzeConflictRisk(article, source);
+    @PreDestroy
+    public void shutdown() {
+        stopPolling();
+        pipeline.shutdown();
+    }
 
-                    eventPublisher.publishNewsIngested(analyzedArticle);
+    /** Current polling interval, rate estimate and next poll of every scheduled source. */
+    public Map<String, PollSchedule.Status> getPollingStatus() {
+        Map<String, PollSchedule.Status> status = new LinkedHashMap<>();
+        for (RssSource source : rssConfig.getEnabledSources()) {
+            PollSchedule schedule = schedules.get(source.name());
+            if (schedule != null) {
+                status.put(source.name(), schedule.status());
+            }
+        }
+        return status;
+    }
 
-                    if (analyzedArticle.riskScore() > rssConfig.processing().riskThreshold()) {
-                        eventPublisher.publishHighRiskDetected(analyzedArticle);
-                    }
+    /** Circuit breaker state of every enabled source. */
+    public Map<String, FeedCircuitBreaker.Status> getCircuitStatus() {
+        Map<String, FeedCircuitBreaker.Status> status = new LinkedHashMap<>();
+        for (RssSource source : rssConfig.getEnabledSources()) {
+            status.put(source.name(), rssParsingService.getCircuitStatus(source.url()));
+        }
+        return status;
+    }
+
+    /**
+     * Queue depth and throughput of each ingest stage. The fetch stage reports
+     * fetches in flight and fetches waiting for a permit; its throughput counts
+     * fetched feeds, the other stages count articles.
+     */
+    public List<Stage.Stats> getPipelineStats() {
+        List<Stage.Stats> stats = new ArrayList<>();
+        stats.add(new Stage.Stats("fetch", fetchLimiter.inFlight(), fetchLimiter.waiting(), 0,
+                fetched.total(), fetched.perSecond(), 0));
+        stats.addAll(pipeline.stats());
+        return stats;
+    }
+
+    public boolean isPolling() {
+        return timer != null;
+    }
+
+    private synchronized void scheduleNext(RssSource source, Instant at) {
+        if (timer == null) return;
+
+        long delay = Math.max(0, Duration.between(clock.instant(), at).toMillis());
+        timer.schedule(() -> dispatch(source), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Hands the poll to a virtual thread so a slow feed never holds up the timer.
+     * The lock is only held to read the executor, never during a poll.
+     */
+    private void dispatch(RssSource source) {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = pollers;
+        }
+        if (executor == null) return;
+
+        try {
+            executor.execute(() -> {
+                try {
+                    pollLimiter.call(source.url(), () -> {
+                        pollOnce(source);
+                        return null;
+                    });
+                } catch (Exception e) {
+                    logger.error("Poll of {} aborted: {}", source.name(), e.getMessage());
+                    scheduleNext(source, clock.instant().plus(rssConfig.processing().scheduleInterval()));
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            // Polling stopped in the meantime
+            logger.debug("Poll of {} dropped: polling stopped", source.name());
+        }
+    }
+
+    void pollOnce(RssSource source) {
+        PollSchedule schedule = schedules.get(source.name());
+        SourceResult result = processSource(source);
 
-                totalArticles += allArticles.size();
-                totalNewArticles += newArticles.size();
+        ErrorCategory error = result.error();
+        boolean failed = error != null;
 
-                logger.info("Processed {} (weight: {}): {} total, {} new articles",
-                        source.getSimpleName(), source.weight(),
-                        allArticles.size(), newArticles.size());
+        if (!failed) {
+            eventPublisher.publishBatchProcessed(source.name(), result.totalArticles(), result.newArticles());
+        }
+        if (schedule == null) return;
 
-            } catch (Exception e) {
-                logger.error("Failed to parse RSS from {}: {}", source.name(), e.getMessage());
+        Instant now = clock.instant();
+        Instant next;
+        if (failed) {
+            next = schedule.afterFailure(now);
+            // Skipped by an open circuit or this failure opened it: nothing to retry before it lets the source through
+            FeedCircuitBreaker.Status circuit = rssParsingService.getCircuitStatus(source.url());
+            if (circuit != null && circuit.isOpen()) {
+                retryAttempts.remove(source.name());
+                if (circuit.nextAttemptAt().isAfter(next)) next = circuit.nextAttemptAt();
+            } else {
+                Instant retryAt = retryAt(source, error, now);
+                if (retryAt != null && retryAt.isBefore(next)) next = retryAt;
             }
+        } else {
+            retryAttempts.remove(source.name());
+            FeedHints hints = rssParsingService.getFeedHints(source.url());
+            next = schedule.afterPoll(now, result.newArticles(), hints);
         }
 
+        logger.debug("Next poll of {} at {} (interval {})", source.name(), next, schedule.status().interval());
+        scheduleNext(source, next);
+    }
+
+    /**
+     * Retry time for a source whose poll failed with {@code error}, or {@code null}
+     * to wait for the next regular poll. Retries go through the timer like any
+     * other poll, nothing sleeps.
+     */
+    private Instant retryAt(RssSource source, ErrorCategory error, Instant now) {
+        int attempt = retryAttempts.merge(source.name(), 1, Integer::sum);
+        Duration delay = retryPolicy.retryDelay(error, attempt, now);
+        if (delay == null) {
+            retryAttempts.remove(source.name());
+            return null;
+        }
+
+        logger.info("Retrying {} in {}ms (attempt {}, {})", source.name(), delay.toMillis(), attempt, error);
+        return now.plus(delay);
+    }
+
+    /** Polls every enabled source once and publishes a single batch summary. */
+    public void parseAllRssFeeds() {
+        List<RssSource> enabledSources = rssConfig.getEnabledSources();
+
+        logger.info("Starting scheduled RSS parsing for {} enabled sources", enabledSources.size());
+        long startTime = System.currentTimeMillis();
+
+        List<SourceResult> results = rssConfig.concurrency().enabled()
+                ? processConcurrently(enabledSources)
+                : enabledSources.stream().map(this::processSource).toList();
+
+        int totalArticles = results.stream().mapToInt(SourceResult::totalArticles).sum();
+        int totalNewArticles = results.stream().mapToInt(SourceResult::newArticles).sum();
+
         long duration = System.currentTimeMillis() - startTime;
 
         eventPublisher.publishBatchProcessed("scheduled-batch", totalArticles, totalNewArticles);
@@ -80,56 +306,166 @@ public class ScheduledRssService {
                 totalArticles, totalNewArticles, duration);
     }
 
-    private List<RssArticle> filterNewArticles(List<RssArticle> articles) {
-        return articles.stream()
-                .filter(article -> {
-                    if (deduplicationService.isAlreadyProcessed(article.link())) {
-                        return false;
-                    } else {
-                        deduplicationService.markAsProcessed(article.link());
-                        return true;
-                    }
-                })
+    /**
+     * Fetch every source on its own virtual thread, bounded by the configured
+     * in-flight and per-host limits. The tick takes as long as the slowest source.
+     */
+    private List<SourceResult> processConcurrently(List<RssSource> sources) {
+        List<Future<SourceResult>> futures = new ArrayList<>(sources.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (RssSource source : sources) {
+                futures.add(executor.submit(() -> fetchLimiter.call(source.url(), () -> processSource(source))));
+            }
+        }
+
+        List<SourceResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(SourceResult.failed(sources.get(i)));
+            } catch (ExecutionException e) {
+                logger.error("Failed to parse RSS from {}: {}", sources.get(i).name(), e.getCause().getMessage());
+                results.add(SourceResult.failed(sources.get(i)));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Fetches one source right away, outside any schedule, and publishes its new
+     * articles exactly like a regular poll. Used by bulk ingest jobs: the fetch
+     * is a one-off, it keeps no validators, hints or circuit state for the URL.
+     */
+    public IngestResult ingest(RssSource source) {
+        // Filled from the publish threads
+        List<RssArticle> published = Collections.synchronizedList(new ArrayList<>());
+        SourceResult result = processSource(source, rssParsingService::fetchOnce, published::add);
+
+        return new IngestResult(result.totalArticles(), List.copyOf(published), result.error());
+    }
+
+    /**
+     * Claims the links of {@code articles} under {@code origin} and sends the new
+     * ones through the analyze and publish stages of a regular poll: the same risk
+     * score, near-duplicate cluster and one alert per story. Used by the on-demand
+     * feed endpoints.
+     *
+     * @return the new articles as published, in the order given
+     * @throws java.util.concurrent.RejectedExecutionException after {@link #shutdown}
+     */
+    public List<RssArticle> publishNew(String origin, String url, List<RssArticle> articles) throws InterruptedException {
+        RssSource source = new RssSource(url, origin, rssConfig.weightOf(url), true);
+        List<RssArticle> newArticles = filterNewArticles(source, articles);
+
+        // Filled from the publish threads, in no particular order
+        Map<String, RssArticle> published = new ConcurrentHashMap<>();
+        pipeline.process(source, newArticles, article -> published.put(article.link(), article));
+
+        return newArticles.stream()
+                .map(article -> published.get(article.link()))
+                .filter(Objects::nonNull)
                 .toList();
     }
 
-    private RssArticle analyzeConflictRisk(RssArticle article, RssSource source) {
-        String text = (article.title() + " " + article.description()).toLowerCase();
+    /**
+     * @param newArticles analyzed articles that were new and got published
+     * @param error       why the source could not be read, {@code null} if it was
+     */
+    public record IngestResult(int totalArticles, List<RssArticle> newArticles, ErrorCategory error) {}
+
+    private SourceResult processSource(RssSource source) {
+        return processSource(source, rssParsingService::fetchRss, article -> {});
+    }
+
+    private SourceResult processSource(RssSource source, Function<String, RssParsingService.FeedResult> fetch,
+                                       Consumer<RssArticle> published) {
+        try {
+            logger.debug("Parsing RSS from: {} ({})", source.name(), source.url());
+
+            RssParsingService.FeedResult feed = fetch.apply(source.url());
+            fetched.mark();
+            if (feed.error() != null) {
+                return new SourceResult(source, 0, 0, feed.error());
+            }
 
-        var foundKeywords = rssConfig.riskAnalysis().findKeywords(text);
-        var riskScore = calculateRiskScore(foundKeywords, source.weight());
+            List<RssArticle> allArticles = feed.articles();
+            List<RssArticle> newArticles = filterNewArticles(source, allArticles);
 
-        return new RssArticle(
-                article.id(),
-                article.title(),
-                article.description(),
-                article.link(),
-                article.author(),
-                article.publishedAt(),
-                foundKeywords,
-                riskScore
-        );
+            pipeline.process(source, newArticles, published);
+            // Handed off: from now on the feed may answer 304 for these items
+            rssParsingService.commitValidators(source.url(), feed);
+
+            logger.info("Processed {} (weight: {}): {} total, {} new articles",
+                    source.getSimpleName(), source.weight(),
+                    allArticles.size(), newArticles.size());
+
+            return new SourceResult(source, allArticles.size(), newArticles.size(), null);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SourceResult.failed(source);
+        } catch (Exception e) {
+            logger.error("Failed to parse RSS from {}: {}", source.name(), e.getMessage());
+            return SourceResult.failed(source);
+        }
     }
 
-    private double calculateRiskScore(Set<String> conflictKeywords, double sourceWeight) {
-        if (conflictKeywords.isEmpty()) return 0.0;
+    private List<RssArticle> filterNewArticles(RssSource source, List<RssArticle> articles) {
+        if (articles.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> claimed = new HashSet<>(deduplicationService.filterAndMarkNew(source.name(),
+                articles.stream().map(RssArticle::link).toList()));
 
-        var baseScore = Math.min(conflictKeywords.size() * 0.15, 0.8);
+        // remove() so a link repeated within the feed is only published once
+        return articles.stream()
+                .filter(article -> claimed.remove(article.link()))
+                .toList();
+    }
 
-        boolean hasHighRisk = conflictKeywords.stream()
-                .anyMatch(keyword -> rssConfig.riskAnalysis().highRiskKeywords().contains(keyword));
+    /** Analysis stage: risk score and near-duplicate cluster of one new article. */
+    private IngestPipeline.Analyzed analyze(RssSource source, RssArticle article, TextNormalizer normalizer) {
+        // Lowercase view into the normalizer's buffer, no concatenated copy
+        CharSequence text = normalizer.lowercase(article.title(), article.description());
+        RssArticle analyzedArticle = analyzeConflictRisk(article, source, text);
 
-        boolean hasCritical = conflictKeywords.stream()
-                .anyMatch(keyword -> rssConfig.riskAnalysis().criticalKeywords().contains(keyword));
+        NearDuplicateDetector.Cluster cluster = deduplicationService.assignCluster(text);
+        if (cluster != null) {
+            analyzedArticle = analyzedArticle.withCluster(cluster.id());
+        }
 
-        if (hasCritical) {
-            baseScore = Math.min(baseScore + 0.4, 1.0);
-        } else if (hasHighRisk) {
-            baseScore = Math.min(baseScore + 0.25, 1.0);
+        boolean alert = analyzedArticle.riskScore() > rssConfig.processing().riskThreshold();
+        // One alert per story: the first copy above the threshold claims it for the cluster
+        if (alert && cluster != null && !deduplicationService.claimClusterAlert(cluster)) {
+            logger.debug("No alert for {}: cluster {} was already alerted on", analyzedArticle.link(), cluster.id());
+            alert = false;
         }
+        return new IngestPipeline.Analyzed(analyzedArticle, alert);
+    }
 
-        baseScore = baseScore * sourceWeight;
+    /** Publish stage. */
+    private void publish(IngestPipeline.Analyzed analyzed) {
+        eventPublisher.publishNewsIngested(analyzed.article());
+        if (analyzed.alert()) {
+            eventPublisher.publishHighRiskDetected(analyzed.article());
+        }
+    }
+
+    private RssArticle analyzeConflictRisk(RssArticle article, RssSource source, CharSequence text) {
+        var matches = rssConfig.riskAnalysis().match(text);
+        var riskScore = matches.riskScore(source.weight());
 
-        return Math.round(baseScore * 100.0) / 100.0;
+        return article.withRisk(matches.keywords(), riskScore);
+    }
+
+    /** @param error why the source could not be read, {@code null} if it was */
+    private record SourceResult(RssSource source, int totalArticles, int newArticles, ErrorCategory error) {
+        static SourceResult failed(RssSource source) {
+            return new SourceResult(source, 0, 0, ErrorCategory.UNKNOWN);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package io.conflictradar.ingestion.api.service.breaker;
+
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.util.FetchLimiter;
+import io.conflictradar.ingestion.config.CircuitBreakerConfig;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breakers for feed fetches, one per host and one per source URL.
+ * <p>
+ * What a failure does depends on its {@link ErrorCategory}:
+ * <ul>
+ *     <li>401 / 403 / 404 / invalid URL open the source's circuit at once, for hours;</li>
+ *     <li>429 and 502 / 503 / 504 with {@code Retry-After} open the host's circuit until then,
+ *         a 429 without it for {@link CircuitBreakerConfig#rateLimitBackoff()};</li>
+ *     <li>timeouts, refused connections and DNS failures count against the host,
+ *         other errors against the source; the circuit opens after
+ *         {@link CircuitBreakerConfig#failureThreshold()} of them in a row.</li>
+ * </ul>
+ * Once the open period has passed the circuit is half-open: a single fetch is
+ * let through as a probe, a success closes it and a failure opens it again for
+ * twice as long. A probe that never reports back is given up after
+ * {@link CircuitBreakerConfig#transientBackoff()}. A success never closes a
+ * circuit that is still open, so a fetch that was already in flight when a
+ * {@code Retry-After} arrived does not cut that period short.
+ */
+public class FeedCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public enum Scope { HOST, SOURCE }
+
+    /**
+     * @param scope         circuit the state comes from, {@code null} while nothing failed
+     * @param nextAttemptAt earliest time the source is fetched again, {@code null} when closed
+     */
+    public record Status(State state, Scope scope, ErrorCategory lastError, int consecutiveFailures,
+                         Instant nextAttemptAt) {
+        public static final Status CLOSED = new Status(State.CLOSED, null, null, 0, null);
+
+        public boolean isOpen() {
+            return state == State.OPEN;
+        }
+    }
+
+    private final CircuitBreakerConfig config;
+    private final Clock clock;
+    private final Map<String, Circuit> hosts = new ConcurrentHashMap<>();
+    private final Map<String, Circuit> sources = new ConcurrentHashMap<>();
+
+    public FeedCircuitBreaker(CircuitBreakerConfig config) {
+        this(config, Clock.systemUTC());
+    }
+
+    public FeedCircuitBreaker(CircuitBreakerConfig config, Clock clock) {
+        this.config = config;
+        this.clock = clock;
+    }
+
+    /**
+     * {@code false} while the source's or its host's circuit is open, or while
+     * another fetch is probing a half-open one. A {@code true} for a half-open
+     * circuit makes the caller its probe, which must report its outcome.
+     */
+    public boolean allowRequest(String url) {
+        Instant now = clock.instant();
+        Circuit host = hosts.get(FetchLimiter.hostOf(url));
+        Circuit source = sources.get(url);
+        if (isOpen(host, now) || isOpen(source, now)) {
+            return false;
+        }
+        if (host != null && !host.tryProbe(now)) {
+            return false;
+        }
+        if (source != null && !source.tryProbe(now)) {
+            if (host != null) {
+                host.endProbe();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /** Closes the source's and its host's circuits unless they are open. */
+    public void recordSuccess(String url) {
+        Instant now = clock.instant();
+        hosts.computeIfPresent(FetchLimiter.hostOf(url), (k, circuit) -> circuit.isOpen(now) ? circuit : null);
+        sources.computeIfPresent(url, (k, circuit) -> circuit.isOpen(now) ? circuit : null);
+    }
+
+    /**
+     * @param retryAfter server's {@code Retry-After}, {@code null} if it sent none
+     */
+    public void recordFailure(String url, ErrorCategory category, Duration retryAfter) {
+        Instant now = clock.instant();
+        Scope scope = scopeOf(category);
+        Map<String, Circuit> circuits = scope == Scope.HOST ? hosts : sources;
+        String key = scope == Scope.HOST ? FetchLimiter.hostOf(url) : url;
+
+        circuits.computeIfAbsent(key, k -> new Circuit(scope)).failed(category, retryAfter, now);
+
+        // The other circuit's probe, if this fetch held it, did not fail on its account
+        Circuit other = scope == Scope.HOST ? sources.get(url) : hosts.get(FetchLimiter.hostOf(url));
+        if (other != null) {
+            other.endProbe();
+        }
+    }
+
+    /** State of the source: the host's circuit if that one holds it back longer. */
+    public Status status(String url) {
+        Instant now = clock.instant();
+        Status host = statusOf(hosts.get(FetchLimiter.hostOf(url)), now);
+        Status source = statusOf(sources.get(url), now);
+
+        if (host.isOpen() && (!source.isOpen() || host.nextAttemptAt().isAfter(source.nextAttemptAt()))) {
+            return host;
+        }
+        if (source.isOpen()) {
+            return source;
+        }
+        // Neither holds the source back: report the one that has seen failures
+        if (source.state() != host.state()) {
+            return source.state() == State.HALF_OPEN ? source : host;
+        }
+        return source.consecutiveFailures() >= host.consecutiveFailures() ? source : host;
+    }
+
+    private static boolean isOpen(Circuit circuit, Instant now) {
+        return circuit != null && circuit.isOpen(now);
+    }
+
+    private static Status statusOf(Circuit circuit, Instant now) {
+        return circuit == null ? Status.CLOSED : circuit.status(now);
+    }
+
+    private static Scope scopeOf(ErrorCategory category) {
+        return switch (category) {
+            case RATE_LIMITED, SERVER_UNAVAILABLE, TIMEOUT, CONNECTION_REFUSED, DNS_ERROR, NETWORK_ERROR -> Scope.HOST;
+            default -> Scope.SOURCE;
+        };
+    }
+
+    private static boolean isPermanent(ErrorCategory category) {
+        return switch (category) {
+            case NOT_FOUND, ACCESS_FORBIDDEN, AUTH_REQUIRED, INVALID_URL -> true;
+            default -> false;
+        };
+    }
+
+    private static Duration doubled(Duration base, int times, Duration max) {
+        Duration period = base.multipliedBy(1L << Math.min(times, 20));
+        return period.compareTo(max) > 0 ? max : period;
+    }
+
+    private final class Circuit {
+        private final Scope scope;
+        private int failures;
+        private int openings;
+        private ErrorCategory lastError;
+        private Instant openUntil;
+        private Instant probeUntil;
+
+        Circuit(Scope scope) {
+            this.scope = scope;
+        }
+
+        synchronized boolean isOpen(Instant now) {
+            return openUntil != null && now.isBefore(openUntil);
+        }
+
+        /** Lets one caller through while half-open; always {@code true} below the threshold. */
+        synchronized boolean tryProbe(Instant now) {
+            if (openUntil == null) {
+                return true;
+            }
+            if (probeUntil != null && now.isBefore(probeUntil)) {
+                return false;
+            }
+            probeUntil = now.plus(config.transientBackoff());
+            return true;
+        }
+
+        synchronized void endProbe() {
+            probeUntil = null;
+        }
+
+        synchronized void failed(ErrorCategory category, Duration retryAfter, Instant now) {
+            failures++;
+            lastError = category;
+
+            Duration period;
+            if (retryAfter != null && (category == ErrorCategory.RATE_LIMITED
+                    || category == ErrorCategory.SERVER_UNAVAILABLE)) {
+                period = retryAfter.compareTo(config.maxPermanentBackoff()) > 0
+                        ? config.maxPermanentBackoff() : retryAfter;
+            } else if (category == ErrorCategory.RATE_LIMITED) {
+                period = doubled(config.rateLimitBackoff(), openings, config.maxTransientBackoff());
+            } else if (isPermanent(category)) {
+                period = doubled(config.permanentBackoff(), openings, config.maxPermanentBackoff());
+            } else if (openUntil != null || failures >= config.failureThreshold()) {
+                // A failed half-open probe opens again straight away
+                period = doubled(config.transientBackoff(), openings, config.maxTransientBackoff());
+            } else {
+                return;
+            }
+
+            openings++;
+            openUntil = now.plus(period);
+            probeUntil = null;
+        }
+
+        synchronized Status status(Instant now) {
+            State state = openUntil == null ? State.CLOSED
+                    : now.isBefore(openUntil) ? State.OPEN
+                    : State.HALF_OPEN;
+            return new Status(state, scope, lastError, failures, state == State.CLOSED ? null : openUntil);
+        }
+    }
+}
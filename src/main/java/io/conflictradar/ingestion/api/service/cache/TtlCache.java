@@ -0,0 +1,150 @@
+package io.conflictradar.ingestion.api.service.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache whose entries expire a fixed time after they were loaded.
+ * <p>
+ * Loads are single-flight: while a key is being loaded, other callers asking
+ * for it wait for that load instead of starting their own. Values rejected by
+ * the {@code cacheable} predicate (failed fetches, say) are handed to every
+ * waiting caller but not kept. When full, the least recently used entry goes.
+ */
+public final class TtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Predicate<? super V> cacheable;
+
+    // Access ordered, guarded by this
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(int maxEntries, Duration ttl, Clock clock, Predicate<? super V> cacheable) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Cached value for {@code key}, loading it with {@code loader} if absent or
+     * expired. Exceptions thrown by the loader reach every caller waiting for it.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            // Another load may have finished between the lookup and taking over
+            cached = lookup(key);
+            if (cached == null) {
+                misses.increment();
+                cached = loader.apply(key);
+                if (cached != null && cacheable.test(cached)) {
+                    store(key, cached);
+                }
+            } else {
+                hits.increment();
+            }
+            load.complete(cached);
+            return cached;
+
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /** Cached value for {@code key} if present and fresh, counted as a hit or a miss. */
+    public V getIfPresent(K key) {
+        V cached = lookup(key);
+        (cached != null ? hits : misses).increment();
+        return cached;
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), coalesced.sum(), evictions.sum(), size, maxEntries);
+    }
+
+    /**
+     * @param coalesced requests that waited for a load already running instead of starting one
+     */
+    public record Stats(long hits, long misses, long coalesced, long evictions, int size, int capacity) {
+        public double getHitRate() {
+            long lookups = hits + misses + coalesced;
+            return lookups > 0 ? (double) (hits + coalesced) / lookups : 0.0;
+        }
+    }
+
+    private synchronized V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAt() <= clock.millis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void store(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
@@ -0,0 +1,138 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import io.lettuce.core.RedisNoScriptException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Runs Lua scripts without blocking the caller, on the native Lettuce
+ * connection that Spring shares between all {@code RedisTemplate} users.
+ * <p>
+ * Lettuce writes a command as soon as it is issued and matches replies in
+ * order, so scripts started concurrently by different fetch threads are
+ * pipelined over the one multiplexed connection instead of each waiting for
+ * its own round trip. Every call is bounded by the timeout: past it the
+ * returned future fails with a {@link TimeoutException}, while the script may
+ * still complete on the server.
+ * <p>
+ * Scripts go out as {@code EVALSHA} and are sent in full once Redis answers
+ * {@code NOSCRIPT}, like {@code RedisTemplate} does. Single commands can be
+ * sent with {@link #call} under the same timeout.
+ */
+public class AsyncScriptExecutor {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final long timeoutMillis;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+
+    public AsyncScriptExecutor(RedisConnectionFactory connectionFactory, Duration timeout) {
+        this.connectionFactory = connectionFactory;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * An executor on {@code connectionFactory}, or {@code null} unless it is a
+     * Lettuce factory sharing its native connection: a dedicated connection
+     * would be released while the script is still running.
+     */
+    public static AsyncScriptExecutor forSharedConnection(RedisConnectionFactory connectionFactory, Duration timeout) {
+        if (connectionFactory instanceof LettuceConnectionFactory lettuce && lettuce.getShareNativeConnection()) {
+            return new AsyncScriptExecutor(connectionFactory, timeout);
+        }
+        return null;
+    }
+
+    /**
+     * Starts {@code script} and returns its reply: {@code Long} for an integer,
+     * {@code List} for a multi-bulk reply. Arguments are {@link #encode encoded}.
+     */
+    public <T> CompletableFuture<T> execute(RedisScript<?> script, ScriptOutputType output, List<String> keys, Object... args) {
+        byte[][] keyBytes = keys.stream().map(key -> key.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+        byte[][] argBytes = encode(args);
+
+        return call(commands -> commands.<T>evalsha(script.getSha1(), output, keyBytes, argBytes).toCompletableFuture()
+                .exceptionallyCompose(e -> unwrap(e) instanceof RedisNoScriptException
+                        ? commands.<T>eval(script.getScriptAsString(), output, keyBytes, argBytes).toCompletableFuture()
+                        : CompletableFuture.failedFuture(e)));
+    }
+
+    /**
+     * Sends {@code command} on the shared connection. Bounded by the timeout and
+     * counted in the {@link #stats} like a script.
+     */
+    public <T> CompletableFuture<T> call(Function<RedisClusterAsyncCommands<byte[], byte[]>, ? extends CompletionStage<T>> command) {
+        calls.increment();
+        inFlight.increment();
+
+        CompletableFuture<T> reply;
+        try {
+            reply = command.apply(commands()).toCompletableFuture();
+        } catch (RuntimeException e) {
+            reply = CompletableFuture.failedFuture(e);
+        }
+
+        return reply.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, failure) -> {
+                    inFlight.decrement();
+                    if (failure == null) return;
+
+                    if (unwrap(failure) instanceof TimeoutException) {
+                        timeouts.increment();
+                    } else {
+                        failures.increment();
+                    }
+                });
+    }
+
+    /** Script arguments as bytes: {@code byte[]} as they are, everything else as its UTF-8 string. */
+    public static byte[][] encode(Object... args) {
+        byte[][] encoded = new byte[args.length][];
+        for (int i = 0; i < args.length; i++) {
+            encoded[i] = args[i] instanceof byte[] bytes ? bytes : String.valueOf(args[i]).getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisClusterAsyncCommands<byte[], byte[]> commands() {
+        // With a shared native connection closing the wrapper leaves that connection open
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    public Stats stats() {
+        return new Stats(calls.sum(), inFlight.sum(), timeouts.sum(), failures.sum(), Duration.ofMillis(timeoutMillis));
+    }
+
+    /**
+     * @param calls    scripts and commands started
+     * @param inFlight calls waiting for their reply
+     * @param timeouts calls given up on after the timeout
+     * @param failures calls that failed otherwise (connection lost, script error)
+     */
+    public record Stats(long calls, long inFlight, long timeouts, long failures, Duration timeout) {}
+}
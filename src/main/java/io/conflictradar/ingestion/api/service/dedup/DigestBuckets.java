@@ -0,0 +1,81 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact Redis layout for processed links: per-day hashes, each split into
+ * {@code bucketsPerDay} buckets, mapping the first 8 bytes of a link's MD5 to
+ * the minute of the day it was claimed.
+ * <p>
+ * Key {@code rss:seen:<yyyyMMdd>:<bucket>}, the bucket taken from digest bytes
+ * 8-9 so it is independent of the field. While a bucket holds no more than
+ * {@code hash-max-listpack-entries} fields Redis keeps it as a listpack: about
+ * 13 bytes per link (8 byte field, small-int value, per-entry overhead) instead
+ * of a key, a string value and a TTL entry each. Buckets expire as a whole once
+ * their day left the TTL window, so a link is remembered for 7 to 8 days.
+ * <p>
+ * A 64-bit digest prefix makes a collision between two links within one window
+ * of millions of links about one in 10^12.
+ */
+public final class DigestBuckets {
+
+    public static final String PREFIX = "rss:seen:";
+    public static final int FIELD_BYTES = 8;
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final int bucketsPerDay;
+    private final int ttlDays;
+
+    public DigestBuckets(int bucketsPerDay, Duration ttl) {
+        this.bucketsPerDay = bucketsPerDay;
+        this.ttlDays = (int) ttl.toDays();
+    }
+
+    public int bucket(byte[] digest) {
+        return (((digest[FIELD_BYTES] & 0xFF) << 8) | (digest[FIELD_BYTES + 1] & 0xFF)) % bucketsPerDay;
+    }
+
+    /** Key prefix of one day's buckets; the bucket number is appended. */
+    public static String dayPrefix(LocalDate day) {
+        return PREFIX + DAY.format(day) + ":";
+    }
+
+    public String key(LocalDate day, byte[] digest) {
+        return dayPrefix(day) + bucket(digest);
+    }
+
+    /** Prefixes of the days a link claimed within the TTL can be in, today first. */
+    public List<String> window(LocalDate today) {
+        List<String> prefixes = new ArrayList<>(ttlDays + 1);
+        for (int i = 0; i <= ttlDays; i++) {
+            prefixes.add(dayPrefix(today.minusDays(i)));
+        }
+        return prefixes;
+    }
+
+    /** When the buckets of {@code day} expire: once the last link in them is older than the TTL. */
+    public long expireAt(LocalDate day) {
+        return day.plusDays(ttlDays + 1L).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /** Fields of {@code digests}, {@link #FIELD_BYTES} each, as one script argument. */
+    public static byte[] fields(List<byte[]> digests) {
+        byte[] fields = new byte[digests.size() * FIELD_BYTES];
+        for (int i = 0; i < digests.size(); i++) {
+            System.arraycopy(digests.get(i), 0, fields, i * FIELD_BYTES, FIELD_BYTES);
+        }
+        return fields;
+    }
+
+    /** Value stored for a link claimed at {@code time}: fits the listpack 13-bit int encoding. */
+    public static int minuteOfDay(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,89 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import io.conflictradar.ingestion.config.LocalTierConfig;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process dedup tier in front of Redis.
+ * <p>
+ * Links are identified by their 16 byte MD5 digest (the same digest the Redis
+ * key is built from). A link counts as seen when it is in the exact
+ * {@link SeenLinkCache} or, failing that, in the {@link TimePartitionedBloomFilter}
+ * covering the TTL window; the latter answers wrongly for at most the configured
+ * false-positive rate. Everything else has to be checked against Redis.
+ * <p>
+ * The tier only remembers what this instance saw, so after a restart (or for
+ * links first seen by another instance) lookups simply fall through to Redis.
+ */
+public class LocalDedupTier {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final SeenLinkCache recent;
+    private final TimePartitionedBloomFilter window;
+    private final Clock clock;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder bloomHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public LocalDedupTier(LocalTierConfig config, Duration ttl, Clock clock) {
+        this.clock = clock;
+        this.recent = new SeenLinkCache(config.maxEntries(), ttl.toMillis(), clock.millis());
+        this.window = new TimePartitionedBloomFilter(config.expectedLinks(), config.falsePositiveRate(),
+                config.partitions(), ttl.toMillis());
+    }
+
+    /** {@code true} if the link is known to be processed already, {@code false} if Redis has to decide. */
+    public boolean isSeen(byte[] digest) {
+        long h1 = (long) LONGS.get(digest, 0);
+        long h2 = (long) LONGS.get(digest, 8);
+        long now = clock.millis();
+
+        if (recent.contains(h1, h2, now)) {
+            cacheHits.increment();
+            return true;
+        }
+        if (window.mightContain(h1, h2, now)) {
+            bloomHits.increment();
+            recent.add(h1, h2, now);
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void markSeen(byte[] digest) {
+        long h1 = (long) LONGS.get(digest, 0);
+        long h2 = (long) LONGS.get(digest, 8);
+        long now = clock.millis();
+
+        recent.add(h1, h2, now);
+        window.add(h1, h2, now);
+    }
+
+    public Stats stats() {
+        return new Stats(cacheHits.sum(), bloomHits.sum(), misses.sum(),
+                recent.capacity(), window.sizeInBytes(), window.hashCount());
+    }
+
+    public record Stats(
+            long cacheHits,
+            long bloomHits,
+            long misses,
+            int cacheCapacity,
+            long bloomBytes,
+            int bloomHashes
+    ) {
+        public double getHitRate() {
+            long lookups = cacheHits + bloomHits + misses;
+            return lookups > 0 ? (double) (cacheHits + bloomHits) / lookups : 0.0;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Banded LSH index over 64-bit SimHash fingerprints of a recent time window.
+ * <p>
+ * The fingerprint is cut into {@code maxDistance + 1} bands. Two fingerprints
+ * within {@code maxDistance} bits of each other differ in at most that many
+ * bands, so they agree exactly on at least one: a lookup only has to compare
+ * against the entries sharing one of its band values. Each band has a bucket
+ * table of chain heads, and the chains are linked through a {@code next} array,
+ * newest entry first.
+ * <p>
+ * Entries live in a ring of {@code capacity} slots of primitive arrays, so the
+ * index never allocates after construction and holds about 50 bytes per
+ * fingerprint. When the ring wraps the oldest slot is reused without unlinking
+ * it: a chain walk stops at the first entry that is not older than the one
+ * before it (the slot was reused), no longer in the bucket, or older than the
+ * window. Everything behind such an entry is older still.
+ * <p>
+ * A walk also stops after {@value #MAX_CANDIDATES} entries per band, which
+ * bounds a lookup even when many texts crowd one bucket (boilerplate-heavy
+ * feeds); only the most recent entries of such a bucket are compared.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+final class LshIndex {
+
+    private static final int EMPTY = -1;
+    private static final int MAX_BUCKET_BITS = 20;
+    private static final int MAX_CANDIDATES = 64;
+
+    private final int maxDistance;
+    private final int bands;
+    private final int bandBits;
+    private final long bandMask;
+    private final int bucketBits;
+    private final int capacity;
+
+    private final long[] fingerprints;
+    private final long[] clusters;
+    private final long[] sequences;
+    private final long[] addedAt;
+
+    // heads[band << bucketBits | bucket] -> newest slot, next[band * capacity + slot] -> older slot
+    private final int[] heads;
+    private final int[] next;
+
+    private long added;
+    private long lastAddedAt = Long.MIN_VALUE;
+
+    LshIndex(int maxDistance, int capacity) {
+        this.maxDistance = maxDistance;
+        this.bands = maxDistance + 1;
+        this.bandBits = 64 / bands;
+        this.bandMask = (1L << bandBits) - 1;
+        this.bucketBits = Math.min(bandBits, MAX_BUCKET_BITS);
+        this.capacity = capacity;
+
+        this.fingerprints = new long[capacity];
+        this.clusters = new long[capacity];
+        this.sequences = new long[capacity];
+        this.addedAt = new long[capacity];
+
+        this.heads = new int[bands << bucketBits];
+        this.next = new int[bands * capacity];
+        Arrays.fill(heads, EMPTY);
+    }
+
+    /**
+     * Cluster of the closest fingerprint added at or after {@code notBefore}
+     * within {@code maxDistance} bits, or {@code 0} if there is none.
+     */
+    long findCluster(long fingerprint, long notBefore) {
+        int best = EMPTY;
+        int bestDistance = maxDistance + 1;
+
+        for (int band = 0; band < bands; band++) {
+            int bucket = bucketOf(fingerprint, band);
+            long newer = Long.MAX_VALUE;
+            int candidates = 0;
+
+            for (int slot = heads[band << bucketBits | bucket]; slot != EMPTY; slot = next[band * capacity + slot]) {
+                long sequence = sequences[slot];
+                if (sequence >= newer || addedAt[slot] < notBefore
+                        || bucketOf(fingerprints[slot], band) != bucket || ++candidates > MAX_CANDIDATES) {
+                    break;
+                }
+                newer = sequence;
+
+                int distance = Long.bitCount(fingerprints[slot] ^ fingerprint);
+                if (distance < bestDistance) {
+                    best = slot;
+                    bestDistance = distance;
+                    if (distance == 0) return clusters[best];
+                }
+            }
+        }
+        return best == EMPTY ? 0 : clusters[best];
+    }
+
+    /** Adds a fingerprint, overwriting the oldest one once the ring is full. */
+    void add(long fingerprint, long cluster, long nowMillis) {
+        int slot = (int) (added % capacity);
+        // Chains rely on entries getting older towards the tail
+        lastAddedAt = Math.max(lastAddedAt, nowMillis);
+
+        fingerprints[slot] = fingerprint;
+        clusters[slot] = cluster;
+        sequences[slot] = added++;
+        addedAt[slot] = lastAddedAt;
+
+        for (int band = 0; band < bands; band++) {
+            int head = band << bucketBits | bucketOf(fingerprint, band);
+            next[band * capacity + slot] = heads[head];
+            heads[head] = slot;
+        }
+    }
+
+    int size() {
+        return (int) Math.min(added, capacity);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private int bucketOf(long fingerprint, int band) {
+        long value = (fingerprint >>> (band * bandBits)) & bandMask;
+        // Wide bands (few, large bands for a small distance) are hashed down to the table size
+        return bandBits <= bucketBits
+                ? (int) value
+                : (int) ((value * 0x9E3779B97F4A7C15L) >>> (64 - bucketBits));
+    }
+}
@@ -0,0 +1,315 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Processed links in a memory-mapped file, for running without Redis.
+ * <p>
+ * The file holds one open-addressing table per day of the retention window:
+ * slots of 16 bytes with the first 8 bytes of the link's MD5 ({@link #key})
+ * and the claim time in epoch millis, linear probing, at most half full at
+ * the expected daily volume. New links go into today's table; a table is
+ * cleared when its slot in the ring of days comes round again, so links
+ * expire a day at a time without a TTL per entry.
+ * <p>
+ * Tables live off-heap in the page cache: lookups probe a few slots per day
+ * and allocate nothing, and after a restart the file is mapped again as it
+ * is, without a reload pass. Writes reach the disk when the OS flushes the
+ * pages or on {@link #close()}, so a process crash loses nothing and a
+ * machine crash at most the latest claims.
+ * <p>
+ * Thread-safe: slots are taken with compare-and-set, so of two threads
+ * claiming the same link exactly one succeeds. A removed link keeps its key
+ * with a claim time of 0, which keeps probe chains intact.
+ */
+public class MappedDigestStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedDigestStore.class);
+
+    private static final long MAGIC = 0x5253_5344_4544_5550L; // "RSSDEDUP"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 64;
+    private static final int SEGMENT_HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_PROBES = 64;
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    // File header
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 8;
+    private static final int DAYS_OFFSET = 12;
+    private static final int SLOTS_OFFSET = 16;
+
+    // Segment header: epoch day held by the table, links claimed into it
+    private static final int DAY_OFFSET = 0;
+    private static final int COUNT_OFFSET = 8;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DIGEST = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final int slots;
+    private final int mask;
+    private final Clock clock;
+
+    private final LongAdder overflows = new LongAdder();
+
+    private MappedDigestStore(FileChannel channel, MappedByteBuffer header, MappedByteBuffer[] segments, int slots, Clock clock) {
+        this.channel = channel;
+        this.header = header;
+        this.segments = segments;
+        this.slots = slots;
+        this.mask = slots - 1;
+        this.clock = clock;
+    }
+
+    /**
+     * Maps {@code file}, creating it when missing. A file written with another
+     * number of days or table size is started over empty.
+     *
+     * @param linksPerDay links expected per day, each day's table gets twice as many slots
+     * @param days        days a link is remembered, today included
+     */
+    public static MappedDigestStore open(Path file, long linksPerDay, int days, Clock clock) throws IOException {
+        int wanted = (int) Math.min(1 << 30, Math.max(1024, linksPerDay * 2));
+        int slots = Integer.highestOneBit(wanted - 1) << 1;
+        long segmentBytes = SEGMENT_HEADER_BYTES + (long) slots * SLOT_BYTES;
+        if (segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many links per day for one mapped table: " + linksPerDay);
+        }
+        long fileBytes = FILE_HEADER_BYTES + days * segmentBytes;
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean reuse = channel.size() == fileBytes;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_BYTES);
+            reuse = reuse && header.getLong(MAGIC_OFFSET) == MAGIC && header.getInt(VERSION_OFFSET) == VERSION
+                    && header.getInt(DAYS_OFFSET) == days && header.getInt(SLOTS_OFFSET) == slots;
+
+            if (!reuse) {
+                if (channel.size() > 0) {
+                    logger.warn("Dedup store {} was written with another layout, starting empty", file);
+                }
+                header.putLong(MAGIC_OFFSET, 0);
+                header.force();
+                channel.truncate(0);
+                // Sparse: pages are only allocated once written to
+                channel.write(ByteBuffer.wrap(new byte[1]), fileBytes - 1);
+                header = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEADER_BYTES);
+                header.putInt(VERSION_OFFSET, VERSION).putInt(DAYS_OFFSET, days).putInt(SLOTS_OFFSET, slots);
+                // An empty table holds day 0, which is never in the window
+                header.putLong(MAGIC_OFFSET, MAGIC);
+                header.force();
+            }
+
+            MappedByteBuffer[] segments = new MappedByteBuffer[days];
+            for (int i = 0; i < days; i++) {
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, FILE_HEADER_BYTES + i * segmentBytes, segmentBytes);
+            }
+            return new MappedDigestStore(channel, header, segments, slots, clock);
+
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Store key of a link: the first 8 bytes of its MD5 digest, 0 being reserved for free slots. */
+    public static long key(byte[] digest) {
+        long key = (long) DIGEST.get(digest, 0);
+        return key != 0 ? key : 1;
+    }
+
+    /** When {@code key} was claimed, in epoch millis, or 0 if it is not in the window. */
+    public long claimedAt(long key) {
+        long today = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        for (int d = 0; d < segments.length; d++) {
+            ByteBuffer segment = live(today - d);
+            if (segment == null) continue;
+
+            int offset = find(segment, key);
+            if (offset >= 0) {
+                long at = (long) LONGS.getAcquire(segment, offset + 8);
+                if (at != 0) return at;
+            }
+        }
+        return 0;
+    }
+
+    public boolean contains(long key) {
+        return claimedAt(key) != 0;
+    }
+
+    /**
+     * Claims {@code key} into today's table unless it is in the window already.
+     *
+     * @return {@code true} if this call claimed it; also when today's table had
+     * no free slot near the key's position, so an overfull table republishes
+     * rather than drops links
+     */
+    public boolean claim(long key) {
+        long now = clock.millis();
+        long today = Math.floorDiv(now, DAY_MILLIS);
+        for (int d = 1; d < segments.length; d++) {
+            ByteBuffer segment = live(today - d);
+            if (segment == null) continue;
+
+            int offset = find(segment, key);
+            if (offset >= 0 && (long) LONGS.getAcquire(segment, offset + 8) != 0) return false;
+        }
+        return insert(current(today), key, now, false);
+    }
+
+    /** Records {@code key} as claimed now, whether it was claimed before or not. */
+    public void put(long key) {
+        long now = clock.millis();
+        insert(current(Math.floorDiv(now, DAY_MILLIS)), key, now, true);
+    }
+
+    /** Forgets {@code key} in every day of the window. */
+    public boolean remove(long key) {
+        long today = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        boolean removed = false;
+        for (int d = 0; d < segments.length; d++) {
+            ByteBuffer segment = live(today - d);
+            if (segment == null) continue;
+
+            int offset = find(segment, key);
+            if (offset >= 0) {
+                removed |= (long) LONGS.getAndSet(segment, offset + 8, 0L) != 0;
+            }
+        }
+        return removed;
+    }
+
+    /** Links claimed per day of the window, removed ones included. */
+    public Map<LocalDate, Long> claimedPerDay() {
+        long today = Math.floorDiv(clock.millis(), DAY_MILLIS);
+        Map<LocalDate, Long> perDay = new TreeMap<>();
+        for (int d = 0; d < segments.length; d++) {
+            ByteBuffer segment = live(today - d);
+            if (segment != null) {
+                perDay.put(LocalDate.ofEpochDay(today - d), (long) LONGS.getVolatile(segment, COUNT_OFFSET));
+            }
+        }
+        return perDay;
+    }
+
+    public Stats stats() {
+        long claimed = claimedPerDay().values().stream().mapToLong(Long::longValue).sum();
+        return new Stats(claimed, segments.length, slots,
+                FILE_HEADER_BYTES + segments.length * (SEGMENT_HEADER_BYTES + (long) slots * SLOT_BYTES),
+                overflows.sum());
+    }
+
+    /** Flushes the tables to disk and closes the file. */
+    @Override
+    public void close() throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        header.force();
+        channel.close();
+    }
+
+    /** The table holding {@code day}, or {@code null} if it has been reused for a later day or never used. */
+    private ByteBuffer live(long day) {
+        ByteBuffer segment = segments[Math.floorMod(day, segments.length)];
+        return (long) LONGS.getAcquire(segment, DAY_OFFSET) == day ? segment : null;
+    }
+
+    private ByteBuffer current(long today) {
+        ByteBuffer segment = live(today);
+        return segment != null ? segment : rotate(today);
+    }
+
+    /** Clears the table of the day that just left the window and hands it to {@code today}. */
+    private synchronized ByteBuffer rotate(long today) {
+        MappedByteBuffer segment = segments[Math.floorMod(today, segments.length)];
+        if ((long) LONGS.getAcquire(segment, DAY_OFFSET) == today) return segment;
+
+        int end = SEGMENT_HEADER_BYTES + slots * SLOT_BYTES;
+        for (int offset = SEGMENT_HEADER_BYTES; offset < end; offset += ZEROS.length) {
+            segment.put(offset, ZEROS, 0, Math.min(ZEROS.length, end - offset));
+        }
+        LONGS.setVolatile(segment, COUNT_OFFSET, 0L);
+        LONGS.setRelease(segment, DAY_OFFSET, today);
+        return segment;
+    }
+
+    /** Byte offset of the slot holding {@code key}, or -1. */
+    private int find(ByteBuffer segment, long key) {
+        int slot = home(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = SEGMENT_HEADER_BYTES + slot * SLOT_BYTES;
+            long found = (long) LONGS.getAcquire(segment, offset);
+            if (found == key) return offset;
+            if (found == 0) return -1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean insert(ByteBuffer segment, long key, long now, boolean overwrite) {
+        int slot = home(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int offset = SEGMENT_HEADER_BYTES + slot * SLOT_BYTES;
+            long found = (long) LONGS.getAcquire(segment, offset);
+            if (found == 0 && LONGS.compareAndSet(segment, offset, 0L, key)) {
+                found = key;
+            } else if (found == 0) {
+                // Lost the slot to another key, or to the same key from another thread
+                found = (long) LONGS.getAcquire(segment, offset);
+            }
+
+            if (found == key) {
+                boolean claimed = overwrite
+                        ? (long) LONGS.getAndSet(segment, offset + 8, now) == 0
+                        : LONGS.compareAndSet(segment, offset + 8, 0L, now);
+                if (claimed) LONGS.getAndAdd(segment, COUNT_OFFSET, 1L);
+                return claimed || overwrite;
+            }
+            slot = (slot + 1) & mask;
+        }
+        overflows.increment();
+        return true;
+    }
+
+    private int home(long key) {
+        // The key is already uniformly distributed MD5 output
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    /**
+     * @param claimedInWindow links claimed over the days still in the window
+     * @param days            tables in the ring, today included
+     * @param slotsPerDay     slots of each table
+     * @param fileBytes       size of the mapped file
+     * @param overflows       claims that found no free slot and were let through
+     */
+    public record Stats(long claimedInWindow, int days, int slotsPerDay, long fileBytes, long overflows) {}
+}
@@ -0,0 +1,130 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import io.conflictradar.ingestion.config.NearDuplicateConfig;
+
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Groups articles telling the same story into clusters, so a wire story carried
+ * by several sources is alerted on once: the first article of a cluster that
+ * crosses the risk threshold {@link #claimAlert claims} the alert, wherever it
+ * comes in the cluster.
+ * <p>
+ * An article's lowercased title and description are reduced to a
+ * {@link SimHash} and looked up in an {@link LshIndex} of the fingerprints
+ * seen during the configured window. An article within the configured Hamming
+ * distance of an earlier one joins that article's cluster; otherwise it starts
+ * its own. Either way its fingerprint is added, so a story that keeps being
+ * rewritten stays in one cluster. The cluster id is the hex fingerprint of the
+ * article that started it, the same on every instance for the same text.
+ * <p>
+ * Like {@link LocalDedupTier}, the index only knows what this instance saw.
+ */
+public class NearDuplicateDetector {
+
+    private final LshIndex index;
+    private final long windowMillis;
+    private final int minTokens;
+    private final Clock clock;
+
+    // cluster -> when its alert was sent, oldest first; bounded like the index
+    private final Map<Long, Long> alertedAt;
+
+    private final LongAdder clustered = new LongAdder();
+    private final LongAdder nearDuplicates = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public NearDuplicateDetector(NearDuplicateConfig config, Clock clock) {
+        this.index = new LshIndex(config.maxDistance(), config.capacity());
+        this.windowMillis = config.window().toMillis();
+        this.minTokens = config.minTokens();
+        this.clock = clock;
+
+        int maxAlerted = config.capacity();
+        this.alertedAt = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxAlerted;
+            }
+        };
+    }
+
+    /**
+     * @param text lowercased title and description of a new article
+     * @return the article's cluster, or {@code null} if the text is too short to compare
+     */
+    public Cluster assign(CharSequence text) {
+        long fingerprint = SimHash.fingerprint(text, minTokens);
+        if (fingerprint == SimHash.NONE) {
+            skipped.increment();
+            return null;
+        }
+
+        long now = clock.millis();
+        long cluster;
+        boolean duplicate = true;
+        synchronized (index) {
+            cluster = index.findCluster(fingerprint, now - windowMillis);
+            if (cluster == 0) {
+                cluster = fingerprint;
+                duplicate = false;
+            }
+            index.add(fingerprint, cluster, now);
+        }
+
+        (duplicate ? nearDuplicates : clustered).increment();
+        return new Cluster(HexFormat.of().toHexDigits(cluster), duplicate);
+    }
+
+    /**
+     * Claims the alert of {@code cluster}: {@code true} for the first caller
+     * within the window, {@code false} once an alert for the story was sent.
+     * Only call this for articles that are alerted on, so a copy scoring below
+     * the threshold does not use up the alert of a later one scoring above it.
+     */
+    public boolean claimAlert(Cluster cluster) {
+        long id = HexFormat.fromHexDigitsToLong(cluster.id());
+        long now = clock.millis();
+        synchronized (alertedAt) {
+            Long sentAt = alertedAt.get(id);
+            if (sentAt != null && sentAt >= now - windowMillis) {
+                return false;
+            }
+            // Re-inserted, so the map stays ordered by alert time
+            alertedAt.remove(id);
+            alertedAt.put(id, now);
+            return true;
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (index) {
+            size = index.size();
+        }
+        return new Stats(clustered.sum(), nearDuplicates.sum(), skipped.sum(), size, index.capacity());
+    }
+
+    /**
+     * @param id        hex fingerprint of the article that started the cluster
+     * @param duplicate the article joined an existing cluster
+     */
+    public record Cluster(String id, boolean duplicate) {}
+
+    /**
+     * @param clusters       articles that started a new cluster
+     * @param nearDuplicates articles that joined an existing one
+     * @param skipped        articles too short to fingerprint
+     */
+    public record Stats(
+            long clusters,
+            long nearDuplicates,
+            long skipped,
+            int indexedFingerprints,
+            int capacity
+    ) {}
+}
@@ -0,0 +1,98 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free set of recently seen link digests.
+ * <p>
+ * Set-associative: a digest can only live in one of {@value #WAYS} slots of its
+ * set. When a set is full the entry added longest ago is replaced, which for a
+ * stream of feed links (new links push old ones out of the feeds) is a close
+ * approximation of LRU. Entries also expire after the TTL, like the Redis keys.
+ * <p>
+ * Writers do not coordinate: two threads replacing the same slot may lose one
+ * of the entries. That only costs a Redis lookup later, a lost entry can never
+ * make a new link look seen.
+ */
+class SeenLinkCache {
+
+    private static final int WAYS = 8;
+    private static final long EMPTY = 0L;
+
+    private final int setMask;
+    private final AtomicLongArray fingerprints;
+    private final AtomicIntegerArray addedAt;
+    private final long baseMillis;
+    private final int ttlSeconds;
+
+    SeenLinkCache(int maxEntries, long ttlMillis, long nowMillis) {
+        int sets = Integer.highestOneBit(Math.max(1, (maxEntries + WAYS - 1) / WAYS));
+        if (sets * WAYS < maxEntries) sets <<= 1;
+
+        this.setMask = sets - 1;
+        this.fingerprints = new AtomicLongArray(sets * WAYS);
+        this.addedAt = new AtomicIntegerArray(sets * WAYS);
+        this.baseMillis = nowMillis;
+        this.ttlSeconds = (int) Math.min(Integer.MAX_VALUE, ttlMillis / 1000);
+    }
+
+    boolean contains(long h1, long h2, long nowMillis) {
+        long fingerprint = fingerprint(h1);
+        int first = firstSlot(h2);
+        int now = seconds(nowMillis);
+
+        for (int slot = first; slot < first + WAYS; slot++) {
+            if (fingerprints.get(slot) == fingerprint) {
+                return now - addedAt.get(slot) < ttlSeconds;
+            }
+        }
+        return false;
+    }
+
+    void add(long h1, long h2, long nowMillis) {
+        long fingerprint = fingerprint(h1);
+        int first = firstSlot(h2);
+        int now = seconds(nowMillis);
+
+        int victim = first;
+        int oldest = Integer.MAX_VALUE;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            long current = fingerprints.get(slot);
+            if (current == fingerprint) {
+                if (now - addedAt.get(slot) < ttlSeconds) return;
+                victim = slot;
+                break;
+            }
+            if (current == EMPTY) {
+                victim = slot;
+                break;
+            }
+            int added = addedAt.get(slot);
+            if (added < oldest) {
+                oldest = added;
+                victim = slot;
+            }
+        }
+
+        // Stamp first: a reader that sees the new fingerprint also sees its stamp
+        addedAt.set(victim, now);
+        fingerprints.set(victim, fingerprint);
+    }
+
+    int capacity() {
+        return fingerprints.length();
+    }
+
+    private int firstSlot(long h2) {
+        return ((int) (h2 >>> 32) & setMask) * WAYS;
+    }
+
+    private int seconds(long nowMillis) {
+        return (int) ((nowMillis - baseMillis) / 1000);
+    }
+
+    private static long fingerprint(long h1) {
+        return h1 == EMPTY ? 1L : h1;
+    }
+}
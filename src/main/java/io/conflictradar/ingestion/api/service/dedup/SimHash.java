@@ -0,0 +1,78 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+/**
+ * 64-bit SimHash of a text: every word is hashed, and bit {@code i} of the
+ * fingerprint is set when more words have bit {@code i} set than clear. Texts
+ * sharing most of their words get fingerprints differing in few bits, so the
+ * Hamming distance approximates how much two texts differ.
+ * <p>
+ * Words are runs of letters and digits; words shorter than three characters
+ * ("a", "of", "to") carry little signal and are skipped. Scanning allocates
+ * only the 64 counters.
+ */
+final class SimHash {
+
+    /** Returned for texts with too few words to compare. */
+    static final long NONE = 0L;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int MIN_WORD_LENGTH = 3;
+
+    private SimHash() {
+    }
+
+    /**
+     * @param text      lowercased title and description
+     * @param minTokens fewest words a text needs to get a fingerprint
+     * @return the fingerprint, or {@link #NONE} for a text with fewer words
+     */
+    static long fingerprint(CharSequence text, int minTokens) {
+        if (text == null) return NONE;
+
+        int[] counts = new int[64];
+        int tokens = 0;
+        long hash = FNV_OFFSET;
+        int wordLength = 0;
+
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ c) * FNV_PRIME;
+                wordLength++;
+                continue;
+            }
+            if (wordLength >= MIN_WORD_LENGTH) {
+                add(counts, mix(hash));
+                tokens++;
+            }
+            hash = FNV_OFFSET;
+            wordLength = 0;
+        }
+
+        if (tokens < minTokens) return NONE;
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (counts[bit] > 0) fingerprint |= 1L << bit;
+        }
+        // NONE is reserved; a real fingerprint of 0 moves to its neighbour
+        return fingerprint == NONE ? 1L : fingerprint;
+    }
+
+    private static void add(int[] counts, long feature) {
+        for (int bit = 0; bit < 64; bit++) {
+            counts[bit] += (int) ((feature >>> bit) & 1L) * 2 - 1;
+        }
+    }
+
+    /** MurmurHash3 finalizer: FNV alone leaves the high bits of short words poorly mixed. */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,110 @@
+package io.conflictradar.ingestion.api.service.dedup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over a sliding time window.
+ * <p>
+ * The window (the dedup TTL) is split into {@code partitions} slices. Links
+ * are added to the slice of the current time and looked up in every slice that
+ * is still inside the window; one extra slice is kept so a link stays visible
+ * for at least the full TTL. When time moves into a new slice its slot in the
+ * ring is cleared and reused.
+ * <p>
+ * Bits are set with CAS, there are no locks. A clear racing with an add can
+ * drop bits of that add: the filter may then forget a link (one more Redis
+ * lookup), but never reports a link it was not given.
+ */
+class TimePartitionedBloomFilter {
+
+    private final int partitions;
+    private final int slices;
+    private final long sliceMillis;
+    private final long bitsPerSlice;
+    private final int wordsPerSlice;
+    private final int hashes;
+
+    private final AtomicLongArray bits;
+    private final AtomicLongArray sliceEpochs;
+
+    /**
+     * @param expectedLinks     links added over one full window
+     * @param falsePositiveRate target false positive rate of a lookup over the whole window
+     */
+    TimePartitionedBloomFilter(long expectedLinks, double falsePositiveRate, int partitions, long windowMillis) {
+        this.partitions = partitions;
+        this.slices = partitions + 1;
+        this.sliceMillis = Math.max(1, windowMillis / partitions);
+
+        // A lookup checks up to `slices` slices, so each one gets a share of the budget
+        double sliceRate = falsePositiveRate / slices;
+        long perSlice = Math.max(1, expectedLinks / partitions);
+        long bitCount = (long) Math.ceil(-perSlice * Math.log(sliceRate) / (Math.log(2) * Math.log(2)));
+
+        this.wordsPerSlice = (int) Math.min(Integer.MAX_VALUE / slices, (bitCount + 63) / 64);
+        this.bitsPerSlice = wordsPerSlice * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bitsPerSlice / perSlice * Math.log(2)));
+
+        this.bits = new AtomicLongArray(wordsPerSlice * slices);
+        this.sliceEpochs = new AtomicLongArray(slices);
+        for (int i = 0; i < slices; i++) {
+            sliceEpochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    void add(long h1, long h2, long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+        int slice = (int) Math.floorMod(epoch, (long) slices);
+        rotate(slice, epoch);
+
+        int base = slice * wordsPerSlice;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerSlice);
+            int word = base + (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(long h1, long h2, long nowMillis) {
+        long epoch = nowMillis / sliceMillis;
+
+        for (int slice = 0; slice < slices; slice++) {
+            long sliceEpoch = sliceEpochs.get(slice);
+            if (sliceEpoch > epoch || sliceEpoch < epoch - partitions) continue;
+            if (sliceContains(slice, h1, h2)) return true;
+        }
+        return false;
+    }
+
+    long sizeInBytes() {
+        return bits.length() * 8L;
+    }
+
+    int hashCount() {
+        return hashes;
+    }
+
+    private boolean sliceContains(int slice, long h1, long h2) {
+        int base = slice * wordsPerSlice;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitsPerSlice);
+            if ((bits.get(base + (int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void rotate(int slice, long epoch) {
+        long current = sliceEpochs.get(slice);
+        if (current < epoch && sliceEpochs.compareAndSet(slice, current, epoch)) {
+            int base = slice * wordsPerSlice;
+            for (int word = base; word < base + wordsPerSlice; word++) {
+                bits.set(word, 0L);
+            }
+        }
+    }
+}
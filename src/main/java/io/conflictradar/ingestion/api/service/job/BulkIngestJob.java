@@ -0,0 +1,131 @@
+package io.conflictradar.ingestion.api.service.job;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress and results of one bulk ingest job. Feeds are updated by the
+ * worker fetching them; articles are appended in the order feeds finish, so
+ * pages that are already full never change.
+ */
+public class BulkIngestJob {
+
+    public enum State { RUNNING, COMPLETED }
+
+    public enum FeedState { PENDING, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final Instant submittedAt;
+    private final List<Feed> feeds;
+
+    // Guarded by this
+    private final List<RssArticle> articles = new ArrayList<>();
+    private int unfinished;
+    private Instant finishedAt;
+
+    BulkIngestJob(String id, Instant submittedAt, List<Feed> feeds) {
+        this.id = id;
+        this.submittedAt = submittedAt;
+        this.feeds = List.copyOf(feeds);
+        this.unfinished = feeds.size();
+    }
+
+    public String id() {
+        return id;
+    }
+
+    List<Feed> feeds() {
+        return feeds;
+    }
+
+    synchronized void started(Feed feed) {
+        feed.state = FeedState.RUNNING;
+    }
+
+    synchronized void finished(Feed feed, int totalArticles, List<RssArticle> newArticles,
+                               ErrorCategory error, Instant now) {
+        feed.state = error == null ? FeedState.DONE : FeedState.FAILED;
+        feed.articles = totalArticles;
+        feed.newArticles = newArticles.size();
+        feed.error = error;
+        articles.addAll(newArticles);
+
+        if (--unfinished == 0) {
+            finishedAt = now;
+        }
+    }
+
+    synchronized boolean isExpired(Instant cutoff) {
+        return finishedAt != null && finishedAt.isBefore(cutoff);
+    }
+
+    public synchronized Status status() {
+        int pending = 0, running = 0, done = 0, failed = 0;
+        long totalArticles = 0;
+        List<FeedStatus> progress = new ArrayList<>(feeds.size());
+
+        for (Feed feed : feeds) {
+            switch (feed.state) {
+                case PENDING -> pending++;
+                case RUNNING -> running++;
+                case DONE -> done++;
+                case FAILED -> failed++;
+            }
+            totalArticles += feed.articles;
+            progress.add(new FeedStatus(feed.url, feed.state, feed.articles, feed.newArticles, feed.error));
+        }
+
+        return new Status(id, finishedAt == null ? State.RUNNING : State.COMPLETED, submittedAt, finishedAt,
+                feeds.size(), pending, running, done, failed, totalArticles, articles.size(), progress);
+    }
+
+    /** Page {@code page} (0 based) of the new articles ingested so far. */
+    public synchronized Page articles(int page, int size) {
+        int from = (int) Math.min((long) page * size, articles.size());
+        int to = Math.min(from + size, articles.size());
+        int totalPages = (articles.size() + size - 1) / size;
+        return new Page(page, size, articles.size(), totalPages, List.copyOf(articles.subList(from, to)));
+    }
+
+    public record Status(
+            String jobId,
+            State state,
+            Instant submittedAt,
+            Instant finishedAt,
+            int feeds,
+            int pending,
+            int running,
+            int done,
+            int failed,
+            long totalArticles,
+            long newArticles,
+            List<FeedStatus> progress
+    ) {}
+
+    /**
+     * @param error why the feed could not be read, {@code null} if it was
+     */
+    public record FeedStatus(String url, FeedState state, int articles, int newArticles, ErrorCategory error) {}
+
+    public record Page(int page, int size, int totalElements, int totalPages, List<RssArticle> articles) {}
+
+    static final class Feed {
+        final String url;
+        final double weight;
+
+        // Guarded by the job
+        FeedState state = FeedState.PENDING;
+        int articles;
+        int newArticles;
+        ErrorCategory error;
+
+        Feed(String url, double weight) {
+            this.url = url;
+            this.weight = weight;
+        }
+    }
+}
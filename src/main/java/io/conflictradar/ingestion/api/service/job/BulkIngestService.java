@@ -0,0 +1,134 @@
+package io.conflictradar.ingestion.api.service.job;
+
+import io.conflictradar.ingestion.api.dto.BulkIngestRequest;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.ScheduledRssService;
+import io.conflictradar.ingestion.api.service.ScheduledRssService.IngestResult;
+import io.conflictradar.ingestion.api.util.FetchLimiter;
+import io.conflictradar.ingestion.config.BulkIngestConfig;
+import io.conflictradar.ingestion.config.RssConfig;
+import io.conflictradar.ingestion.config.RssSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs bulk ingest jobs: many feed URLs fetched concurrently through the
+ * regular ingestion path (dedup, risk analysis, Kafka), each on a virtual
+ * thread. A shared {@link FetchLimiter} caps fetches across all jobs, overall
+ * and per host. Jobs live in memory until {@code retention} after they finish.
+ */
+@Service
+public class BulkIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkIngestService.class);
+
+    private final ScheduledRssService ingestion;
+    private final BulkIngestConfig config;
+    private final FetchLimiter fetchLimiter;
+    private final Clock clock = Clock.systemUTC();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, BulkIngestJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkIngestService(ScheduledRssService ingestion, RssConfig rssConfig) {
+        this.ingestion = ingestion;
+        this.config = rssConfig.bulk();
+        this.fetchLimiter = new FetchLimiter(config.maxConcurrency(), rssConfig.concurrency().maxPerHost());
+    }
+
+    /**
+     * Starts a job and returns at once. URLs listed twice are fetched once.
+     *
+     * @throws IllegalArgumentException if the request has no URLs, a blank one, too many or a weight
+     *                                  that is not a positive number
+     * @throws IllegalStateException    if {@code maxJobs} jobs are already kept
+     */
+    public BulkIngestJob submit(BulkIngestRequest request) {
+        List<BulkIngestJob.Feed> feeds = feedsOf(request);
+
+        purgeExpired();
+        if (jobs.size() >= config.maxJobs()) {
+            throw new IllegalStateException("Too many bulk jobs, try again later");
+        }
+
+        BulkIngestJob job = new BulkIngestJob(UUID.randomUUID().toString(), clock.instant(), feeds);
+        jobs.put(job.id(), job);
+
+        logger.info("Bulk job {} started for {} feeds", job.id(), feeds.size());
+        for (BulkIngestJob.Feed feed : job.feeds()) {
+            executor.execute(() -> run(job, feed));
+        }
+        return job;
+    }
+
+    public Optional<BulkIngestJob> find(String jobId) {
+        purgeExpired();
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(BulkIngestJob job, BulkIngestJob.Feed feed) {
+        IngestResult result;
+        try {
+            FetchLimiter.Permit permit = fetchLimiter.acquire(feed.url);
+            try {
+                job.started(feed);
+                result = ingestion.ingest(new RssSource(feed.url, FetchLimiter.hostOf(feed.url), feed.weight, true));
+            } finally {
+                permit.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = new IngestResult(0, List.of(), ErrorCategory.UNKNOWN);
+        } catch (RuntimeException e) {
+            logger.error("Bulk job {} failed on {}: {}", job.id(), feed.url, e.getMessage());
+            result = new IngestResult(0, List.of(), ErrorCategory.UNKNOWN);
+        }
+
+        job.finished(feed, result.totalArticles(), result.newArticles(), result.error(), clock.instant());
+    }
+
+    private List<BulkIngestJob.Feed> feedsOf(BulkIngestRequest request) {
+        if (request == null || request.feeds() == null || request.feeds().isEmpty()) {
+            throw new IllegalArgumentException("No feeds given");
+        }
+
+        Map<String, BulkIngestJob.Feed> feeds = new LinkedHashMap<>();
+        for (BulkIngestRequest.Feed feed : request.feeds()) {
+            if (feed == null || feed.url() == null || feed.url().isBlank()) {
+                throw new IllegalArgumentException("Feed URL must not be blank");
+            }
+            if (feed.weight() != null && !(Double.isFinite(feed.weight()) && feed.weight() > 0)) {
+                throw new IllegalArgumentException("Feed weight must be a positive number: " + feed.url());
+            }
+            String url = feed.url().trim();
+            feeds.putIfAbsent(url, new BulkIngestJob.Feed(url, feed.weight() != null ? feed.weight() : 1.0));
+        }
+
+        if (feeds.size() > config.maxUrls()) {
+            throw new IllegalArgumentException("At most " + config.maxUrls() + " feeds per job");
+        }
+        return new ArrayList<>(feeds.values());
+    }
+
+    private void purgeExpired() {
+        var cutoff = clock.instant().minus(config.retention());
+        jobs.values().removeIf(job -> job.isExpired(cutoff));
+    }
+}
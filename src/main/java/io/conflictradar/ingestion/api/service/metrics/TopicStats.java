@@ -0,0 +1,143 @@
+package io.conflictradar.ingestion.api.service.metrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Send / ack counters of one topic, updated from the send future callbacks.
+ * <p>
+ * Lifetime totals are {@link LongAdder}s. For the time-windowed view the last
+ * five minutes are kept in a ring of 10 second slots, each with its own counts
+ * and latency histogram; a slot is reset when time wraps around to it. A record
+ * racing with that reset can be lost, which is fine for monitoring numbers.
+ */
+public class TopicStats {
+
+    private static final long SLOT_MILLIS = 10_000;
+    private static final int SLOTS = 31; // 5 minutes plus the slot being filled
+
+    private final LongAdder attempted = new LongAdder();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder latencyMicros = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final Slot[] slots = new Slot[SLOTS];
+    private final Clock clock;
+
+    public TopicStats() {
+        this(Clock.systemUTC());
+    }
+
+    public TopicStats(Clock clock) {
+        this.clock = clock;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /** @return the send start time to pass to {@link #acked} / {@link #failed} */
+    public long sent() {
+        attempted.increment();
+        currentSlot().counts.incrementAndGet(Slot.ATTEMPTED);
+        return System.nanoTime();
+    }
+
+    public void acked(long sentAtNanos) {
+        acked.increment();
+        long micros = (System.nanoTime() - sentAtNanos) / 1_000;
+        latencyMicros.add(micros);
+        latency.record(micros);
+
+        Slot slot = currentSlot();
+        slot.counts.incrementAndGet(Slot.ACKED);
+        slot.latency.record(micros);
+    }
+
+    public void failed(long sentAtNanos) {
+        failed.increment();
+        latencyMicros.add((System.nanoTime() - sentAtNanos) / 1_000);
+        currentSlot().counts.incrementAndGet(Slot.FAILED);
+    }
+
+    public Snapshot total() {
+        long[] buckets = new long[LatencyHistogram.bucketCount()];
+        latency.addTo(buckets);
+
+        long attempts = attempted.sum();
+        long acks = acked.sum();
+        long failures = failed.sum();
+        return Snapshot.of(attempts, acks, failures, latencyMicros.sum() / 1_000.0, buckets);
+    }
+
+    /** Counts and latencies of sends completed within the last {@code window} (at most 5 minutes). */
+    public Snapshot window(Duration window) {
+        long nowEpoch = clock.millis() / SLOT_MILLIS;
+        long oldestEpoch = nowEpoch - Math.min(SLOTS - 1, Math.max(1, window.toMillis() / SLOT_MILLIS)) + 1;
+
+        long attempts = 0;
+        long acks = 0;
+        long failures = 0;
+        long[] buckets = new long[LatencyHistogram.bucketCount()];
+
+        for (Slot slot : slots) {
+            long epoch = slot.epoch.get();
+            if (epoch < oldestEpoch || epoch > nowEpoch) continue;
+
+            attempts += slot.counts.get(Slot.ATTEMPTED);
+            acks += slot.counts.get(Slot.ACKED);
+            failures += slot.counts.get(Slot.FAILED);
+            slot.latency.addTo(buckets);
+        }
+        return Snapshot.of(attempts, acks, failures, 0, buckets);
+    }
+
+    private Slot currentSlot() {
+        long epoch = clock.millis() / SLOT_MILLIS;
+        Slot slot = slots[(int) (epoch % SLOTS)];
+
+        long current = slot.epoch.get();
+        if (current < epoch && slot.epoch.compareAndSet(current, epoch)) {
+            slot.counts.set(Slot.ATTEMPTED, 0);
+            slot.counts.set(Slot.ACKED, 0);
+            slot.counts.set(Slot.FAILED, 0);
+            slot.latency.reset();
+        }
+        return slot;
+    }
+
+    /**
+     * Counts and send-to-ack latency percentiles (acked sends only). In a window,
+     * {@code inFlight} is sends started in the window that have not completed in it.
+     */
+    public record Snapshot(
+            long attempted,
+            long acked,
+            long failed,
+            long inFlight,
+            double totalLatencyMs,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms
+    ) {
+        static Snapshot of(long attempted, long acked, long failed, double totalLatencyMs, long[] buckets) {
+            return new Snapshot(attempted, acked, failed, Math.max(0, attempted - acked - failed), totalLatencyMs,
+                    LatencyHistogram.valueAt(buckets, 0.50) / 1_000.0,
+                    LatencyHistogram.valueAt(buckets, 0.99) / 1_000.0,
+                    LatencyHistogram.valueAt(buckets, 0.999) / 1_000.0);
+        }
+    }
+
+    private static final class Slot {
+        static final int ATTEMPTED = 0;
+        static final int ACKED = 1;
+        static final int FAILED = 2;
+
+        final AtomicLong epoch = new AtomicLong(Long.MIN_VALUE);
+        final AtomicLongArray counts = new AtomicLongArray(3);
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,50 @@
+package io.conflictradar.ingestion.api.service.parser;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds an {@link RssArticle} from raw entry fields, shared by all parser engines
+ * so they clean and validate entries the same way.
+ */
+final class ArticleFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleFactory.class);
+
+    private ArticleFactory() {
+    }
+
+    /**
+     * @param normalizer cleans title, description and author; reused for all entries of a feed
+     * @return the article, or {@code null} if the entry has no title or link
+     */
+    static RssArticle create(TextNormalizer normalizer, String rawTitle, String rawDescription, String rawLink,
+                             String rawAuthor, LocalDateTime publishedAt) {
+        var description = rawDescription != null ? normalizer.clean(rawDescription) : "";
+        var title = rawTitle != null ? normalizer.clean(rawTitle) : "Untitled";
+        var link = rawLink != null ? rawLink.trim() : "";
+        var author = rawAuthor != null ? normalizer.clean(rawAuthor) : "Unknown";
+
+        if (title.isBlank() || link.isBlank()) {
+            logger.debug("Skipping article with missing title or link: title='{}', link='{}'", title, link);
+            return null;
+        }
+
+        return new RssArticle(
+                UUID.randomUUID().toString(),
+                title,
+                description,
+                link,
+                author,
+                publishedAt != null ? publishedAt : LocalDateTime.now(),
+                Set.of(), // Keywords added during analysis
+                0.0       // Risk score calculated during analysis
+        );
+    }
+}
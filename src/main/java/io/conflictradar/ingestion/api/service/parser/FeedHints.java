@@ -0,0 +1,27 @@
+package io.conflictradar.ingestion.api.service.parser;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Polling hints a feed gives about itself.
+ *
+ * @param ttl       RSS {@code <ttl>}: how long the channel may be cached, or {@code null}
+ * @param skipHours RSS {@code <skipHours>}: hours of the day (0-23, GMT) not worth polling
+ * @param maxAge    HTTP {@code Cache-Control: max-age} of the last response, or {@code null}
+ */
+public record FeedHints(
+        Duration ttl,
+        Set<Integer> skipHours,
+        Duration maxAge
+) {
+    public static final FeedHints NONE = new FeedHints(null, Set.of(), null);
+
+    public FeedHints {
+        skipHours = skipHours != null ? Set.copyOf(skipHours) : Set.of();
+    }
+
+    public FeedHints withMaxAge(Duration maxAge) {
+        return new FeedHints(ttl, skipHours, maxAge);
+    }
+}
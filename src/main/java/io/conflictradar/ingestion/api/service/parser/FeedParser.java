@@ -0,0 +1,39 @@
+package io.conflictradar.ingestion.api.service.parser;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.service.RssParsingService.RssParsingException;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Turns a decoded feed body into articles, emitting each one as soon as it is read.
+ */
+public interface FeedParser {
+
+    /**
+     * @return channel level polling hints found in the document, {@link FeedHints#NONE} if none
+     */
+    FeedHints parse(InputStream in, Consumer<RssArticle> sink) throws RssParsingException;
+
+    default List<RssArticle> parse(InputStream in) throws RssParsingException {
+        List<RssArticle> articles = new ArrayList<>();
+        parse(in, articles::add);
+        return articles;
+    }
+
+    /**
+     * @param engine {@code stax} (streaming, Rome fallback for unknown formats) or {@code rome}
+     */
+    static FeedParser forEngine(String engine) {
+        RomeFeedParser rome = new RomeFeedParser();
+
+        return switch (engine == null ? "stax" : engine.toLowerCase()) {
+            case "rome" -> rome;
+            case "stax" -> new StaxFeedParser(rome);
+            default -> throw new IllegalArgumentException("Unknown feed parser engine: " + engine);
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package io.conflictradar.ingestion.api.service.parser;
+
+import com.rometools.rome.feed.rss.Channel;
+import com.rometools.rome.feed.synd.SyndEntry;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.RssParsingService.RssParsingException;
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.function.Consumer;
+
+/**
+ * Rome based parser. Builds a full document tree, but understands every
+ * RSS/Atom dialect Rome does (RSS 0.9x/1.0 RDF, odd namespaces, ...).
+ */
+public class RomeFeedParser implements FeedParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(RomeFeedParser.class);
+
+    @Override
+    public FeedHints parse(InputStream in, Consumer<RssArticle> sink) throws RssParsingException {
+        try {
+            var input = new SyndFeedInput();
+            input.setPreserveWireFeed(true);
+            var feed = input.build(new XmlReader(in));
+
+            if (feed == null) {
+                throw new RssParsingException("RSS feed is null", ErrorCategory.PARSE_ERROR);
+            }
+
+            FeedHints hints = feed.originalWireFeed() instanceof Channel channel ? hintsOf(channel) : FeedHints.NONE;
+
+            if (feed.getEntries() == null) {
+                return hints;
+            }
+
+            TextNormalizer normalizer = new TextNormalizer();
+            for (SyndEntry entry : feed.getEntries()) {
+                RssArticle article = convertToArticle(entry, normalizer);
+                if (article != null) {
+                    sink.accept(article);
+                }
+            }
+            return hints;
+
+        } catch (FeedException | IllegalArgumentException e) {
+            throw new RssParsingException("RSS parsing error: " + e.getMessage(), e, ErrorCategory.PARSE_ERROR);
+        } catch (IOException e) {
+            throw new RssParsingException("I/O error reading RSS: " + e.getMessage(), e, ErrorCategory.IO_ERROR);
+        }
+    }
+
+    private static FeedHints hintsOf(Channel channel) {
+        Duration ttl = channel.getTtl() > 0 ? Duration.ofMinutes(channel.getTtl()) : null;
+        var skipHours = channel.getSkipHours() != null ? new HashSet<>(channel.getSkipHours()) : null;
+        return new FeedHints(ttl, skipHours, null);
+    }
+
+    private RssArticle convertToArticle(SyndEntry entry, TextNormalizer normalizer) {
+        try {
+            if (entry == null) {
+                return null;
+            }
+
+            LocalDateTime publishedAt = entry.getPublishedDate() != null
+                    ? entry.getPublishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
+                    : null;
+
+            String description = entry.getDescription() != null ? entry.getDescription().getValue() : null;
+
+            return ArticleFactory.create(normalizer, entry.getTitle(), description, entry.getLink(), entry.getAuthor(), publishedAt);
+
+        } catch (Exception e) {
+            logger.warn("Failed to convert RSS entry to article: {}", e.getMessage());
+            return null;
+        }
+    }
+}
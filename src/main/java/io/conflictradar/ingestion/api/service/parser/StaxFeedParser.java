@@ -0,0 +1,359 @@
+package io.conflictradar.ingestion.api.service.parser;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.RssParsingService.RssParsingException;
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Streaming RSS 2.0 / Atom parser.
+ * <p>
+ * Entries are pulled straight off the input stream and emitted one at a time,
+ * so only the entry being read is held in memory. Documents whose root element
+ * is neither {@code <rss>} nor Atom {@code <feed>} are handed to the fallback parser.
+ */
+public class StaxFeedParser implements FeedParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaxFeedParser.class);
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String DC_NS = "http://purl.org/dc/elements/1.1/";
+    private static final int SNIFF_BYTES = 4096;
+    // <rss> <channel> <ttl>
+    private static final int CHANNEL_CHILD_DEPTH = 3;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private static final List<DateTimeFormatter> RFC_822_FORMATS = List.of(
+            DateTimeFormatter.RFC_1123_DATE_TIME,
+            DateTimeFormatter.ofPattern("EEE, d MMM yyyy HH:mm:ss zzz", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("EEE, d MMM yyyy HH:mm zzz", Locale.ENGLISH),
+            DateTimeFormatter.ofPattern("d MMM yyyy HH:mm:ss zzz", Locale.ENGLISH)
+    );
+
+    private final FeedParser fallback;
+
+    public StaxFeedParser(FeedParser fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public FeedHints parse(InputStream in, Consumer<RssArticle> sink) throws RssParsingException {
+        try {
+            byte[] head = in.readNBytes(SNIFF_BYTES);
+            InputStream document = new SequenceInputStream(new ByteArrayInputStream(head), in);
+
+            FeedFormat format = sniffFormat(head);
+            if (format == FeedFormat.UNKNOWN) {
+                logger.debug("Feed is not plain RSS 2.0 / Atom, using fallback parser");
+                return fallback.parse(document, sink);
+            }
+
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(document);
+            try {
+                return readEntries(reader, format, sink);
+            } finally {
+                reader.close();
+            }
+
+        } catch (XMLStreamException e) {
+            throw new RssParsingException("RSS parsing error: " + e.getMessage(), e, ErrorCategory.PARSE_ERROR);
+        } catch (IOException e) {
+            throw new RssParsingException("I/O error reading RSS: " + e.getMessage(), e, ErrorCategory.IO_ERROR);
+        }
+    }
+
+    private FeedFormat sniffFormat(byte[] head) {
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(head));
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        String root = reader.getLocalName();
+                        if ("rss".equals(root)) return FeedFormat.RSS;
+                        if ("feed".equals(root) && ATOM_NS.equals(reader.getNamespaceURI())) return FeedFormat.ATOM;
+                        return FeedFormat.UNKNOWN;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            // Root element not within the first bytes (or not XML at all)
+        }
+        return FeedFormat.UNKNOWN;
+    }
+
+    private FeedHints readEntries(XMLStreamReader reader, FeedFormat format, Consumer<RssArticle> sink)
+            throws XMLStreamException {
+
+        String entryElement = format == FeedFormat.RSS ? "item" : "entry";
+        TextNormalizer normalizer = new TextNormalizer();
+        EntryFields entry = null;
+        int depth = 0;
+        int entryDepth = -1;
+        Duration ttl = null;
+        Set<Integer> skipHours = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                String name = reader.getLocalName();
+
+                if (entry == null) {
+                    if (entryElement.equals(name)) {
+                        entry = new EntryFields();
+                        entryDepth = depth;
+                    } else if (format == FeedFormat.RSS && depth == CHANNEL_CHILD_DEPTH && "ttl".equals(name)) {
+                        ttl = parseTtl(readText(reader));
+                        depth--;
+                    } else if (format == FeedFormat.RSS && depth == CHANNEL_CHILD_DEPTH && "skipHours".equals(name)) {
+                        skipHours = readSkipHours(reader);
+                        depth--;
+                    }
+                } else if (depth == entryDepth + 1) {
+                    String ns = reader.getNamespaceURI();
+                    if (format == FeedFormat.ATOM && !ATOM_NS.equals(ns)) {
+                        skipElement(reader);
+                    } else if (format == FeedFormat.RSS && ns != null && !ns.isEmpty() && !DC_NS.equals(ns)) {
+                        // media:title, atom:link, ... must not override the plain RSS fields
+                        skipElement(reader);
+                    } else if (format == FeedFormat.RSS) {
+                        readRssField(reader, name, entry);
+                    } else {
+                        readAtomField(reader, name, entry);
+                    }
+                    // field readers consume the element including its end tag
+                    depth--;
+                }
+
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (entry != null && depth == entryDepth) {
+                    RssArticle article = entry.toArticle(normalizer);
+                    if (article != null) {
+                        sink.accept(article);
+                    }
+                    entry = null;
+                }
+                depth--;
+            }
+        }
+        return ttl == null && skipHours == null ? FeedHints.NONE : new FeedHints(ttl, skipHours, null);
+    }
+
+    private static Duration parseTtl(String minutes) {
+        try {
+            int ttl = Integer.parseInt(minutes.trim());
+            return ttl > 0 ? Duration.ofMinutes(ttl) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** {@code <hour>} values of a {@code <skipHours>} element; leaves the reader on its end tag. */
+    private static Set<Integer> readSkipHours(XMLStreamReader reader) throws XMLStreamException {
+        Set<Integer> hours = new HashSet<>();
+        int depth = 1;
+
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth == 1 && "hour".equals(reader.getLocalName())) {
+                    try {
+                        int hour = Integer.parseInt(readText(reader).trim());
+                        if (hour >= 0 && hour < 24) hours.add(hour);
+                    } catch (NumberFormatException ignored) {
+                        // not an hour, skip it
+                    }
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return hours;
+    }
+
+    private void readRssField(XMLStreamReader reader, String name, EntryFields entry) throws XMLStreamException {
+        switch (name) {
+            case "title" -> entry.title = readText(reader);
+            case "link" -> entry.link = readText(reader);
+            case "description" -> entry.description = readText(reader);
+            case "author", "creator" -> {
+                String author = readText(reader);
+                if (entry.author == null) entry.author = author;
+            }
+            case "pubDate" -> entry.publishedAt = parseRfc822(readText(reader));
+            case "date" -> {
+                LocalDateTime date = parseIso(readText(reader));
+                if (entry.publishedAt == null) entry.publishedAt = date;
+            }
+            case "guid" -> {
+                boolean permaLink = !"false".equalsIgnoreCase(reader.getAttributeValue(null, "isPermaLink"));
+                String guid = readText(reader);
+                if (permaLink) entry.guid = guid;
+            }
+            default -> skipElement(reader);
+        }
+    }
+
+    private void readAtomField(XMLStreamReader reader, String name, EntryFields entry) throws XMLStreamException {
+        switch (name) {
+            case "title" -> entry.title = readText(reader);
+            case "link" -> {
+                String rel = reader.getAttributeValue(null, "rel");
+                String href = reader.getAttributeValue(null, "href");
+                if ((rel == null || "alternate".equals(rel)) && entry.link == null) entry.link = href;
+                skipElement(reader);
+            }
+            case "summary" -> entry.description = readText(reader);
+            case "content" -> {
+                String content = readText(reader);
+                if (entry.description == null) entry.description = content;
+            }
+            case "author" -> {
+                String author = readAtomAuthor(reader);
+                if (entry.author == null) entry.author = author;
+            }
+            case "published" -> entry.publishedAt = parseIso(readText(reader));
+            case "updated" -> {
+                LocalDateTime updated = parseIso(readText(reader));
+                if (entry.publishedAt == null) entry.publishedAt = updated;
+            }
+            default -> skipElement(reader);
+        }
+    }
+
+    /**
+     * Concatenated text of the current element and its descendants. Leaves the
+     * reader on the element's end tag.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = null;
+        String single = null;
+        int depth = 1;
+
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (single == null) {
+                        single = reader.getText();
+                    } else {
+                        if (text == null) text = new StringBuilder(single);
+                        text.append(reader.getText());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (text != null) return text.toString();
+        return single != null ? single : "";
+    }
+
+    private static String readAtomAuthor(XMLStreamReader reader) throws XMLStreamException {
+        String name = null;
+        int depth = 1;
+
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth == 1 && "name".equals(reader.getLocalName())) {
+                    name = readText(reader);
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return name;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) depth++;
+            else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+        }
+    }
+
+    private static LocalDateTime parseRfc822(String value) {
+        String trimmed = value.trim();
+        for (DateTimeFormatter format : RFC_822_FORMATS) {
+            try {
+                return ZonedDateTime.parse(trimmed, format)
+                        .withZoneSameInstant(ZoneId.systemDefault())
+                        .toLocalDateTime();
+            } catch (DateTimeParseException ignored) {
+                // try the next layout
+            }
+        }
+        return parseIso(trimmed);
+    }
+
+    private static LocalDateTime parseIso(String value) {
+        try {
+            return OffsetDateTime.parse(value.trim())
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        // Feeds are untrusted input: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private enum FeedFormat { RSS, ATOM, UNKNOWN }
+
+    private static final class EntryFields {
+        String title;
+        String link;
+        String guid;
+        String description;
+        String author;
+        LocalDateTime publishedAt;
+
+        RssArticle toArticle(TextNormalizer normalizer) {
+            return ArticleFactory.create(normalizer, title, description, link != null ? link : guid, author, publishedAt);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.conflictradar.ingestion.api.service.pipeline;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import io.conflictradar.ingestion.config.PipelineConfig;
+import io.conflictradar.ingestion.config.RssSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * Analyze and publish stages for the new articles of fetched sources.
+ * <p>
+ * Fetching stays on the caller's (virtual) thread; {@link #process} hands the
+ * articles to the analysis stage, a CPU pool scoring and clustering them, which
+ * hands them on to the publish stage sending the events. Both queues are
+ * bounded: when Kafka slows down the publish queue fills, analysis blocks, its
+ * queue fills and the fetching thread blocks in {@code process}, still holding
+ * its fetch permit, so no new fetches start.
+ */
+public class IngestPipeline {
+
+    /** Scores one article; called on an analysis thread with that thread's normalizer. */
+    @FunctionalInterface
+    public interface Analyzer {
+        Analyzed analyze(RssSource source, RssArticle article, TextNormalizer normalizer);
+    }
+
+    /**
+     * @param alert also publish a high-risk alert for the article
+     */
+    public record Analyzed(RssArticle article, boolean alert) {}
+
+    private final Stage<Work> analyze;
+    private final Stage<Publication> publish;
+    private final Duration drainTimeout;
+    private final ThreadLocal<TextNormalizer> normalizers = ThreadLocal.withInitial(TextNormalizer::new);
+
+    public IngestPipeline(PipelineConfig config, Analyzer analyzer, Consumer<Analyzed> publisher, Clock clock) {
+        this.drainTimeout = config.drainTimeout();
+        this.publish = new Stage<>("publish", config.publishWorkers(), config.publishQueue(),
+                publication -> {
+                    publisher.accept(publication.analyzed());
+                    publication.batch().published.accept(publication.analyzed().article());
+                    publication.batch().done();
+                },
+                publication -> publication.batch().done(), clock);
+
+        this.analyze = new Stage<>("analyze", config.analyzeWorkers(), config.analyzeQueue(),
+                work -> {
+                    Analyzed analyzed = analyzer.analyze(work.source(), work.article(), normalizers.get());
+                    publish.submit(new Publication(analyzed, work.batch()));
+                },
+                work -> work.batch().done(), clock);
+    }
+
+    /**
+     * Analyzes and publishes the new articles of one source, waiting while the
+     * analysis queue is full and returning once every article went through
+     * (an article whose analysis failed is skipped).
+     *
+     * @param published called with each article after its events were sent, from a publish thread
+     * @throws java.util.concurrent.RejectedExecutionException after {@link #shutdown}
+     */
+    public void process(RssSource source, List<RssArticle> articles, Consumer<RssArticle> published)
+            throws InterruptedException {
+        if (articles.isEmpty()) return;
+
+        Batch batch = new Batch(articles.size(), published);
+        int submitted = 0;
+        try {
+            for (RssArticle article : articles) {
+                analyze.submit(new Work(source, article, batch));
+                submitted++;
+            }
+        } finally {
+            // Never wait for articles that did not make it into the queue
+            for (int i = submitted; i < articles.size(); i++) batch.done();
+        }
+        batch.await();
+    }
+
+    public List<Stage.Stats> stats() {
+        return List.of(analyze.stats(), publish.stats());
+    }
+
+    /**
+     * Stops taking articles and publishes those already queued, within the
+     * configured drain timeout for both stages together. Their links are claimed
+     * already, so an article dropped here is never published.
+     */
+    public void shutdown() {
+        long start = System.nanoTime();
+        // Analysis first: its workers hand what they drain on to the publish stage
+        analyze.stop(drainTimeout);
+        Duration left = drainTimeout.minusNanos(System.nanoTime() - start);
+        publish.stop(left.isNegative() ? Duration.ZERO : left);
+    }
+
+    private record Work(RssSource source, RssArticle article, Batch batch) {}
+
+    private record Publication(Analyzed analyzed, Batch batch) {}
+
+    private static final class Batch {
+        final Consumer<RssArticle> published;
+        private final CountDownLatch remaining;
+
+        Batch(int articles, Consumer<RssArticle> published) {
+            this.remaining = new CountDownLatch(articles);
+            this.published = published;
+        }
+
+        void done() {
+            remaining.countDown();
+        }
+
+        void await() throws InterruptedException {
+            remaining.await();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.conflictradar.ingestion.api.service.pipeline;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Events per second over the last {@value #SECONDS} whole seconds, from a ring
+ * of per-second counters. Slots are reset with CAS when time moves on, without
+ * locks; a mark racing with a reset may be lost, which only skews the rate.
+ */
+public final class RateMeter {
+
+    private static final int SECONDS = 10;
+    private static final int SLOTS = SECONDS + 1;
+
+    private final Clock clock;
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray epochs = new AtomicLongArray(SLOTS);
+    private final LongAdder total = new LongAdder();
+
+    public RateMeter(Clock clock) {
+        this.clock = clock;
+        for (int i = 0; i < SLOTS; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public void mark() {
+        long second = clock.millis() / 1000;
+        int slot = (int) Math.floorMod(second, (long) SLOTS);
+
+        long epoch = epochs.get(slot);
+        if (epoch != second && epochs.compareAndSet(slot, epoch, second)) {
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+        total.increment();
+    }
+
+    /** Average over the last whole seconds; the second in progress is left out. */
+    public double perSecond() {
+        long current = clock.millis() / 1000;
+        long sum = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long epoch = epochs.get(slot);
+            if (epoch < current && epoch >= current - SECONDS) sum += counts.get(slot);
+        }
+        return (double) sum / SECONDS;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+}
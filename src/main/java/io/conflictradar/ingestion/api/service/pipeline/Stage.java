@@ -0,0 +1,167 @@
+package io.conflictradar.ingestion.api.service.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * One pipeline stage: a bounded queue worked off by a fixed number of daemon
+ * threads. {@link #submit} blocks while the queue is full, which is how a slow
+ * stage pushes back on the one feeding it.
+ * <p>
+ * Threads are started on the first submit. Items the stage cannot finish,
+ * because the handler failed or the stage was stopped before it got to them,
+ * go to {@code discard} so whoever waits for them is released.
+ */
+public final class Stage<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(Stage.class);
+
+    private static final long OFFER_POLL_MILLIS = 100;
+
+    @FunctionalInterface
+    public interface Handler<T> {
+        void handle(T item) throws InterruptedException;
+    }
+
+    private final String name;
+    private final int workers;
+    private final BlockingQueue<T> queue;
+    private final Handler<T> handler;
+    private final Consumer<T> discard;
+    private final RateMeter rate;
+    private final LongAdder blockedSubmits = new LongAdder();
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean stopped;
+
+    Stage(String name, int workers, int capacity, Handler<T> handler, Consumer<T> discard, Clock clock) {
+        this.name = name;
+        this.workers = workers;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+        this.discard = discard;
+        this.rate = new RateMeter(clock);
+    }
+
+    /**
+     * Queues an item, waiting while the queue is full.
+     *
+     * @throws RejectedExecutionException if the stage is stopped
+     */
+    void submit(T item) throws InterruptedException {
+        ensureStarted();
+        if (!queue.offer(item)) {
+            blockedSubmits.increment();
+            while (!queue.offer(item, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (stopped) throw new RejectedExecutionException("Stage " + name + " is stopped");
+            }
+        }
+        // Stopped meanwhile: the workers may be gone already, take the item back unless one has it
+        if (stopped && queue.remove(item)) {
+            throw new RejectedExecutionException("Stage " + name + " is stopped");
+        }
+    }
+
+    /**
+     * Stops accepting items and lets the workers finish what is queued for up to
+     * {@code timeout}, then interrupts them and discards whatever is left.
+     */
+    void stop(Duration timeout) {
+        List<Thread> workers;
+        synchronized (this) {
+            stopped = true;
+            workers = List.copyOf(threads);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (Thread worker : workers) {
+                long left = deadline - System.nanoTime();
+                if (left > 0) worker.join(Duration.ofNanos(left));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.forEach(Thread::interrupt);
+
+        List<T> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(discard);
+        if (!pending.isEmpty()) {
+            logger.warn("Stage {} stopped with {} items not processed within {}", name, pending.size(), timeout);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(name, workers, queue.size(), queue.size() + queue.remainingCapacity(),
+                rate.total(), rate.perSecond(), blockedSubmits.sum());
+    }
+
+    private synchronized void ensureStarted() {
+        if (stopped) throw new RejectedExecutionException("Stage " + name + " is stopped");
+        if (!threads.isEmpty()) return;
+
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::work, "ingest-" + name + "-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /** Works the queue until the stage is stopped and the queue is empty. */
+    private void work() {
+        while (true) {
+            T item;
+            try {
+                item = queue.poll(OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (item == null) {
+                if (stopped) return;
+                continue;
+            }
+
+            try {
+                handler.handle(item);
+                rate.mark();
+            } catch (InterruptedException e) {
+                discard.accept(item);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Stage {} failed on an item: {}", name, e.getMessage(), e);
+                discard.accept(item);
+            }
+        }
+    }
+
+    /**
+     * @param workers        threads working the stage; for the fetch stage, fetches in flight
+     * @param queued         items waiting for a worker
+     * @param queueCapacity  queued items at which submitters block, 0 when unbounded
+     * @param processed      items handled since start
+     * @param perSecond      items handled per second, averaged over the last 10 seconds
+     * @param blockedSubmits submits that found the queue full and had to wait
+     */
+    public record Stats(
+            String name,
+            int workers,
+            int queued,
+            int queueCapacity,
+            long processed,
+            double perSecond,
+            long blockedSubmits
+    ) {}
+}
@@ -0,0 +1,112 @@
+package io.conflictradar.ingestion.api.service.schedule;
+
+import io.conflictradar.ingestion.api.service.parser.FeedHints;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Polling interval of one source, adapted to how often it publishes.
+ * <p>
+ * The rate of new items is an exponentially weighted average over the polls;
+ * the interval aims at about one new item per poll. A quiet source therefore
+ * backs off geometrically (each empty poll lowers the rate estimate by 30%),
+ * and a busy one is polled as often as its bounds allow. The feed's own hints
+ * ({@code <ttl>}, {@code Cache-Control: max-age}) are a floor, and polls that
+ * would fall into its {@code <skipHours>} move to the next allowed hour. The
+ * result always stays within the source's min / max interval.
+ */
+public class PollSchedule {
+
+    // Weight of the latest poll in the rate estimate
+    private static final double ALPHA = 0.3;
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+
+    private Duration interval;
+    private double itemsPerSecond = -1; // unknown until the second successful poll
+    private Instant lastPoll;
+    private Instant nextPoll;
+
+    public PollSchedule(Duration initialInterval, Duration minInterval, Duration maxInterval) {
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval.compareTo(minInterval) < 0 ? minInterval : maxInterval;
+        this.interval = clamp(initialInterval);
+    }
+
+    public synchronized Instant start(Instant firstPoll) {
+        nextPoll = firstPoll;
+        return nextPoll;
+    }
+
+    /**
+     * Records a successful poll that found {@code newItems} items not seen before.
+     *
+     * @return when to poll next
+     */
+    public synchronized Instant afterPoll(Instant now, int newItems, FeedHints hints) {
+        // The first poll finds the whole backlog as new, it says nothing about the rate
+        if (lastPoll != null) {
+            double seconds = Math.max(1, Duration.between(lastPoll, now).toSeconds());
+            double observed = newItems / seconds;
+            itemsPerSecond = itemsPerSecond < 0 ? observed : ALPHA * observed + (1 - ALPHA) * itemsPerSecond;
+        }
+        lastPoll = now;
+
+        Duration next = interval;
+        if (itemsPerSecond > 0) {
+            next = Duration.ofMillis((long) Math.min(1000 / itemsPerSecond, maxInterval.toMillis()));
+        } else if (itemsPerSecond == 0) {
+            next = interval.multipliedBy(3).dividedBy(2);
+        }
+
+        if (hints != null) {
+            if (hints.ttl() != null && hints.ttl().compareTo(next) > 0) next = hints.ttl();
+            if (hints.maxAge() != null && hints.maxAge().compareTo(next) > 0) next = hints.maxAge();
+        }
+        interval = clamp(next);
+
+        nextPoll = skipHours(now.plus(interval), hints);
+        return nextPoll;
+    }
+
+    /**
+     * Records a failed poll: the interval and rate estimate stay as they are.
+     *
+     * @return when to poll next
+     */
+    public synchronized Instant afterFailure(Instant now) {
+        nextPoll = now.plus(interval);
+        return nextPoll;
+    }
+
+    public synchronized Status status() {
+        return new Status(interval, nextPoll, lastPoll,
+                itemsPerSecond < 0 ? null : itemsPerSecond * 3600);
+    }
+
+    /**
+     * @param itemsPerHour estimated publishing rate, {@code null} until known
+     */
+    public record Status(Duration interval, Instant nextPoll, Instant lastPoll, Double itemsPerHour) {
+    }
+
+    private Duration clamp(Duration value) {
+        if (value.compareTo(minInterval) < 0) return minInterval;
+        if (value.compareTo(maxInterval) > 0) return maxInterval;
+        return value;
+    }
+
+    private static Instant skipHours(Instant poll, FeedHints hints) {
+        if (hints == null || hints.skipHours().isEmpty() || hints.skipHours().size() >= 24) {
+            return poll;
+        }
+        while (hints.skipHours().contains(poll.atZone(ZoneOffset.UTC).getHour())) {
+            poll = poll.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS);
+        }
+        return poll;
+    }
+}
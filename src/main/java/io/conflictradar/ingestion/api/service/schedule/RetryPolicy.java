@@ -0,0 +1,72 @@
+package io.conflictradar.ingestion.api.service.schedule;
+
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When to retry a failed fetch, if at all.
+ * <p>
+ * Only transient failures are retried. Delays use "full jitter": uniform
+ * between zero and {@code min(maxDelay, baseDelay * 2^attempt)}, so sources
+ * that failed together do not retry together. A shared budget caps the number
+ * of retries per window; once it is spent, failed sources simply wait for
+ * their next regular poll, and an outage cannot multiply the outbound load.
+ */
+public class RetryPolicy {
+
+    private final int maxRetries;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final int budget;
+    private final Duration budgetWindow;
+
+    private Instant windowStart;
+    private int spent;
+
+    public RetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, int budget, Duration budgetWindow) {
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.budget = budget;
+        this.budgetWindow = budgetWindow;
+    }
+
+    public static boolean isRetryable(ErrorCategory category) {
+        return switch (category) {
+            case TIMEOUT, NETWORK_ERROR, SERVER_UNAVAILABLE -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Delay before retry number {@code attempt} (1 based) of a fetch that failed
+     * with {@code category}, or {@code null} if it should not be retried, either
+     * because of the error, the attempt count or the exhausted budget.
+     */
+    public Duration retryDelay(ErrorCategory category, int attempt, Instant now) {
+        if (category == null || !isRetryable(category) || attempt > maxRetries || !tryAcquire(now)) {
+            return null;
+        }
+        return backoff(attempt);
+    }
+
+    Duration backoff(int attempt) {
+        long ceiling = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 30));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private synchronized boolean tryAcquire(Instant now) {
+        if (windowStart == null || !now.isBefore(windowStart.plus(budgetWindow))) {
+            windowStart = now;
+            spent = 0;
+        }
+        if (spent >= budget) {
+            return false;
+        }
+        spent++;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package io.conflictradar.ingestion.api.util;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of fetches in flight, both overall and per host.
+ * The host permit is taken first so that a task waiting for a busy host
+ * does not hold a global slot that another host could use. A host's entry
+ * only lives while fetches hold or wait for its permits, so one-off URLs
+ * leave nothing behind.
+ */
+public class FetchLimiter {
+
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final int maxPerHost;
+    private final Map<String, Host> perHost = new ConcurrentHashMap<>();
+
+    public FetchLimiter(int maxInFlight, int maxPerHost) {
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.maxInFlight = maxInFlight;
+        this.maxPerHost = maxPerHost;
+    }
+
+    public <T> T call(String url, Callable<T> task) throws Exception {
+        Permit permit = acquire(url);
+        try {
+            return task.call();
+        } finally {
+            permit.close();
+        }
+    }
+
+    /**
+     * Block until both a host and a global slot are free. Close the returned
+     * permit to give both back.
+     */
+    public Permit acquire(String url) throws InterruptedException {
+        String hostName = hostOf(url);
+        Host host = perHost.compute(hostName, (name, existing) -> {
+            Host entered = existing != null ? existing : new Host(maxPerHost);
+            entered.users++;
+            return entered;
+        });
+
+        try {
+            host.permits.acquire();
+        } catch (InterruptedException e) {
+            leave(hostName);
+            throw e;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            host.permits.release();
+            leave(hostName);
+            throw e;
+        }
+
+        return () -> {
+            inFlight.release();
+            host.permits.release();
+            leave(hostName);
+        };
+    }
+
+
+    /** Fetches holding a permit right now. */
+    public int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /** Approximate number of fetches waiting for a host or a global permit. */
+    public int waiting() {
+        int waiting = inFlight.getQueueLength();
+        for (Host host : perHost.values()) {
+            waiting += host.permits.getQueueLength();
+        }
+        return waiting;
+    }
+
+    public static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase() : url;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return String.valueOf(url);
+        }
+    }
+
+    private void leave(String hostName) {
+        perHost.computeIfPresent(hostName, (name, host) -> --host.users == 0 ? null : host);
+    }
+
+    /** Permits of one host; {@code users} is only changed inside the map's compute. */
+    private static final class Host {
+        final Semaphore permits;
+        int users;
+
+        Host(int maxPerHost) {
+            this.permits = new Semaphore(maxPerHost, true);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,238 @@
+package io.conflictradar.ingestion.api.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton over a fixed keyword list.
+ * <p>
+ * Finds every keyword in a single pass over the text, independent of the
+ * number of keywords. Matching is case-insensitive and respects word
+ * boundaries: a keyword must not be preceded by a letter or digit, and may
+ * only be followed by a non-word character, a plural {@code s} or a
+ * possessive {@code 's} ("attacks", "army's"). So "war" does not match in
+ * "award" and "bomb" does not match in "bombastic".
+ * <p>
+ * The automaton is compiled into a full transition table (no failure-link
+ * walking while scanning) over a compressed alphabet: every character that
+ * occurs in a keyword gets its own column, all other characters share one.
+ * The table holds {@code states x (alphabet + 1)} ints, a few MB for
+ * thousands of keywords.
+ * <p>
+ * Instances are immutable and thread-safe. Scanning allocates nothing.
+ */
+public final class KeywordMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int OTHER = 0;
+
+    private final String[] keywords;
+    private final int[] keywordLengths;
+
+    // Character classes: ASCII by table, the rest by binary search
+    private final int[] asciiClass = new int[128];
+    private final char[] otherChars;
+    private final int[] otherClass;
+    private final int width;
+
+    // delta[state * width + class] -> next state
+    private final int[] delta;
+    // Keyword ending in this state, or NONE
+    private final int[] output;
+    // Nearest state on the failure chain that has an output, or NONE
+    private final int[] dictionaryLink;
+    // This state if it has an output, else its dictionary link: one load per character
+    private final int[] firstHit;
+
+    private KeywordMatcher(String[] keywords, Builder trie) {
+        this.keywords = keywords;
+        this.keywordLengths = Arrays.stream(keywords).mapToInt(String::length).toArray();
+
+        TreeSet<Character> alphabet = new TreeSet<>();
+        for (String keyword : keywords) {
+            for (int i = 0; i < keyword.length(); i++) alphabet.add(keyword.charAt(i));
+        }
+
+        int nonAscii = (int) alphabet.stream().filter(c -> c >= 128).count();
+        this.otherChars = new char[nonAscii];
+        this.otherClass = new int[nonAscii];
+        int cls = 1;
+        int other = 0;
+        for (char c : alphabet) {
+            if (c < 128) {
+                asciiClass[c] = cls++;
+            } else {
+                otherChars[other] = c;
+                otherClass[other++] = cls++;
+            }
+        }
+        this.width = cls;
+
+        int states = trie.children.size();
+        this.delta = new int[states * width];
+        this.output = trie.output.stream().mapToInt(Integer::intValue).toArray();
+        this.dictionaryLink = new int[states];
+        this.firstHit = new int[states];
+
+        build(trie);
+        for (int state = 0; state < states; state++) {
+            firstHit[state] = output[state] != NONE ? state : dictionaryLink[state];
+        }
+    }
+
+    public static KeywordMatcher compile(Collection<String> keywords) {
+        LinkedHashSet<String> normalized = new LinkedHashSet<>();
+        for (String keyword : keywords) {
+            if (keyword == null) continue;
+            String trimmed = keyword.trim().toLowerCase(Locale.ROOT);
+            if (!trimmed.isEmpty()) normalized.add(trimmed);
+        }
+
+        String[] words = normalized.toArray(String[]::new);
+        Builder trie = new Builder();
+        for (int i = 0; i < words.length; i++) {
+            trie.add(words[i], i);
+        }
+        return new KeywordMatcher(words, trie);
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    /** Normalized (trimmed, lowercase) keyword for an index reported by {@link #forEachMatch}. */
+    public String keyword(int index) {
+        return keywords[index];
+    }
+
+    /**
+     * Reports the index of every keyword occurrence in {@code text}. A keyword
+     * occurring several times is reported several times.
+     */
+    public void forEachMatch(CharSequence text, IntConsumer sink) {
+        if (text == null || keywords.length == 0) return;
+
+        int state = ROOT;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            state = delta[state * width + classOf(text.charAt(i))];
+
+            for (int hit = firstHit[state]; hit != NONE; hit = dictionaryLink[hit]) {
+                int keyword = output[hit];
+                int start = i - keywordLengths[keyword] + 1;
+                if (isBoundaryBefore(text, start) && isBoundaryAfter(text, i + 1)) {
+                    sink.accept(keyword);
+                }
+            }
+        }
+    }
+
+    private int classOf(char c) {
+        if (c < 128) {
+            return asciiClass[c >= 'A' && c <= 'Z' ? c | 0x20 : c];
+        }
+        int index = Arrays.binarySearch(otherChars, Character.toLowerCase(c));
+        return index >= 0 ? otherClass[index] : OTHER;
+    }
+
+    private static boolean isBoundaryBefore(CharSequence text, int start) {
+        return start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+    }
+
+    private static boolean isBoundaryAfter(CharSequence text, int end) {
+        if (end >= text.length()) return true;
+
+        char c = text.charAt(end);
+        if (c == 's' || c == 'S') return isWordEnd(text, end + 1);
+        if (isApostrophe(c)) return isWordEnd(text, end + 1) || isPossessive(text, end);
+        return !Character.isLetterOrDigit(c);
+    }
+
+    private static boolean isPossessive(CharSequence text, int apostrophe) {
+        int s = apostrophe + 1;
+        return s < text.length() && (text.charAt(s) == 's' || text.charAt(s) == 'S') && isWordEnd(text, s + 1);
+    }
+
+    private static boolean isWordEnd(CharSequence text, int index) {
+        return index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static boolean isApostrophe(char c) {
+        return c == '\'' || c == '\u2019';
+    }
+
+    private void build(Builder trie) {
+        Arrays.fill(dictionaryLink, NONE);
+        int[] failure = new int[output.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        // Root: missing edges loop back to the root
+        for (Map.Entry<Character, Integer> edge : trie.children.get(ROOT).entrySet()) {
+            int child = edge.getValue();
+            delta[classOf(edge.getKey())] = child;
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+
+        // Breadth first, so the failure state's row is complete before it is copied
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            System.arraycopy(delta, fail * width, delta, state * width, width);
+
+            for (Map.Entry<Character, Integer> edge : trie.children.get(state).entrySet()) {
+                int cls = classOf(edge.getKey());
+                int child = edge.getValue();
+
+                failure[child] = delta[fail * width + cls];
+                delta[state * width + cls] = child;
+
+                int suffix = failure[child];
+                dictionaryLink[child] = output[suffix] != NONE ? suffix : dictionaryLink[suffix];
+
+                queue.add(child);
+            }
+        }
+    }
+
+    private static final class Builder {
+        final List<Map<Character, Integer>> children = new ArrayList<>();
+        final List<Integer> output = new ArrayList<>();
+
+        Builder() {
+            newState();
+        }
+
+        void add(String keyword, int index) {
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            output.set(state, index);
+        }
+
+        private int newState() {
+            children.add(new HashMap<>());
+            output.add(NONE);
+            return children.size() - 1;
+        }
+    }
+}
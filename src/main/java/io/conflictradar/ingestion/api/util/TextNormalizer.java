@@ -0,0 +1,224 @@
+package io.conflictradar.ingestion.api.util;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass cleanup of feed text: strips markup, decodes entities and
+ * collapses whitespace, writing into a buffer that is reused between calls.
+ * <p>
+ * Not thread-safe: use one instance per feed / per worker. Views returned by
+ * {@link #lowercase} are only valid until the next call on the same instance.
+ */
+public final class TextNormalizer {
+
+    // Longest entity we look at: '&', up to 8 name characters, ';'
+    private static final int MAX_ENTITY_LENGTH = 10;
+    private static final char NBSP = '\u00A0';
+
+    private static final String[] ENTITY_NAMES = {
+            "amp", "lt", "gt", "quot", "apos", "nbsp", "ndash", "mdash",
+            "lsquo", "rsquo", "ldquo", "rdquo", "hellip"
+    };
+    private static final int[] ENTITY_CODES = {
+            '&', '<', '>', '"', '\'', NBSP, '\u2013', '\u2014',
+            '\u2018', '\u2019', '\u201C', '\u201D', '\u2026'
+    };
+
+    private char[] buffer;
+    private int length;
+    private final BufferView view = new BufferView();
+
+    public TextNormalizer() {
+        this(512);
+    }
+
+    public TextNormalizer(int initialCapacity) {
+        this.buffer = new char[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Removes {@code <tags>}, decodes character references ({@code &amp;},
+     * {@code &#8217;}, ...; unknown named ones become a space), collapses runs of
+     * whitespace into one space and trims.
+     */
+    public String clean(CharSequence text) {
+        if (text == null) return "";
+
+        length = 0;
+        appendClean(text);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Lowercase view of {@code first + " " + second}, for fields that already went
+     * through {@link #clean}. Valid until the next call on this normalizer.
+     */
+    public CharSequence lowercase(CharSequence first, CharSequence second) {
+        length = 0;
+        appendLowercase(first);
+        if (second != null && !second.isEmpty()) {
+            if (length > 0) append(' ');
+            appendLowercase(second);
+        }
+        view.end = length;
+        return view;
+    }
+
+    private void appendLowercase(CharSequence text) {
+        if (text == null) return;
+
+        int n = text.length();
+        ensureCapacity(length + n);
+        if (text instanceof String string) {
+            string.getChars(0, n, buffer, length);
+        } else {
+            for (int i = 0; i < n; i++) buffer[length + i] = text.charAt(i);
+        }
+
+        for (int i = length, end = length + n; i < end; i++) {
+            char c = buffer[i];
+            if (c >= 'A' && c <= 'Z') {
+                buffer[i] = (char) (c | 0x20);
+            } else if (c >= 128) {
+                buffer[i] = Character.toLowerCase(c);
+            }
+        }
+        length += n;
+    }
+
+    private void appendClean(CharSequence text) {
+        int start = length;
+        boolean pendingSpace = false;
+        int n = text.length();
+
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+
+            if (c == '<') {
+                int close = indexOf(text, '>', i + 1);
+                if (close > i + 1) {
+                    i = close;
+                    pendingSpace = true;
+                    continue;
+                }
+            } else if (c == '&') {
+                int semicolon = entityEnd(text, i);
+                if (semicolon > 0) {
+                    int decoded = decodeEntity(text, i + 1, semicolon);
+                    i = semicolon;
+                    if (decoded < 0 || isSpace(decoded)) {
+                        pendingSpace = true;
+                        continue;
+                    }
+                    if (pendingSpace && length > start) append(' ');
+                    pendingSpace = false;
+                    appendCodePoint(decoded);
+                    continue;
+                }
+            }
+
+            if (isSpace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+
+            if (pendingSpace && length > start) append(' ');
+            pendingSpace = false;
+            append(c);
+        }
+    }
+
+    /** Index of the {@code ;} closing an entity starting at {@code amp}, or -1. */
+    private static int entityEnd(CharSequence text, int amp) {
+        int limit = Math.min(text.length(), amp + MAX_ENTITY_LENGTH);
+        for (int i = amp + 1; i < limit; i++) {
+            char c = text.charAt(i);
+            if (c == ';') return i > amp + 1 ? i : -1;
+            if (!(Character.isLetterOrDigit(c) || c == '#')) return -1;
+        }
+        return -1;
+    }
+
+    /** Code point of the entity between {@code from} and {@code to}, or -1 if unknown. */
+    private static int decodeEntity(CharSequence text, int from, int to) {
+        if (text.charAt(from) == '#') {
+            boolean hex = to - from > 1 && (text.charAt(from + 1) == 'x' || text.charAt(from + 1) == 'X');
+            int value = 0;
+            for (int i = from + (hex ? 2 : 1); i < to; i++) {
+                int digit = Character.digit(text.charAt(i), hex ? 16 : 10);
+                if (digit < 0 || value > 0x10FFFF) return -1;
+                value = value * (hex ? 16 : 10) + digit;
+            }
+            return value > 0 && Character.isValidCodePoint(value) ? value : -1;
+        }
+
+        for (int i = 0; i < ENTITY_NAMES.length; i++) {
+            if (regionEquals(text, from, to, ENTITY_NAMES[i])) return ENTITY_CODES[i];
+        }
+        return -1;
+    }
+
+    private static boolean regionEquals(CharSequence text, int from, int to, String name) {
+        if (to - from != name.length()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (text.charAt(from + i) != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSpace(int c) {
+        return Character.isWhitespace(c) || c == NBSP;
+    }
+
+    private static int indexOf(CharSequence text, char c, int from) {
+        for (int i = from; i < text.length(); i++) {
+            if (text.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+
+    private void append(char c) {
+        if (length == buffer.length) ensureCapacity(length + 1);
+        buffer[length++] = c;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+
+    private void appendCodePoint(int codePoint) {
+        if (Character.isBmpCodePoint(codePoint)) {
+            append((char) codePoint);
+        } else {
+            append(Character.highSurrogate(codePoint));
+            append(Character.lowSurrogate(codePoint));
+        }
+    }
+
+    private final class BufferView implements CharSequence {
+        int end;
+
+        @Override
+        public int length() {
+            return end;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index >= end) throw new IndexOutOfBoundsException(index);
+            return buffer[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int stop) {
+            return new String(buffer, start, stop - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, 0, end);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.conflictradar.ingestion.config;
+
+import java.time.Duration;
+
+/**
+ * Bulk ingest jobs ({@code POST /feeds/bulk}).
+ *
+ * @param maxConcurrency feeds fetched at the same time, across all jobs
+ * @param maxUrls        largest number of URLs one job accepts
+ * @param maxJobs        jobs kept in memory, running or finished; new jobs are refused beyond that
+ * @param retention      how long a finished job and its results stay retrievable
+ */
+public record BulkIngestConfig(
+        int maxConcurrency,
+        int maxUrls,
+        int maxJobs,
+        Duration retention
+) {
+    public BulkIngestConfig {
+        if (maxConcurrency <= 0) maxConcurrency = 8;
+        if (maxUrls <= 0) maxUrls = 1000;
+        if (maxJobs <= 0) maxJobs = 32;
+        if (retention == null) retention = Duration.ofHours(1);
+    }
+
+    public static BulkIngestConfig defaults() {
+        return new BulkIngestConfig(0, 0, 0, null);
+    }
+}
@@ -0,0 +1,36 @@
+package io.conflictradar.ingestion.config;
+
+import java.time.Duration;
+
+/**
+ * Back-off of sources and hosts that keep failing. Every open period is
+ * doubled on each further failure, up to the respective maximum.
+ *
+ * @param failureThreshold    consecutive transient failures (timeouts, 5xx, ...) before a circuit opens
+ * @param transientBackoff    first open period after transient failures
+ * @param maxTransientBackoff longest open period after transient failures or 429 without Retry-After
+ * @param rateLimitBackoff    first open period after a 429 without Retry-After
+ * @param permanentBackoff    first open period after 401 / 403 / 404 or an invalid URL
+ * @param maxPermanentBackoff longest open period; also caps Retry-After
+ */
+public record CircuitBreakerConfig(
+        int failureThreshold,
+        Duration transientBackoff,
+        Duration maxTransientBackoff,
+        Duration rateLimitBackoff,
+        Duration permanentBackoff,
+        Duration maxPermanentBackoff
+) {
+    public CircuitBreakerConfig {
+        if (failureThreshold <= 0) failureThreshold = 3;
+        if (transientBackoff == null) transientBackoff = Duration.ofMinutes(1);
+        if (maxTransientBackoff == null) maxTransientBackoff = Duration.ofMinutes(30);
+        if (rateLimitBackoff == null) rateLimitBackoff = Duration.ofMinutes(5);
+        if (permanentBackoff == null) permanentBackoff = Duration.ofHours(1);
+        if (maxPermanentBackoff == null) maxPermanentBackoff = Duration.ofHours(24);
+    }
+
+    public static CircuitBreakerConfig defaults() {
+        return new CircuitBreakerConfig(0, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,23 @@
+package io.conflictradar.ingestion.config;
+
+/**
+ * Limits for fetching RSS sources in parallel.
+ *
+ * @param enabled     fetch all enabled sources concurrently on virtual threads
+ * @param maxInFlight maximum number of fetches running at the same time
+ * @param maxPerHost  maximum number of fetches running against a single host
+ */
+public record ConcurrencyConfig(
+        boolean enabled,
+        int maxInFlight,
+        int maxPerHost
+) {
+    public ConcurrencyConfig {
+        if (maxInFlight <= 0) maxInFlight = 16;
+        if (maxPerHost <= 0) maxPerHost = 2;
+    }
+
+    public static ConcurrencyConfig sequential() {
+        return new ConcurrencyConfig(false, 1, 1);
+    }
+}
@@ -0,0 +1,40 @@
+package io.conflictradar.ingestion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
+/**
+ * Article deduplication settings.
+ *
+ * @param local         optional in-process tier consulted before Redis
+ * @param nearDuplicate optional clustering of near-identical stories from different links
+ * @param redis         storage layout of processed links in Redis
+ * @param embedded      optional memory-mapped store replacing Redis for processed links
+ */
+@ConfigurationProperties(prefix = "dedup")
+public record DedupConfig(
+        LocalTierConfig local,
+        NearDuplicateConfig nearDuplicate,
+        RedisDedupConfig redis,
+        EmbeddedStoreConfig embedded
+) {
+    @ConstructorBinding
+    public DedupConfig {
+        if (local == null) local = LocalTierConfig.disabled();
+        if (nearDuplicate == null) nearDuplicate = NearDuplicateConfig.disabled();
+        if (redis == null) redis = RedisDedupConfig.defaults();
+        if (embedded == null) embedded = EmbeddedStoreConfig.disabled();
+    }
+
+    public DedupConfig(LocalTierConfig local, NearDuplicateConfig nearDuplicate, RedisDedupConfig redis) {
+        this(local, nearDuplicate, redis, null);
+    }
+
+    public DedupConfig(LocalTierConfig local) {
+        this(local, null, null, null);
+    }
+
+    public static DedupConfig defaults() {
+        return new DedupConfig(null, null, null, null);
+    }
+}
@@ -0,0 +1,26 @@
+package io.conflictradar.ingestion.config;
+
+import java.nio.file.Path;
+
+/**
+ * Embedded dedup store: processed links in a memory-mapped file on local disk
+ * instead of Redis, for single-node and edge deployments.
+ *
+ * @param enabled     keep processed links in the file; Redis and the local tier are not used for them
+ * @param path        the store file, created on first start and reused after restarts
+ * @param linksPerDay new links expected per day; each day's table gets twice as many slots
+ */
+public record EmbeddedStoreConfig(
+        boolean enabled,
+        Path path,
+        long linksPerDay
+) {
+    public EmbeddedStoreConfig {
+        if (path == null) path = Path.of("data", "dedup.store");
+        if (linksPerDay <= 0) linksPerDay = 100_000;
+    }
+
+    public static EmbeddedStoreConfig disabled() {
+        return new EmbeddedStoreConfig(false, null, 0);
+    }
+}
@@ -0,0 +1,23 @@
+package io.conflictradar.ingestion.config;
+
+import java.time.Duration;
+
+/**
+ * Cache of parsed and analyzed feeds behind the on-demand feed endpoints.
+ *
+ * @param ttl        how long a fetched feed is served before it is fetched again
+ * @param maxEntries number of feed URLs kept
+ */
+public record FeedCacheConfig(
+        Duration ttl,
+        int maxEntries
+) {
+    public FeedCacheConfig {
+        if (ttl == null) ttl = Duration.ofMinutes(1);
+        if (maxEntries <= 0) maxEntries = 256;
+    }
+
+    public static FeedCacheConfig defaults() {
+        return new FeedCacheConfig(null, 0);
+    }
+}
@@ -2,10 +2,23 @@ package io.conflictradar.ingestion.config;
 
 import java.util.List;
 
+/**
+ * How long idle pooled connections are kept is a JVM-wide setting of the JDK
+ * client, so it is passed at launch ({@code -Djdk.httpclient.keepalive.timeout}),
+ * not configured here.
+ */
 public record HttpConfig(
         int connectTimeout,
         int readTimeout,
         int maxRetries,
         int retryDelay,
-        List<String> userAgents
-) {}
\ No newline at end of file
+        List<String> userAgents,
+        boolean http2,
+        int maxConnections,
+        int maxConnectionsPerHost
+) {
+    public HttpConfig {
+        if (maxConnections <= 0) maxConnections = 64;
+        if (maxConnectionsPerHost <= 0) maxConnectionsPerHost = 4;
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -19,30 +18,43 @@ import java.util.Map;
 public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
-    private String bootstrapServers;
+    private String bootstrapServers = "localhost:9092";
 
+    /**
+     * One template per distinct producer profile: bulk news traffic and alerts
+     * go through separate producers, so alerts never wait behind a filling batch.
+     */
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public KafkaTemplates kafkaTemplates(KafkaProperties topics, KafkaProducerProfiles profiles) {
+        Map<ProducerProfile, KafkaTemplate<String, Object>> byProfile = new HashMap<>();
+        Map<String, KafkaTemplate<String, Object>> byTopic = new HashMap<>();
+
+        byTopic.put(topics.newsIngested(), byProfile.computeIfAbsent(profiles.newsIngested(), this::kafkaTemplate));
+        byTopic.put(topics.highRiskDetected(), byProfile.computeIfAbsent(profiles.highRiskDetected(), this::kafkaTemplate));
+        byTopic.put(topics.batchProcessed(), byProfile.computeIfAbsent(profiles.batchProcessed(), this::kafkaTemplate));
+
+        return new KafkaTemplates(byTopic,
+                byProfile.computeIfAbsent(ProducerProfile.standard(), this::kafkaTemplate));
+    }
+
+    private KafkaTemplate<String, Object> kafkaTemplate(ProducerProfile profile) {
+        return new KafkaTemplate<>(producerFactory(profile));
+    }
+
+    private ProducerFactory<String, Object> producerFactory(ProducerProfile profile) {
         Map<String, Object> configProps = new HashMap<>();
 
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
-        configProps.put(ProducerConfig.ACKS_CONFIG, "1"); // Ждем подтверждения от лидера
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 1000);
-
-        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384); // Размер батча
-        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 10); // Ждем 10ms для накопления батча
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
 
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
+        // acks, compression, batch.size, linger.ms, idempotence, value serializer
+        configProps.putAll(profile.producerProperties());
 
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
@@ -52,4 +64,4 @@ public class KafkaConfig {
 
         return mapper;
     }
-}
\ No newline at end of file
+}
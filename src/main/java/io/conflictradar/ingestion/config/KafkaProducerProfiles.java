@@ -0,0 +1,27 @@
+package io.conflictradar.ingestion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Producer profile per topic, keyed like {@link KafkaProperties}.
+ *
+ * @param newsIngested     bulk lane by default
+ * @param highRiskDetected alert lane by default
+ * @param batchProcessed   previous shared settings by default
+ */
+@ConfigurationProperties(prefix = "kafka.producers")
+public record KafkaProducerProfiles(
+        ProducerProfile newsIngested,
+        ProducerProfile highRiskDetected,
+        ProducerProfile batchProcessed
+) {
+    public KafkaProducerProfiles {
+        if (newsIngested == null) newsIngested = ProducerProfile.bulk();
+        if (highRiskDetected == null) highRiskDetected = ProducerProfile.alert();
+        if (batchProcessed == null) batchProcessed = ProducerProfile.standard();
+    }
+
+    public static KafkaProducerProfiles defaults() {
+        return new KafkaProducerProfiles(null, null, null);
+    }
+}
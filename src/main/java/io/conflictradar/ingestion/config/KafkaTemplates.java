@@ -0,0 +1,36 @@
+package io.conflictradar.ingestion.config;
+
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+
+/**
+ * The {@link KafkaTemplate} to send each topic with. Topics without an entry
+ * use the fallback template.
+ */
+public final class KafkaTemplates implements AutoCloseable {
+
+    private final Map<String, KafkaTemplate<String, Object>> byTopic;
+    private final KafkaTemplate<String, Object> fallback;
+
+    public KafkaTemplates(Map<String, KafkaTemplate<String, Object>> byTopic, KafkaTemplate<String, Object> fallback) {
+        this.byTopic = Map.copyOf(byTopic);
+        this.fallback = fallback;
+    }
+
+    /** One template for every topic. */
+    public static KafkaTemplates single(KafkaTemplate<String, Object> template) {
+        return new KafkaTemplates(Map.of(), template);
+    }
+
+    public KafkaTemplate<String, Object> forTopic(String topic) {
+        return byTopic.getOrDefault(topic, fallback);
+    }
+
+    /** Closes the producers; called by Spring on shutdown. */
+    @Override
+    public void close() {
+        byTopic.values().stream().distinct().forEach(template -> template.getProducerFactory().reset());
+        fallback.getProducerFactory().reset();
+    }
+}
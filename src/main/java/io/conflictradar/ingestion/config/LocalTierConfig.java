@@ -0,0 +1,30 @@
+package io.conflictradar.ingestion.config;
+
+/**
+ * In-process dedup tier: an exact cache of recently seen links plus a Bloom
+ * filter covering the whole dedup TTL.
+ *
+ * @param enabled           consult the local tier before going to Redis
+ * @param maxEntries        capacity of the "definitely seen" cache
+ * @param expectedLinks     links expected over one TTL window, sizes the Bloom filter
+ * @param falsePositiveRate chance that a new link is taken as already seen
+ * @param partitions        number of time slices the TTL window is split into
+ */
+public record LocalTierConfig(
+        boolean enabled,
+        int maxEntries,
+        long expectedLinks,
+        double falsePositiveRate,
+        int partitions
+) {
+    public LocalTierConfig {
+        if (maxEntries <= 0) maxEntries = 65_536;
+        if (expectedLinks <= 0) expectedLinks = 200_000;
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) falsePositiveRate = 0.0001;
+        if (partitions <= 0) partitions = 7;
+    }
+
+    public static LocalTierConfig disabled() {
+        return new LocalTierConfig(false, 0, 0, 0, 0);
+    }
+}
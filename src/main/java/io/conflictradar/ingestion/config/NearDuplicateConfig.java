@@ -0,0 +1,33 @@
+package io.conflictradar.ingestion.config;
+
+import java.time.Duration;
+
+/**
+ * Near-duplicate detection: a SimHash of an article's title and description,
+ * looked up among the fingerprints of recent articles so syndicated copies of
+ * one story end up in the same cluster.
+ *
+ * @param enabled     cluster new articles and send one alert per cluster
+ * @param maxDistance fingerprints differing in at most this many of their 64 bits are near-duplicates
+ * @param window      how long an article keeps attracting near-duplicates
+ * @param capacity    fingerprints held in the index; the oldest are dropped first
+ * @param minTokens   texts with fewer words are too short to compare and are never clustered
+ */
+public record NearDuplicateConfig(
+        boolean enabled,
+        int maxDistance,
+        Duration window,
+        int capacity,
+        int minTokens
+) {
+    public NearDuplicateConfig {
+        if (maxDistance <= 0 || maxDistance > 7) maxDistance = 3;
+        if (window == null || window.isNegative() || window.isZero()) window = Duration.ofHours(48);
+        if (capacity <= 0) capacity = 262_144;
+        if (minTokens <= 0) minTokens = 6;
+    }
+
+    public static NearDuplicateConfig disabled() {
+        return new NearDuplicateConfig(false, 0, null, 0, 0);
+    }
+}
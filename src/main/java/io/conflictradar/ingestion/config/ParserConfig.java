@@ -0,0 +1,17 @@
+package io.conflictradar.ingestion.config;
+
+/**
+ * @param engine feed parser engine: {@code stax} (streaming, falls back to Rome
+ *               for non RSS 2.0 / Atom documents) or {@code rome}
+ */
+public record ParserConfig(
+        String engine
+) {
+    public ParserConfig {
+        if (engine == null || engine.isBlank()) engine = "stax";
+    }
+
+    public static ParserConfig defaults() {
+        return new ParserConfig("stax");
+    }
+}
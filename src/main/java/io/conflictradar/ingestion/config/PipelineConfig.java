@@ -0,0 +1,42 @@
+package io.conflictradar.ingestion.config;
+
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
+import java.time.Duration;
+
+/**
+ * Stages behind the fetchers: fetched articles are scored on a CPU pool and
+ * published on their own threads, connected by bounded queues. A full queue
+ * blocks the stage feeding it, so a slow Kafka holds back fetching instead of
+ * piling articles up in memory.
+ *
+ * @param analyzeWorkers threads scoring and clustering articles, defaults to the number of cores
+ * @param analyzeQueue   articles waiting for analysis before fetchers block
+ * @param publishWorkers threads sending events to Kafka
+ * @param publishQueue   analyzed articles waiting to be published before analysis blocks
+ * @param drainTimeout   how long shutdown lets the stages work off their queues
+ */
+public record PipelineConfig(
+        int analyzeWorkers,
+        int analyzeQueue,
+        int publishWorkers,
+        int publishQueue,
+        Duration drainTimeout
+) {
+    @ConstructorBinding
+    public PipelineConfig {
+        if (analyzeWorkers <= 0) analyzeWorkers = Runtime.getRuntime().availableProcessors();
+        if (analyzeQueue <= 0) analyzeQueue = 1024;
+        if (publishWorkers <= 0) publishWorkers = 2;
+        if (publishQueue <= 0) publishQueue = 1024;
+        if (drainTimeout == null || drainTimeout.isNegative()) drainTimeout = Duration.ofSeconds(10);
+    }
+
+    public PipelineConfig(int analyzeWorkers, int analyzeQueue, int publishWorkers, int publishQueue) {
+        this(analyzeWorkers, analyzeQueue, publishWorkers, publishQueue, null);
+    }
+
+    public static PipelineConfig defaults() {
+        return new PipelineConfig(0, 0, 0, 0);
+    }
+}
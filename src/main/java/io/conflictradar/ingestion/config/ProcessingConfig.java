@@ -1,13 +1,33 @@
 package io.conflictradar.ingestion.config;
 
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
 import java.time.Duration;
 
+/**
+ * @param scheduleInterval first polling interval of each source, before it adapts
+ * @param minInterval      default lower bound of a source's polling interval
+ * @param maxInterval      default upper bound of a source's polling interval
+ */
 public record ProcessingConfig(
         Duration scheduleInterval,
         Duration initialDelay,
         double riskThreshold,
-        boolean enableScheduling
+        boolean enableScheduling,
+        Duration minInterval,
+        Duration maxInterval
 ) {
+    @ConstructorBinding
+    public ProcessingConfig {
+        if (minInterval == null) minInterval = Duration.ofMinutes(1);
+        if (maxInterval == null) maxInterval = Duration.ofHours(2);
+    }
+
+    public ProcessingConfig(Duration scheduleInterval, Duration initialDelay, double riskThreshold,
+                            boolean enableScheduling) {
+        this(scheduleInterval, initialDelay, riskThreshold, enableScheduling, null, null);
+    }
+
     public long getScheduleIntervalMs() {
         return scheduleInterval.toMillis();
     }
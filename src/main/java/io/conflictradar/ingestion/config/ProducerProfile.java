@@ -0,0 +1,66 @@
+package io.conflictradar.ingestion.config;
+
+import io.conflictradar.ingestion.api.dto.kafka.codec.BinaryEventSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer settings for one topic. Topics with equal profiles share a producer.
+ *
+ * @param acks        broker acknowledgement level: "0", "1" or "all"
+ * @param compression none, gzip, snappy, lz4 or zstd
+ * @param batchSize   max bytes per partition batch
+ * @param lingerMs    how long to wait for a batch to fill before sending
+ * @param idempotent  de-duplicate producer retries on the broker; requires acks=all
+ * @param format      value encoding: "json" or "binary" (see {@code EventCodec});
+ *                    consumers of the topic must use the matching deserializer
+ */
+public record ProducerProfile(
+        String acks,
+        String compression,
+        int batchSize,
+        int lingerMs,
+        boolean idempotent,
+        String format
+) {
+    public ProducerProfile {
+        if (acks == null || acks.isBlank()) acks = "1";
+        if (compression == null || compression.isBlank()) compression = "none";
+        if (batchSize <= 0) batchSize = 16_384;
+        if (lingerMs < 0) lingerMs = 10;
+        if (format == null || format.isBlank()) format = "json";
+        if (!format.equals("json") && !format.equals("binary")) {
+            throw new IllegalArgumentException("Unknown event format: " + format);
+        }
+    }
+
+    /** Settings all topics used before per-topic profiles. */
+    public static ProducerProfile standard() {
+        return new ProducerProfile("1", "none", 16_384, 10, false, "json");
+    }
+
+    /** High volume, latency tolerant: large compressed batches. */
+    public static ProducerProfile bulk() {
+        return new ProducerProfile("1", "lz4", 131_072, 50, false, "json");
+    }
+
+    /** Rare, latency sensitive and must not be lost or duplicated. */
+    public static ProducerProfile alert() {
+        return new ProducerProfile("all", "none", 16_384, 0, true, "json");
+    }
+
+    public Map<String, Object> producerProperties() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.ACKS_CONFIG, acks);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotent);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                format.equals("binary") ? BinaryEventSerializer.class : JsonSerializer.class);
+        return props;
+    }
+}
@@ -0,0 +1,49 @@
+package io.conflictradar.ingestion.config;
+
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
+import java.time.Duration;
+
+/**
+ * How processed links are stored in Redis.
+ *
+ * @param layout        {@code keys}: one key per link (the original layout);
+ *                      {@code buckets}: 8 byte digests in per-day bucketed hashes;
+ *                      {@code migrate}: write buckets, still read keys written before
+ * @param bucketsPerDay hashes per day; keep claims per day / buckets under Redis'
+ *                      {@code hash-max-listpack-entries} (128) so every hash stays compact
+ * @param async         claim links with non-blocking commands on the shared Lettuce
+ *                      connection instead of the blocking {@code RedisTemplate}
+ * @param timeout       how long an async claim may take before its links are taken as new
+ */
+public record RedisDedupConfig(
+        Layout layout,
+        int bucketsPerDay,
+        boolean async,
+        Duration timeout
+) {
+    public enum Layout { KEYS, BUCKETS, MIGRATE }
+
+    @ConstructorBinding
+    public RedisDedupConfig {
+        if (layout == null) layout = Layout.KEYS;
+        if (bucketsPerDay <= 0 || bucketsPerDay > 65_536) bucketsPerDay = 1024;
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) timeout = Duration.ofMillis(250);
+    }
+
+    public RedisDedupConfig(Layout layout, int bucketsPerDay) {
+        this(layout, bucketsPerDay, false, null);
+    }
+
+    public static RedisDedupConfig defaults() {
+        return new RedisDedupConfig(null, 0);
+    }
+
+    public boolean writesBuckets() {
+        return layout != Layout.KEYS;
+    }
+
+    public boolean readsKeys() {
+        return layout != Layout.BUCKETS;
+    }
+}
@@ -0,0 +1,27 @@
+package io.conflictradar.ingestion.config;
+
+import java.time.Duration;
+
+/**
+ * Retries of failed feed fetches. How many and from which delay on is set by
+ * {@code rss.http.max-retries} and {@code rss.http.retry-delay}.
+ *
+ * @param maxDelay     longest delay before a retry
+ * @param budget       retries allowed per {@code budgetWindow} across all sources
+ * @param budgetWindow window of the retry budget
+ */
+public record RetryConfig(
+        Duration maxDelay,
+        int budget,
+        Duration budgetWindow
+) {
+    public RetryConfig {
+        if (maxDelay == null) maxDelay = Duration.ofSeconds(30);
+        if (budget <= 0) budget = 10;
+        if (budgetWindow == null) budgetWindow = Duration.ofMinutes(1);
+    }
+
+    public static RetryConfig defaults() {
+        return new RetryConfig(null, 0, null);
+    }
+}
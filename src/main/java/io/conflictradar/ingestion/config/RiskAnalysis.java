@@ -1,26 +1,129 @@
 package io.conflictradar.ingestion.config;
 
+import io.conflictradar.ingestion.api.util.KeywordMatcher;
+
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
-import java.util.stream.Collectors;
-
-public record RiskAnalysis(
-        Set<String> conflictKeywords,
-        Set<String> highRiskKeywords,
-        Set<String> criticalKeywords
-) {
-    public Set<String> findKeywords(String text) {
-        if (text == null) return Set.of();
-
-        String lowerText = text.toLowerCase();
-
-        Set<String> allPossibleKeywords = new HashSet<>();
-        allPossibleKeywords.addAll(conflictKeywords);
-        allPossibleKeywords.addAll(highRiskKeywords);
-        allPossibleKeywords.addAll(criticalKeywords);
-
-        return allPossibleKeywords.stream()
-                .filter(lowerText::contains)
-                .collect(java.util.stream.Collectors.toSet());
+import java.util.function.IntConsumer;
+
+/**
+ * Risk keyword lists, compiled once into a {@link KeywordMatcher}.
+ * <p>
+ * A keyword listed in several tiers counts for the highest one. Kept as a
+ * class rather than a record so the compiled matcher can live next to the lists.
+ */
+public final class RiskAnalysis {
+
+    public enum Tier { CONFLICT, HIGH_RISK, CRITICAL }
+
+    /**
+     * Keywords found in a text together with the highest tier among them.
+     * {@code tier} is {@code null} when nothing matched.
+     */
+    public record Matches(Set<String> keywords, Tier tier) {
+        public static final Matches NONE = new Matches(Set.of(), null);
+
+        public boolean isEmpty() {
+            return keywords.isEmpty();
+        }
+
+        /**
+         * 0.15 per distinct keyword (at most 0.8), plus 0.4 for a critical or 0.25
+         * for a high-risk keyword, capped at 1.0, scaled by the source weight and
+         * rounded to two decimals.
+         */
+        public double riskScore(double sourceWeight) {
+            if (isEmpty()) return 0.0;
+
+            var baseScore = Math.min(keywords.size() * 0.15, 0.8);
+
+            if (tier == Tier.CRITICAL) {
+                baseScore = Math.min(baseScore + 0.4, 1.0);
+            } else if (tier == Tier.HIGH_RISK) {
+                baseScore = Math.min(baseScore + 0.25, 1.0);
+            }
+
+            baseScore = baseScore * sourceWeight;
+
+            return Math.round(baseScore * 100.0) / 100.0;
+        }
+    }
+
+    private final Set<String> conflictKeywords;
+    private final Set<String> highRiskKeywords;
+    private final Set<String> criticalKeywords;
+
+    private final KeywordMatcher matcher;
+    private final Tier[] tiers;
+
+    public RiskAnalysis(Set<String> conflictKeywords, Set<String> highRiskKeywords, Set<String> criticalKeywords) {
+        this.conflictKeywords = conflictKeywords != null ? Set.copyOf(conflictKeywords) : Set.of();
+        this.highRiskKeywords = highRiskKeywords != null ? Set.copyOf(highRiskKeywords) : Set.of();
+        this.criticalKeywords = criticalKeywords != null ? Set.copyOf(criticalKeywords) : Set.of();
+
+        List<String> all = new ArrayList<>(this.criticalKeywords);
+        all.addAll(this.highRiskKeywords);
+        all.addAll(this.conflictKeywords);
+        this.matcher = KeywordMatcher.compile(all);
+
+        Set<String> critical = normalize(this.criticalKeywords);
+        Set<String> highRisk = normalize(this.highRiskKeywords);
+        this.tiers = new Tier[matcher.size()];
+        for (int i = 0; i < tiers.length; i++) {
+            String keyword = matcher.keyword(i);
+            tiers[i] = critical.contains(keyword) ? Tier.CRITICAL
+                    : highRisk.contains(keyword) ? Tier.HIGH_RISK
+                    : Tier.CONFLICT;
+        }
+    }
+
+    public Set<String> conflictKeywords() {
+        return conflictKeywords;
+    }
+
+    public Set<String> highRiskKeywords() {
+        return highRiskKeywords;
+    }
+
+    public Set<String> criticalKeywords() {
+        return criticalKeywords;
+    }
+
+    /** All keywords found in {@code text} (case-insensitive, whole words), lowercased. */
+    public Set<String> findKeywords(CharSequence text) {
+        return match(text).keywords();
+    }
+
+    public Matches match(CharSequence text) {
+        if (text == null) return Matches.NONE;
+
+        MatchCollector collector = new MatchCollector();
+        matcher.forEachMatch(text, collector);
+        return collector.keywords == null ? Matches.NONE : new Matches(collector.keywords, collector.tier);
+    }
+
+    private static Set<String> normalize(Set<String> keywords) {
+        Set<String> normalized = new HashSet<>();
+        for (String keyword : keywords) {
+            if (keyword != null) normalized.add(keyword.trim().toLowerCase(Locale.ROOT));
+        }
+        return normalized;
+    }
+
+    private final class MatchCollector implements IntConsumer {
+        Set<String> keywords;
+        Tier tier;
+
+        @Override
+        public void accept(int keyword) {
+            if (keywords == null) keywords = new HashSet<>();
+            keywords.add(matcher.keyword(keyword));
+
+            Tier found = tiers[keyword];
+            if (tier == null || found.compareTo(tier) > 0) tier = found;
+        }
     }
 }
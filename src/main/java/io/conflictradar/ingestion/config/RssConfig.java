@@ -2,6 +2,7 @@ package io.conflictradar.ingestion.config;
 
 import jakarta.annotation.PostConstruct;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
 
 import java.util.List;
 
@@ -10,8 +11,30 @@ public record RssConfig(
         List<RssSource> sources,
         ProcessingConfig processing,
         HttpConfig http,
-        RiskAnalysis riskAnalysis
+        RiskAnalysis riskAnalysis,
+        ConcurrencyConfig concurrency,
+        ParserConfig parser,
+        CircuitBreakerConfig circuitBreaker,
+        RetryConfig retry,
+        FeedCacheConfig feedCache,
+        BulkIngestConfig bulk,
+        PipelineConfig pipeline
 ) {
+    @ConstructorBinding
+    public RssConfig {
+        if (concurrency == null) concurrency = ConcurrencyConfig.sequential();
+        if (parser == null) parser = ParserConfig.defaults();
+        if (circuitBreaker == null) circuitBreaker = CircuitBreakerConfig.defaults();
+        if (retry == null) retry = RetryConfig.defaults();
+        if (feedCache == null) feedCache = FeedCacheConfig.defaults();
+        if (bulk == null) bulk = BulkIngestConfig.defaults();
+        if (pipeline == null) pipeline = PipelineConfig.defaults();
+    }
+
+    public RssConfig(List<RssSource> sources, ProcessingConfig processing, HttpConfig http,
+                     RiskAnalysis riskAnalysis, ConcurrencyConfig concurrency, ParserConfig parser) {
+        this(sources, processing, http, riskAnalysis, concurrency, parser, null, null, null, null, null);
+    }
 
     public List<RssSource> getEnabledSources() {
         return sources.stream()
@@ -19,6 +42,16 @@ public record RssConfig(
                 .toList();
     }
 
+    /** Weight of the configured source with this URL, 1.0 for ad hoc URLs. */
+    public double weightOf(String url) {
+        if (sources != null) {
+            for (RssSource source : sources) {
+                if (source.url().equals(url)) return source.weight();
+            }
+        }
+        return 1.0;
+    }
+
     //@PostConstruct
     public void init() {
         System.out.println("=== RssConfig bean created ===");
@@ -1,11 +1,31 @@
 package io.conflictradar.ingestion.config;
 
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
+import java.time.Duration;
+
+/**
+ * @param minInterval shortest polling interval for this source, {@code null} for
+ *                    {@link ProcessingConfig#minInterval()}
+ * @param maxInterval longest polling interval for this source, {@code null} for
+ *                    {@link ProcessingConfig#maxInterval()}
+ */
 public record RssSource(
         String url,
         String name,
         double weight,
-        boolean enabled
+        boolean enabled,
+        Duration minInterval,
+        Duration maxInterval
 ) {
+    @ConstructorBinding
+    public RssSource {
+    }
+
+    public RssSource(String url, String name, double weight, boolean enabled) {
+        this(url, name, weight, enabled, null, null);
+    }
+
     public String getSimpleName() {
         if (url.contains("bbc")) return "BBC";
         if (url.contains("reuters")) return "Reuters";
@@ -0,0 +1,148 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.dto.BulkIngestRequest;
+import io.conflictradar.ingestion.api.dto.BulkIngestRequest.Feed;
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.ScheduledRssService;
+import io.conflictradar.ingestion.api.service.ScheduledRssService.IngestResult;
+import io.conflictradar.ingestion.api.service.job.BulkIngestJob;
+import io.conflictradar.ingestion.api.service.job.BulkIngestService;
+import io.conflictradar.ingestion.config.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIngestServiceTest {
+
+    @Mock
+    private ScheduledRssService ingestion;
+
+    private BulkIngestService service;
+
+    @BeforeEach
+    void setUp() {
+        RssConfig rssConfig = new RssConfig(
+                List.of(),
+                new ProcessingConfig(Duration.ofMinutes(5), Duration.ofSeconds(30), 0.6, true),
+                new HttpConfig(1000, 1000, 3, 1000, List.of("TestAgent"), true, 16, 4),
+                new RiskAnalysis(Set.of("war"), Set.of(), Set.of()),
+                ConcurrencyConfig.sequential(),
+                ParserConfig.defaults(),
+                null, null, null,
+                new BulkIngestConfig(2, 3, 4, Duration.ofHours(1)),
+                null
+        );
+        service = new BulkIngestService(ingestion, rssConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should ingest every feed once and report per-feed progress")
+    void shouldIngestFeedsAndReportProgress() throws Exception {
+        when(ingestion.ingest(argThat(source -> source != null && source.url().contains("good"))))
+                .thenReturn(new IngestResult(5, articles("good", 3), null));
+        when(ingestion.ingest(argThat(source -> source != null && source.url().contains("gone"))))
+                .thenReturn(new IngestResult(0, List.of(), ErrorCategory.NOT_FOUND));
+
+        BulkIngestJob job = service.submit(new BulkIngestRequest(List.of(
+                new Feed("https://a.example.com/good.xml", 0.5),
+                new Feed("https://b.example.com/gone.xml", null),
+                new Feed("https://a.example.com/good.xml", 0.5)
+        )));
+
+        BulkIngestJob.Status status = awaitCompletion(job);
+
+        assertThat(status.feeds()).isEqualTo(2);
+        assertThat(status.done()).isEqualTo(1);
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(status.totalArticles()).isEqualTo(5);
+        assertThat(status.newArticles()).isEqualTo(3);
+        assertThat(status.progress()).extracting(BulkIngestJob.FeedStatus::error)
+                .containsExactly(null, ErrorCategory.NOT_FOUND);
+
+        ArgumentCaptor<RssSource> sources = ArgumentCaptor.forClass(RssSource.class);
+        verify(ingestion, times(2)).ingest(sources.capture());
+        assertThat(sources.getAllValues()).extracting(RssSource::weight).containsExactlyInAnyOrder(0.5, 1.0);
+        assertThat(service.find(job.id())).containsSame(job);
+    }
+
+    @Test
+    @DisplayName("Should page through the new articles of a job")
+    void shouldPageThroughArticles() throws Exception {
+        when(ingestion.ingest(any())).thenReturn(new IngestResult(5, articles("feed", 5), null));
+
+        BulkIngestJob job = service.submit(new BulkIngestRequest(List.of(new Feed("https://example.com/rss", null))));
+        awaitCompletion(job);
+
+        BulkIngestJob.Page last = job.articles(2, 2);
+        assertThat(last.totalElements()).isEqualTo(5);
+        assertThat(last.totalPages()).isEqualTo(3);
+        assertThat(last.articles()).extracting(RssArticle::link).containsExactly("https://example.com/feed/4");
+        assertThat(job.articles(3, 2).articles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse empty, blank and oversized requests")
+    void shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> service.submit(new BulkIngestRequest(List.of())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.submit(new BulkIngestRequest(List.of(new Feed(" ", null)))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.submit(new BulkIngestRequest(IntStream.range(0, 4)
+                .mapToObj(i -> new Feed("https://example.com/" + i, null)).toList())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(ingestion);
+    }
+
+    @Test
+    @DisplayName("Should refuse weights that are not positive numbers")
+    void shouldRejectInvalidWeights() {
+        for (double weight : new double[]{Double.NaN, -1.0, 0.0, Double.POSITIVE_INFINITY}) {
+            assertThatThrownBy(() -> service.submit(new BulkIngestRequest(List.of(
+                    new Feed("https://example.com/ok", 1.0), new Feed("https://example.com/rss", weight)))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("weight");
+        }
+
+        verifyNoInteractions(ingestion);
+    }
+
+    private static BulkIngestJob.Status awaitCompletion(BulkIngestJob job) throws InterruptedException {
+        for (int i = 0; i < 500 && job.status().state() != BulkIngestJob.State.COMPLETED; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(job.status().state()).isEqualTo(BulkIngestJob.State.COMPLETED);
+        return job.status();
+    }
+
+    private static List<RssArticle> articles(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RssArticle("id-" + i, "Title " + i, "", "https://example.com/" + prefix + "/" + i,
+                        null, LocalDateTime.now(), Set.of(), 0.0))
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.dto.kafka.BatchProcessedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.HighRiskDetectedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.NewsIngestedEvent;
+import io.conflictradar.ingestion.api.dto.kafka.codec.BinaryEventDeserializer;
+import io.conflictradar.ingestion.api.dto.kafka.codec.BinaryEventSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventCodecTest {
+
+    private static final LocalDateTime PUBLISHED = LocalDateTime.of(2025, 7, 29, 9, 41, 12, 345_000_000);
+
+    private final BinaryEventSerializer serializer = new BinaryEventSerializer();
+    private final BinaryEventDeserializer deserializer = new BinaryEventDeserializer();
+
+    @Test
+    @DisplayName("Should round-trip all event types")
+    void shouldRoundTripEvents() {
+        var news = new NewsIngestedEvent("a-1", "Troops cross the border", "https://www.bbc.com/news/articles/c1",
+                "BBC", PUBLISHED, 0.75, Set.of("war", "military"), PUBLISHED.plusMinutes(3));
+        var alert = new HighRiskDetectedEvent("ALERT-1", "a-1", "Troops cross the border", 0.9,
+                Set.of("invasion"), "Reuters", PUBLISHED);
+        var batch = new BatchProcessedEvent("BATCH-1", "CNN", 38, 5, 1, 1234, PUBLISHED);
+
+        assertThat(roundTrip(news)).isEqualTo(news);
+        assertThat(roundTrip(alert)).isEqualTo(alert);
+        assertThat(roundTrip(batch)).isEqualTo(batch);
+    }
+
+    @Test
+    @DisplayName("Should encode strings missing from the dictionary inline and keep nulls")
+    void shouldHandleUnknownStringsAndNulls() {
+        var event = new NewsIngestedEvent("a-2", null, "https://example.com/ünïcode",
+                "Al Jazeera", null, 0.0, Set.of("war", "drone strike"), null);
+
+        assertThat(roundTrip(event)).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should be much smaller than the JSON encoding")
+    void shouldBeSmallerThanJson() {
+        var news = new NewsIngestedEvent("3f2b8c1e-5d4a-4f8e-9b1c-2a7d6e0f9c3b", "Troops cross the border",
+                "https://www.bbc.com/news/articles/c1", "BBC", PUBLISHED, 0.75, Set.of("war", "military"), PUBLISHED);
+
+        try (var json = new JsonSerializer<Object>()) {
+            assertThat(serializer.serialize("news", news).length)
+                    .isLessThan(json.serialize("news", news).length / 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should carry the cluster id and still read version 1 events")
+    void shouldReadVersionOneEvents() {
+        var clustered = new NewsIngestedEvent("a-3", "Troops cross the border", "https://www.bbc.com/news/articles/c3",
+                "BBC", PUBLISHED, 0.75, Set.of("war"), PUBLISHED, "9f3c0a12e4b87d65");
+        var unclustered = new NewsIngestedEvent("a-3", "Troops cross the border", "https://www.bbc.com/news/articles/c3",
+                "BBC", PUBLISHED, 0.75, Set.of("war"), PUBLISHED);
+
+        assertThat(roundTrip(clustered)).isEqualTo(clustered);
+
+        // Version 1 layout: the same components without the trailing cluster id
+        byte[] current = serializer.serialize("news", unclustered);
+        byte[] v1 = Arrays.copyOf(current, current.length - 1);
+        v1[1] = 1;
+        assertThat(deserializer.deserialize("news", v1)).isEqualTo(unclustered);
+    }
+
+    @Test
+    @DisplayName("Should reject data that is not a supported binary event")
+    void shouldRejectForeignData() {
+        assertThatThrownBy(() -> deserializer.deserialize("news", "{\"articleId\":\"1\"}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> deserializer.deserialize("news", new byte[]{(byte) 0xC5, 99, 1}))
+                .isInstanceOf(SerializationException.class)
+                .hasRootCauseMessage("Unsupported event format version: 99");
+    }
+
+    private Object roundTrip(Object event) {
+        return deserializer.deserialize("topic", serializer.serialize("topic", event));
+    }
+}
@@ -3,20 +3,26 @@ package io.conflictradar.ingestion;
 import io.conflictradar.ingestion.api.dto.RssArticle;
 import io.conflictradar.ingestion.api.service.EventPublisherService;
 import io.conflictradar.ingestion.config.KafkaProperties;
+import io.conflictradar.ingestion.config.KafkaTemplates;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class EventPublisherServiceTest {
@@ -34,7 +40,7 @@ class EventPublisherServiceTest {
                 "test-batch-processed"
         );
 
-        service = new EventPublisherService(kafkaTemplate, kafkaConfig);
+        service = new EventPublisherService(KafkaTemplates.single(kafkaTemplate), kafkaConfig);
     }
 
     @Test
@@ -72,4 +78,40 @@ class EventPublisherServiceTest {
 
         verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
     }
+
+    @Test
+    void shouldCountAckedFailedAndInFlightSendsPerTopic() {
+        CompletableFuture<SendResult<String, Object>> acked = CompletableFuture.completedFuture(mock(SendResult.class));
+        CompletableFuture<SendResult<String, Object>> failed = CompletableFuture.failedFuture(new RuntimeException("broker down"));
+        CompletableFuture<SendResult<String, Object>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(acked, failed, pending);
+
+        service.publishBatchProcessed("BBC", 10, 2);
+        service.publishBatchProcessed("BBC", 10, 2);
+        service.publishBatchProcessed("BBC", 10, 2);
+
+        var stats = service.getStats();
+        assertThat(stats.totalAttempts()).isEqualTo(3);
+        assertThat(stats.totalPublished()).isEqualTo(1);
+        assertThat(stats.totalFailed()).isEqualTo(1);
+        assertThat(stats.inFlight()).isEqualTo(1);
+        assertThat(stats.getSuccessRate()).isEqualTo(0.5);
+
+        var topic = stats.topics().get("test-batch-processed");
+        assertThat(topic.total().attempted()).isEqualTo(3);
+        assertThat(topic.lastMinute().acked()).isEqualTo(1);
+        assertThat(topic.lastFiveMinutes().failed()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountSendThatThrowsAsFailed() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new IllegalStateException("closed"));
+
+        service.publishBatchProcessed("BBC", 10, 2);
+
+        var stats = service.getStats();
+        assertThat(stats.totalAttempts()).isEqualTo(1);
+        assertThat(stats.totalFailed()).isEqualTo(1);
+        assertThat(stats.inFlight()).isZero();
+    }
 }
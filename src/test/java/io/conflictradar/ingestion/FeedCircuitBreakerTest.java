@@ -0,0 +1,108 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.breaker.FeedCircuitBreaker;
+import io.conflictradar.ingestion.api.service.breaker.FeedCircuitBreaker.Scope;
+import io.conflictradar.ingestion.api.service.breaker.FeedCircuitBreaker.State;
+import io.conflictradar.ingestion.config.CircuitBreakerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedCircuitBreakerTest {
+
+    private static final String FEED = "https://news.example.com/world.xml";
+    private static final String OTHER_FEED = "https://news.example.com/europe.xml";
+
+    private final MutableClock clock = new MutableClock();
+    private final FeedCircuitBreaker breaker = new FeedCircuitBreaker(CircuitBreakerConfig.defaults(), clock);
+
+    @Test
+    @DisplayName("Should open source circuit at once on permanent error and double the back-off")
+    void shouldBackOffPermanentErrors() {
+        breaker.recordFailure(FEED, ErrorCategory.NOT_FOUND, null);
+
+        assertThat(breaker.allowRequest(FEED)).isFalse();
+        assertThat(breaker.allowRequest(OTHER_FEED)).isTrue();
+        assertThat(breaker.status(FEED).nextAttemptAt()).isEqualTo(clock.instant().plus(Duration.ofHours(1)));
+
+        clock.advance(Duration.ofHours(1));
+        assertThat(breaker.status(FEED).state()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.allowRequest(FEED)).isTrue();
+
+        breaker.recordFailure(FEED, ErrorCategory.NOT_FOUND, null);
+        assertThat(breaker.status(FEED).nextAttemptAt()).isEqualTo(clock.instant().plus(Duration.ofHours(2)));
+    }
+
+    @Test
+    @DisplayName("Should hold back the whole host until Retry-After")
+    void shouldHonorRetryAfterForHost() {
+        breaker.recordFailure(FEED, ErrorCategory.RATE_LIMITED, Duration.ofSeconds(90));
+
+        assertThat(breaker.allowRequest(OTHER_FEED)).isFalse();
+        assertThat(breaker.status(OTHER_FEED).scope()).isEqualTo(Scope.HOST);
+        assertThat(breaker.status(OTHER_FEED).nextAttemptAt()).isEqualTo(clock.instant().plusSeconds(90));
+
+        clock.advance(Duration.ofSeconds(90));
+        assertThat(breaker.allowRequest(OTHER_FEED)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should open only after repeated transient failures and close on success")
+    void shouldOpenAfterThresholdAndCloseOnSuccess() {
+        breaker.recordFailure(FEED, ErrorCategory.TIMEOUT, null);
+        breaker.recordFailure(FEED, ErrorCategory.TIMEOUT, null);
+
+        assertThat(breaker.allowRequest(FEED)).isTrue();
+        assertThat(breaker.status(FEED).consecutiveFailures()).isEqualTo(2);
+
+        breaker.recordFailure(FEED, ErrorCategory.TIMEOUT, null);
+        assertThat(breaker.status(FEED).isOpen()).isTrue();
+
+        clock.advance(Duration.ofMinutes(1));
+        breaker.recordSuccess(FEED);
+
+        assertThat(breaker.status(FEED)).isEqualTo(FeedCircuitBreaker.Status.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should keep Retry-After when a fetch already in flight succeeds")
+    void shouldNotCloseOpenCircuitOnSuccess() {
+        breaker.recordFailure(FEED, ErrorCategory.SERVER_UNAVAILABLE, Duration.ofMinutes(2));
+        breaker.recordSuccess(OTHER_FEED);
+
+        assertThat(breaker.allowRequest(FEED)).isFalse();
+        assertThat(breaker.status(FEED).nextAttemptAt()).isEqualTo(clock.instant().plus(Duration.ofMinutes(2)));
+    }
+
+    @Test
+    @DisplayName("Should let a single probe through while half-open")
+    void shouldAllowSingleProbeWhenHalfOpen() {
+        breaker.recordFailure(FEED, ErrorCategory.RATE_LIMITED, Duration.ofSeconds(30));
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(breaker.allowRequest(FEED)).isTrue();
+        assertThat(breaker.allowRequest(OTHER_FEED)).isFalse();
+        assertThat(breaker.allowRequest(FEED)).isFalse();
+
+        breaker.recordSuccess(FEED);
+        assertThat(breaker.allowRequest(OTHER_FEED)).isTrue();
+        assertThat(breaker.status(OTHER_FEED)).isEqualTo(FeedCircuitBreaker.Status.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should give up a probe that never reports back")
+    void shouldReleaseStaleProbe() {
+        breaker.recordFailure(FEED, ErrorCategory.NOT_FOUND, null);
+        clock.advance(Duration.ofHours(1));
+
+        assertThat(breaker.allowRequest(FEED)).isTrue();
+        assertThat(breaker.allowRequest(FEED)).isFalse();
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(breaker.allowRequest(FEED)).isTrue();
+    }
+}
@@ -0,0 +1,159 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.RssParsingService.RssParsingException;
+import io.conflictradar.ingestion.api.service.parser.FeedHints;
+import io.conflictradar.ingestion.api.service.parser.FeedParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeedParserTest {
+
+    private final FeedParser parser = FeedParser.forEngine("stax");
+
+    @Test
+    @DisplayName("Should stream RSS 2.0 items")
+    void shouldStreamRss20Items() throws Exception {
+        String rss = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <rss version="2.0" xmlns:dc="http://purl.org/dc/elements/1.1/"
+                     xmlns:media="http://search.yahoo.com/mrss/">
+                    <channel>
+                        <title>World</title>
+                        <item>
+                            <title><![CDATA[Ceasefire <b>talks</b> resume]]></title>
+                            <media:title>Thumbnail caption</media:title>
+                            <description>Envoys meet again</description>
+                            <link>https://example.com/a</link>
+                            <dc:creator>Jane Doe</dc:creator>
+                            <pubDate>Tue, 29 Jul 2025 10:00:00 GMT</pubDate>
+                        </item>
+                        <item>
+                            <title>No link but permalink guid</title>
+                            <guid isPermaLink="true">https://example.com/b</guid>
+                        </item>
+                        <item>
+                            <description>Entry without title or link is skipped</description>
+                        </item>
+                    </channel>
+                </rss>
+                """;
+
+        List<RssArticle> articles = parser.parse(stream(rss));
+
+        assertThat(articles).hasSize(2);
+        RssArticle first = articles.get(0);
+        assertThat(first.title()).isEqualTo("Ceasefire talks resume");
+        assertThat(first.link()).isEqualTo("https://example.com/a");
+        assertThat(first.author()).isEqualTo("Jane Doe");
+        assertThat(first.publishedAt()).isEqualTo(localTime("2025-07-29T10:00:00Z"));
+        assertThat(articles.get(1).link()).isEqualTo("https://example.com/b");
+    }
+
+    @Test
+    @DisplayName("Should stream Atom entries")
+    void shouldStreamAtomEntries() throws Exception {
+        String atom = """
+                <?xml version="1.0" encoding="utf-8"?>
+                <feed xmlns="http://www.w3.org/2005/Atom">
+                    <title>Atom feed</title>
+                    <entry>
+                        <title>Border clashes reported</title>
+                        <link rel="self" href="https://example.com/self"/>
+                        <link href="https://example.com/atom-1"/>
+                        <author><name>Desk Editor</name></author>
+                        <summary>Summary text</summary>
+                        <published>2025-07-29T12:30:00+02:00</published>
+                    </entry>
+                </feed>
+                """;
+
+        List<RssArticle> articles = parser.parse(stream(atom));
+
+        assertThat(articles).singleElement().satisfies(article -> {
+            assertThat(article.link()).isEqualTo("https://example.com/atom-1");
+            assertThat(article.author()).isEqualTo("Desk Editor");
+            assertThat(article.description()).isEqualTo("Summary text");
+            assertThat(article.publishedAt()).isEqualTo(localTime("2025-07-29T10:30:00Z"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should fall back to Rome for RSS 1.0 documents")
+    void shouldFallBackToRomeForRss10Documents() throws Exception {
+        String rdf = """
+                <?xml version="1.0"?>
+                <rdf:RDF xmlns:rdf="http://www.w3.org/1999/02/22-rdf-syntax-ns#" xmlns="http://purl.org/rss/1.0/">
+                    <channel rdf:about="https://example.com/">
+                        <title>RDF feed</title>
+                        <link>https://example.com/</link>
+                        <description>Old format</description>
+                    </channel>
+                    <item rdf:about="https://example.com/rdf-1">
+                        <title>RDF item</title>
+                        <link>https://example.com/rdf-1</link>
+                    </item>
+                </rdf:RDF>
+                """;
+
+        List<RssArticle> articles = parser.parse(stream(rdf));
+
+        assertThat(articles).extracting(RssArticle::title).containsExactly("RDF item");
+    }
+
+    @Test
+    @DisplayName("Should report malformed feed as parse error")
+    void shouldReportMalformedFeedAsParseError() {
+        String broken = "<rss version=\"2.0\"><channel><item><title>Open</item></channel></rss>";
+
+        assertThatThrownBy(() -> parser.parse(stream(broken)))
+                .isInstanceOf(RssParsingException.class)
+                .extracting(e -> ((RssParsingException) e).getCategory())
+                .isEqualTo(ErrorCategory.PARSE_ERROR);
+    }
+
+    @Test
+    @DisplayName("Should report channel ttl and skipHours as hints")
+    void shouldReportChannelHints() throws Exception {
+        String rss = """
+                <rss version="2.0">
+                    <channel>
+                        <title>Slow feed</title>
+                        <ttl>60</ttl>
+                        <skipHours><hour>1</hour><hour>2</hour></skipHours>
+                        <item><title>Only item</title><link>https://example.com/x</link></item>
+                    </channel>
+                </rss>
+                """;
+
+        for (String engine : List.of("stax", "rome")) {
+            List<RssArticle> articles = new ArrayList<>();
+            FeedHints hints = FeedParser.forEngine(engine).parse(stream(rss), articles::add);
+
+            assertThat(articles).hasSize(1);
+            assertThat(hints.ttl()).as(engine).isEqualTo(Duration.ofMinutes(60));
+            assertThat(hints.skipHours()).as(engine).containsExactlyInAnyOrder(1, 2);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LocalDateTime localTime(String instant) {
+        return ZonedDateTime.parse(instant).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
@@ -0,0 +1,181 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.service.pipeline.IngestPipeline;
+import io.conflictradar.ingestion.api.service.pipeline.Stage;
+import io.conflictradar.ingestion.config.PipelineConfig;
+import io.conflictradar.ingestion.config.RssSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestPipelineTest {
+
+    private static final RssSource SOURCE = new RssSource("https://bbc.com/rss", "BBC News", 1.0, true);
+
+    private IngestPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should block the fetching thread while a slow publisher keeps the queues full")
+    void shouldApplyBackpressureFromSlowPublisher() throws Exception {
+        CountDownLatch kafkaBack = new CountDownLatch(1);
+        CountDownLatch publishQueueFull = new CountDownLatch(1);
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        pipeline = new IngestPipeline(new PipelineConfig(1, 2, 1, 2),
+                (source, article, normalizer) -> {
+                    // a-0 is with the publisher and a-1, a-2 are queued for it, so a-3 cannot be handed on
+                    if (article.id().equals("a-3")) publishQueueFull.countDown();
+                    return new IngestPipeline.Analyzed(article, false);
+                },
+                analyzed -> {
+                    awaitQuietly(kafkaBack);
+                    sent.add(analyzed.article().id());
+                },
+                Clock.systemUTC());
+
+        // Records how far the fetching thread got in its list
+        AtomicInteger fetched = new AtomicInteger(-1);
+        CountDownLatch analyzeQueueFull = new CountDownLatch(1);
+        List<RssArticle> articles = new AbstractList<>() {
+            final List<RssArticle> all = articles(20);
+
+            @Override
+            public RssArticle get(int index) {
+                fetched.accumulateAndGet(index, Math::max);
+                // a-4 and a-5 were queued behind a-3, a-6 has no room
+                if (index == 6) analyzeQueueFull.countDown();
+                return all.get(index);
+            }
+
+            @Override
+            public int size() {
+                return all.size();
+            }
+        };
+        List<String> published = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> fetcher = CompletableFuture.runAsync(() -> {
+            try {
+                pipeline.process(SOURCE, articles, article -> published.add(article.id()));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(publishQueueFull.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(analyzeQueueFull.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // One article in each worker, two in each queue: the fetcher is stuck on a-6 until Kafka is back
+        assertThat(stats("publish").queued()).isEqualTo(2);
+        assertThat(stats("analyze").queued()).isEqualTo(2);
+        assertThat(fetched).hasValue(6);
+        assertThat(fetcher).isNotDone();
+        assertThat(sent).isEmpty();
+
+        kafkaBack.countDown();
+        fetcher.get(5, TimeUnit.SECONDS);
+
+        assertThat(fetched).hasValue(19);
+        assertThat(sent).hasSize(20);
+        assertThat(published).containsExactlyElementsOf(sent);
+    }
+
+    @Test
+    @DisplayName("Should skip an article whose analysis fails and publish the rest")
+    void shouldSkipArticlesFailingAnalysis() throws Exception {
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        pipeline = new IngestPipeline(new PipelineConfig(2, 4, 1, 4),
+                (source, article, normalizer) -> {
+                    if (article.id().equals("a-3")) throw new IllegalStateException("bad entry");
+                    return new IngestPipeline.Analyzed(article, false);
+                },
+                analyzed -> sent.add(analyzed.article().id()),
+                Clock.systemUTC());
+
+        pipeline.process(SOURCE, articles(6), article -> {});
+
+        assertThat(sent).containsExactlyInAnyOrder("a-0", "a-1", "a-2", "a-4", "a-5");
+    }
+
+    @Test
+    @DisplayName("Should publish the articles still queued when shut down")
+    void shouldDrainQueuesOnShutdown() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch kafkaBack = new CountDownLatch(1);
+        List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        pipeline = new IngestPipeline(new PipelineConfig(1, 16, 1, 16, Duration.ofSeconds(5)),
+                (source, article, normalizer) -> new IngestPipeline.Analyzed(article, false),
+                analyzed -> {
+                    publishing.countDown();
+                    awaitQuietly(kafkaBack);
+                    sent.add(analyzed.article().id());
+                },
+                Clock.systemUTC());
+
+        CompletableFuture<Void> fetcher = CompletableFuture.runAsync(() -> {
+            try {
+                pipeline.process(SOURCE, articles(10), article -> {});
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(publishing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread shutdown = new Thread(pipeline::shutdown);
+        shutdown.start();
+        // Stopped and waiting for the stages to drain
+        while (shutdown.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+        assertThatThrownBy(() -> pipeline.process(SOURCE, articles(1), article -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        kafkaBack.countDown();
+        shutdown.join(5_000);
+        fetcher.get(5, TimeUnit.SECONDS);
+
+        assertThat(shutdown.isAlive()).isFalse();
+        assertThat(sent).hasSize(10);
+    }
+
+    private Stage.Stats stats(String stage) {
+        return pipeline.stats().stream().filter(s -> s.name().equals(stage)).findFirst().orElseThrow();
+    }
+
+    private static List<RssArticle> articles(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RssArticle("a-" + i, "Title " + i, "Description", "https://bbc.com/" + i,
+                        "BBC", LocalDateTime.now(), Set.of(), 0.0))
+                .toList();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
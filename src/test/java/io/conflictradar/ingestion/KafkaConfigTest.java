@@ -0,0 +1,44 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.config.KafkaConfig;
+import io.conflictradar.ingestion.config.KafkaProducerProfiles;
+import io.conflictradar.ingestion.config.KafkaProperties;
+import io.conflictradar.ingestion.config.KafkaTemplates;
+import io.conflictradar.ingestion.config.ProducerProfile;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaConfigTest {
+
+    private final KafkaProperties topics = new KafkaProperties("news", "alerts", "batches");
+
+    @Test
+    @DisplayName("Should give bulk and alert topics separate producers with their own settings")
+    void shouldSeparateBulkAndAlertProducers() {
+        try (KafkaTemplates templates = new KafkaConfig().kafkaTemplates(topics, KafkaProducerProfiles.defaults())) {
+            var bulk = templates.forTopic("news").getProducerFactory().getConfigurationProperties();
+            var alert = templates.forTopic("alerts").getProducerFactory().getConfigurationProperties();
+
+            assertThat(templates.forTopic("news")).isNotSameAs(templates.forTopic("alerts"));
+            assertThat(bulk).containsEntry(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4")
+                    .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 50);
+            assertThat(alert).containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+                    .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+                    .containsEntry(ProducerConfig.LINGER_MS_CONFIG, 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should share one producer between topics with equal profiles")
+    void shouldShareProducerForEqualProfiles() {
+        var profiles = new KafkaProducerProfiles(ProducerProfile.standard(), ProducerProfile.alert(), null);
+
+        try (KafkaTemplates templates = new KafkaConfig().kafkaTemplates(topics, profiles)) {
+            assertThat(templates.forTopic("news")).isSameAs(templates.forTopic("batches"));
+            assertThat(templates.forTopic("unknown-topic")).isSameAs(templates.forTopic("batches"));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.service.dedup.LocalDedupTier;
+import io.conflictradar.ingestion.config.LocalTierConfig;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalDedupTierTest {
+
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should fall back to Bloom filter once a link left the cache")
+    void shouldFallBackToBloomFilterOnceLinkLeftTheCache() {
+        // 8 cache slots: the first link is pushed out long before the Bloom filter forgets it
+        LocalDedupTier tier = new LocalDedupTier(new LocalTierConfig(true, 8, 10_000, 0.0001, 7), TTL, clock);
+
+        for (int i = 0; i < 1_000; i++) {
+            tier.markSeen(digest(i));
+            clock.advance(Duration.ofSeconds(1));
+        }
+
+        assertThat(tier.isSeen(digest(0))).isTrue();
+        assertThat(tier.isSeen(digest(5_000))).isFalse();
+        assertThat(tier.stats().bloomHits()).isEqualTo(1);
+        assertThat(tier.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget links after the TTL window")
+    void shouldForgetLinksAfterTheTtlWindow() {
+        LocalDedupTier tier = new LocalDedupTier(new LocalTierConfig(true, 1024, 10_000, 0.0001, 7), TTL, clock);
+        tier.markSeen(digest(1));
+
+        clock.advance(TTL.minusHours(1));
+        assertThat(tier.isSeen(digest(1))).isTrue();
+
+        clock.advance(TTL.plusDays(1));
+        assertThat(tier.isSeen(digest(1))).isFalse();
+    }
+
+    private static byte[] digest(int article) {
+        return DigestUtils.md5("https://example.com/article/" + article);
+    }
+}
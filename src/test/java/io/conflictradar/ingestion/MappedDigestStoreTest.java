@@ -0,0 +1,138 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.service.dedup.MappedDigestStore;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedDigestStoreTest {
+
+    private static final long LINK = key("https://example.com/news/1");
+    private static final long OTHER_LINK = key("https://example.com/news/2");
+
+    @TempDir
+    Path dir;
+
+    private final MutableClock clock = new MutableClock();
+    private MappedDigestStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) store.close();
+    }
+
+    @Test
+    @DisplayName("Should claim a link once and report when it was claimed")
+    void shouldClaimOnce() throws IOException {
+        store = open(1_000);
+
+        assertThat(store.claim(LINK)).isTrue();
+        assertThat(store.claim(LINK)).isFalse();
+        assertThat(store.contains(LINK)).isTrue();
+        assertThat(store.contains(OTHER_LINK)).isFalse();
+        assertThat(store.claimedAt(LINK)).isEqualTo(clock.millis());
+        assertThat(store.claimedPerDay()).containsEntry(LocalDate.of(2025, 7, 29), 1L);
+    }
+
+    @Test
+    @DisplayName("Should keep claims across a restart without reloading")
+    void shouldSurviveRestart() throws IOException {
+        store = open(1_000);
+        store.claim(LINK);
+        store.close();
+
+        store = open(1_000);
+
+        assertThat(store.contains(LINK)).isTrue();
+        assertThat(store.claim(LINK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should start empty when the file was written with another table size")
+    void shouldStartOverOnLayoutChange() throws IOException {
+        store = open(1_000);
+        store.claim(LINK);
+        store.close();
+
+        store = open(100_000);
+
+        assertThat(store.contains(LINK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forget a day's links once the day leaves the 8 day window")
+    void shouldExpireByDay() throws IOException {
+        store = open(1_000);
+        store.claim(LINK);
+
+        clock.advance(Duration.ofDays(7));
+        assertThat(store.claim(LINK)).isFalse();
+        store.claim(OTHER_LINK);
+
+        clock.advance(Duration.ofDays(1));
+        assertThat(store.contains(LINK)).isFalse();
+        assertThat(store.contains(OTHER_LINK)).isTrue();
+        assertThat(store.claim(LINK)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should let a removed link be claimed again")
+    void shouldClaimAgainAfterRemove() throws IOException {
+        store = open(1_000);
+        store.claim(LINK);
+
+        assertThat(store.remove(LINK)).isTrue();
+        assertThat(store.contains(LINK)).isFalse();
+        assertThat(store.claim(LINK)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of several concurrent claims of a link succeed")
+    void shouldClaimOnceUnderContention() throws Exception {
+        store = open(10_000);
+        List<Callable<Integer>> claimers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            claimers.add(() -> {
+                int claimed = 0;
+                for (int i = 0; i < 5_000; i++) {
+                    if (store.claim(key("https://example.com/news/" + i))) claimed++;
+                }
+                return claimed;
+            });
+        }
+
+        int claimed = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (Future<Integer> result : executor.invokeAll(claimers)) {
+                claimed += result.get();
+            }
+        }
+
+        assertThat(claimed).isEqualTo(5_000);
+        assertThat(store.stats().claimedInWindow()).isEqualTo(5_000);
+        assertThat(store.stats().overflows()).isZero();
+    }
+
+    private MappedDigestStore open(long linksPerDay) throws IOException {
+        return MappedDigestStore.open(dir.resolve("dedup.store"), linksPerDay, 8, clock);
+    }
+
+    private static long key(String link) {
+        return MappedDigestStore.key(DigestUtils.md5(link));
+    }
+}
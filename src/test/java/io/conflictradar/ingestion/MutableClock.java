@@ -0,0 +1,41 @@
+package io.conflictradar.ingestion;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * UTC clock for tests that only moves when {@link #advance(Duration)} is called.
+ */
+final class MutableClock extends Clock {
+    private Instant now;
+
+    MutableClock() {
+        this(Instant.parse("2025-07-29T10:00:00Z"));
+    }
+
+    MutableClock(Instant start) {
+        this.now = start;
+    }
+
+    void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
@@ -0,0 +1,103 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.service.dedup.NearDuplicateDetector;
+import io.conflictradar.ingestion.config.NearDuplicateConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearDuplicateDetectorTest {
+
+    private static final String WIRE_STORY = "russian drones strike kyiv power grid overnight "
+            + "ukrainian officials said on tuesday that dozens of drones targeted energy infrastructure "
+            + "in the capital, leaving thousands of homes without electricity as temperatures dropped";
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should put syndicated copies of a story into the cluster of the first one")
+    void shouldClusterSyndicatedCopies() {
+        NearDuplicateDetector detector = detector(1_024);
+
+        var original = detector.assign(WIRE_STORY);
+        var reuters = detector.assign("(reuters) - " + WIRE_STORY);
+        var cnn = detector.assign(WIRE_STORY.replace("on tuesday", "tuesday") + " - cnn");
+        var unrelated = detector.assign("central bank raises interest rates for the third time this year "
+                + "as inflation stays above target, economists expect further increases before summer");
+
+        assertThat(original.duplicate()).isFalse();
+        assertThat(reuters.duplicate()).isTrue();
+        assertThat(cnn.duplicate()).isTrue();
+        assertThat(reuters.id()).isEqualTo(original.id());
+        assertThat(cnn.id()).isEqualTo(original.id());
+        assertThat(unrelated.duplicate()).isFalse();
+        assertThat(unrelated.id()).isNotEqualTo(original.id());
+
+        assertThat(detector.stats().clusters()).isEqualTo(2);
+        assertThat(detector.stats().nearDuplicates()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should treat a repeated story as new once it left the window")
+    void shouldForgetStoriesOutsideTheWindow() {
+        NearDuplicateDetector detector = detector(1_024);
+
+        var first = detector.assign(WIRE_STORY);
+        clock.advance(Duration.ofHours(49));
+        var later = detector.assign(WIRE_STORY);
+
+        assertThat(later.duplicate()).isFalse();
+        assertThat(later.id()).isEqualTo(first.id());
+    }
+
+    @Test
+    @DisplayName("Should forget the oldest fingerprints once the index is full")
+    void shouldOverwriteOldestFingerprintsWhenFull() {
+        NearDuplicateDetector detector = detector(4);
+
+        detector.assign(WIRE_STORY);
+        for (int i = 0; i < 4; i++) {
+            detector.assign("story number " + i + " about something else entirely: markets, weather, "
+                    + "sports results and local elections " + Integer.toString(i * 7919, 36));
+        }
+
+        assertThat(detector.assign(WIRE_STORY).duplicate()).isFalse();
+        assertThat(detector.stats().indexedFingerprints()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should not cluster texts too short to compare")
+    void shouldSkipShortTexts() {
+        NearDuplicateDetector detector = detector(1_024);
+
+        assertThat(detector.assign("live updates")).isNull();
+        assertThat(detector.assign("live updates")).isNull();
+        assertThat(detector.stats().skipped()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should alert on the first copy above the threshold, not on the copy that started the cluster")
+    void shouldLeaveTheAlertToTheFirstHighRiskCopy() {
+        NearDuplicateDetector detector = detector(1_024);
+
+        // Below the threshold: assigned, but never claims the alert
+        var original = detector.assign(WIRE_STORY);
+        var reuters = detector.assign("(reuters) - " + WIRE_STORY);
+        var cnn = detector.assign(WIRE_STORY + " - cnn");
+
+        assertThat(original.duplicate()).isFalse();
+        assertThat(reuters.duplicate()).isTrue();
+        assertThat(detector.claimAlert(reuters)).isTrue();
+        assertThat(detector.claimAlert(cnn)).isFalse();
+
+        clock.advance(Duration.ofHours(49));
+        assertThat(detector.claimAlert(cnn)).isTrue();
+    }
+
+    private NearDuplicateDetector detector(int capacity) {
+        return new NearDuplicateDetector(new NearDuplicateConfig(true, 3, Duration.ofHours(48), capacity, 6), clock);
+    }
+}
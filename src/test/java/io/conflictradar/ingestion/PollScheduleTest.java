@@ -0,0 +1,95 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.service.parser.FeedHints;
+import io.conflictradar.ingestion.api.service.schedule.PollSchedule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PollScheduleTest {
+
+    private static final Instant START = Instant.parse("2025-08-01T12:00:00Z");
+
+    private final PollSchedule schedule = new PollSchedule(
+            Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofHours(2));
+
+    @Test
+    @DisplayName("Should keep the initial interval after the first poll")
+    void shouldKeepInitialIntervalAfterFirstPoll() {
+        Instant next = schedule.afterPoll(START, 40, FeedHints.NONE);
+
+        assertThat(next).isEqualTo(START.plus(Duration.ofMinutes(5)));
+        assertThat(schedule.status().itemsPerHour()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should back off a quiet source up to the maximum interval")
+    void shouldBackOffQuietSource() {
+        Instant now = START;
+        Instant next = schedule.afterPoll(now, 10, FeedHints.NONE);
+        Duration previous = Duration.ofMinutes(5);
+
+        for (int i = 0; i < 20; i++) {
+            now = next;
+            next = schedule.afterPoll(now, 0, FeedHints.NONE);
+            Duration interval = Duration.between(now, next);
+            assertThat(interval).isGreaterThanOrEqualTo(previous);
+            previous = interval;
+        }
+
+        assertThat(previous).isEqualTo(Duration.ofHours(2));
+    }
+
+    @Test
+    @DisplayName("Should poll a busy source at its minimum interval")
+    void shouldPollBusySourceOften() {
+        Instant now = START;
+        Instant next = schedule.afterPoll(now, 10, FeedHints.NONE);
+
+        for (int i = 0; i < 5; i++) {
+            now = next;
+            next = schedule.afterPoll(now, 30, FeedHints.NONE);
+        }
+
+        assertThat(Duration.between(now, next)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(schedule.status().itemsPerHour()).isGreaterThan(60);
+    }
+
+    @Test
+    @DisplayName("Should not poll sooner than the feed ttl or max-age")
+    void shouldRespectTtlAndMaxAge() {
+        schedule.afterPoll(START, 10, FeedHints.NONE);
+        Instant now = START.plus(Duration.ofMinutes(5));
+
+        Instant next = schedule.afterPoll(now, 30, new FeedHints(Duration.ofMinutes(30), null, null));
+        assertThat(Duration.between(now, next)).isEqualTo(Duration.ofMinutes(30));
+
+        now = next;
+        next = schedule.afterPoll(now, 30, new FeedHints(Duration.ofMinutes(30), null, Duration.ofMinutes(45)));
+        assertThat(Duration.between(now, next)).isEqualTo(Duration.ofMinutes(45));
+    }
+
+    @Test
+    @DisplayName("Should move a poll out of the feed's skip hours")
+    void shouldSkipHours() {
+        FeedHints hints = new FeedHints(null, Set.of(12, 13), null);
+
+        Instant next = schedule.afterPoll(START, 10, hints);
+
+        assertThat(next).isEqualTo(Instant.parse("2025-08-01T14:00:00Z"));
+    }
+
+    @Test
+    @DisplayName("Should keep the interval after a failed poll")
+    void shouldKeepIntervalAfterFailure() {
+        schedule.afterPoll(START, 10, FeedHints.NONE);
+
+        Instant now = START.plus(Duration.ofMinutes(5));
+        assertThat(schedule.afterFailure(now)).isEqualTo(now.plus(Duration.ofMinutes(5)));
+    }
+}
@@ -0,0 +1,59 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.schedule.RetryPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-01T12:00:00Z");
+
+    private final RetryPolicy policy = new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofSeconds(3),
+            100, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Should retry only transient errors")
+    void shouldRetryOnlyTransientErrors() {
+        assertThat(policy.retryDelay(ErrorCategory.TIMEOUT, 1, NOW)).isNotNull();
+        assertThat(policy.retryDelay(ErrorCategory.NETWORK_ERROR, 1, NOW)).isNotNull();
+        assertThat(policy.retryDelay(ErrorCategory.SERVER_UNAVAILABLE, 1, NOW)).isNotNull();
+
+        assertThat(policy.retryDelay(ErrorCategory.NOT_FOUND, 1, NOW)).isNull();
+        assertThat(policy.retryDelay(ErrorCategory.RATE_LIMITED, 1, NOW)).isNull();
+        assertThat(policy.retryDelay(ErrorCategory.PARSE_ERROR, 1, NOW)).isNull();
+        assertThat(policy.retryDelay(null, 1, NOW)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should spread delays up to the capped exponential ceiling")
+    void shouldSpreadDelaysWithFullJitter() {
+        long distinct = IntStream.range(0, 50)
+                .mapToObj(i -> policy.retryDelay(ErrorCategory.TIMEOUT, 1, NOW))
+                .peek(delay -> assertThat(delay).isBetween(Duration.ZERO, Duration.ofSeconds(1)))
+                .distinct()
+                .count();
+        assertThat(distinct).isGreaterThan(1);
+
+        assertThat(policy.retryDelay(ErrorCategory.TIMEOUT, 3, NOW)).isBetween(Duration.ZERO, Duration.ofSeconds(3));
+        assertThat(policy.retryDelay(ErrorCategory.TIMEOUT, 4, NOW)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the budget of the window is spent")
+    void shouldEnforceRetryBudget() {
+        RetryPolicy limited = new RetryPolicy(3, Duration.ofSeconds(1), Duration.ofSeconds(3), 2, Duration.ofMinutes(1));
+
+        assertThat(limited.retryDelay(ErrorCategory.TIMEOUT, 1, NOW)).isNotNull();
+        assertThat(limited.retryDelay(ErrorCategory.TIMEOUT, 1, NOW.plusSeconds(10))).isNotNull();
+        assertThat(limited.retryDelay(ErrorCategory.TIMEOUT, 1, NOW.plusSeconds(20))).isNull();
+
+        assertThat(limited.retryDelay(ErrorCategory.TIMEOUT, 1, NOW.plusSeconds(60))).isNotNull();
+    }
+}
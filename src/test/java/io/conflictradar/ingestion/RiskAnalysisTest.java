@@ -0,0 +1,71 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.config.RiskAnalysis;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RiskAnalysisTest {
+
+    private final RiskAnalysis riskAnalysis = new RiskAnalysis(
+            Set.of("war", "conflict", "attack", "bomb", "military", "car bomb"),
+            Set.of("war", "bomb", "attack"),
+            Set.of("nuclear", "genocide")
+    );
+
+    @Test
+    @DisplayName("Should only match whole words")
+    void shouldOnlyMatchWholeWords() {
+        Set<String> keywords = riskAnalysis.findKeywords(
+                "Award-winning bombastic reporter warns of warfare in Stalwart county");
+
+        assertThat(keywords).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match plurals, possessives and mixed case")
+    void shouldMatchPluralsPossessivesAndMixedCase() {
+        Set<String> keywords = riskAnalysis.findKeywords(
+                "ATTACKS continue; the military's response to the War. Car bomb reported");
+
+        assertThat(keywords).containsExactlyInAnyOrder("attack", "military", "war", "bomb", "car bomb");
+    }
+
+    @Test
+    @DisplayName("Should report highest tier of matched keywords")
+    void shouldReportHighestTierOfMatchedKeywords() {
+        assertThat(riskAnalysis.match("Military conflict").tier()).isEqualTo(RiskAnalysis.Tier.CONFLICT);
+        assertThat(riskAnalysis.match("Military conflict and war").tier()).isEqualTo(RiskAnalysis.Tier.HIGH_RISK);
+        assertThat(riskAnalysis.match("War and nuclear threat").tier()).isEqualTo(RiskAnalysis.Tier.CRITICAL);
+        assertThat(riskAnalysis.match("Trade talks").tier()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should score by keyword count and tier, scaled by source weight")
+    void shouldScoreByKeywordCountAndTier() {
+        assertThat(riskAnalysis.match("Military conflict").riskScore(1.0)).isEqualTo(0.3);
+        assertThat(riskAnalysis.match("Military conflict and war").riskScore(1.0)).isEqualTo(0.7);
+        assertThat(riskAnalysis.match("War and nuclear threat").riskScore(0.9)).isEqualTo(0.63);
+        assertThat(riskAnalysis.match("Trade talks").riskScore(1.0)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should handle thousands of overlapping keywords")
+    void shouldHandleThousandsOfOverlappingKeywords() {
+        Set<String> keywords = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            keywords.add("term" + i);
+        }
+        keywords.add("he");
+        keywords.add("she");
+        keywords.add("hers");
+        RiskAnalysis large = new RiskAnalysis(keywords, Set.of(), Set.of());
+
+        assertThat(large.findKeywords("ushers: she said term4999 and term12, not term50000"))
+                .containsExactlyInAnyOrder("she", "term4999", "term12");
+    }
+}
@@ -0,0 +1,290 @@
+package io.conflictradar.ingestion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.conflictradar.ingestion.api.RSSController;
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.EventPublisherService;
+import io.conflictradar.ingestion.api.service.FeedAnalysisService;
+import io.conflictradar.ingestion.api.service.RssDeduplicationService;
+import io.conflictradar.ingestion.api.service.RssParsingService;
+import io.conflictradar.ingestion.api.service.ScheduledRssService;
+import io.conflictradar.ingestion.api.service.dedup.NearDuplicateDetector;
+import io.conflictradar.ingestion.api.service.job.BulkIngestService;
+import io.conflictradar.ingestion.config.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class RssControllerTest {
+
+    private static final String URL = "https://example.com/rss";
+
+    @Mock
+    private RssDeduplicationService deduplicationService;
+
+    @Mock
+    private EventPublisherService eventPublisher;
+
+    @Mock
+    private RssParsingService rssParsingService;
+
+    @Mock
+    private FeedAnalysisService feedAnalysisService;
+
+    @Mock
+    private BulkIngestService bulkIngestService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ScheduledRssService scheduledRssService;
+    private RSSController controller;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        ProcessingConfig processing = new ProcessingConfig(Duration.ofMinutes(5), Duration.ofSeconds(30), 0.6, true);
+        RiskAnalysis riskAnalysis = new RiskAnalysis(Set.of("war"), Set.of("war"), Set.of("nuclear"));
+        HttpConfig httpConfig = new HttpConfig(1000, 3000, 3, 1000, List.of("TestAgent"),
+                true, 16, 4);
+        RssConfig rssConfig = new RssConfig(List.of(), processing, httpConfig, riskAnalysis,
+                new ConcurrencyConfig(true, 4, 2), ParserConfig.defaults());
+
+        // Real poller: the endpoints publish through its analyze and publish stages
+        scheduledRssService = new ScheduledRssService(rssParsingService, deduplicationService, eventPublisher, rssConfig);
+        controller = new RSSController(deduplicationService, eventPublisher, scheduledRssService,
+                feedAnalysisService, rssConfig, objectMapper, bulkIngestService);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.shutdown();
+        scheduledRssService.shutdown();
+    }
+
+    @Test
+    @DisplayName("NDJSON stream should write one article per line and end with an end line")
+    void ndjsonStreamShouldFrameArticlesByLine() throws Exception {
+        feed(articles(3));
+        claimAll();
+
+        MvcResult started = mvc.perform(get("/api/v1/rss/feeds/stream").param("url", URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        String[] lines = started.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(4);
+        for (int i = 0; i < 3; i++) {
+            assertThat(objectMapper.readTree(lines[i]).get("link").asText()).isEqualTo(link(i));
+        }
+        JsonNode end = objectMapper.readTree(lines[3]).get("end");
+        assertThat(end.get("url").asText()).isEqualTo(URL);
+        assertThat(end.get("articles").asInt()).isEqualTo(3);
+        assertThat(end.get("newArticles").asInt()).isEqualTo(3);
+        assertThat(end.get("error").isNull()).isTrue();
+        verify(eventPublisher).publishBatchProcessed("manual-request", 3, 3);
+    }
+
+    @Test
+    @DisplayName("SSE stream should send an article event per new article and a final end event")
+    void sseStreamShouldSendArticleAndEndEvents() throws Exception {
+        feed(articles(2));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection()))
+                .thenReturn(Set.of(link(1)));
+
+        MvcResult started = mvc.perform(get("/api/v1/rss/feeds/events").param("url", URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        String body = started.getResponse().getContentAsString();
+        assertThat(body.split("event:article", -1)).hasSize(2);
+        assertThat(body).contains("id:id-1").doesNotContain("id:id-0");
+        assertThat(body).contains("event:end");
+        assertThat(body.indexOf("event:end")).isGreaterThan(body.indexOf("event:article"));
+        assertThat(body).contains("\"articles\":2").contains("\"newArticles\":1");
+    }
+
+    @Test
+    @DisplayName("Streaming ingest should claim links in chunks of 32")
+    void streamingIngestShouldClaimInChunks() throws Exception {
+        feed(articles(70));
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> links = invocation.getArgument(1);
+            chunkSizes.add(links.size());
+            return Set.copyOf(links);
+        });
+
+        MvcResult started = mvc.perform(get("/api/v1/rss/feeds/stream").param("url", URL))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertThat(chunkSizes).containsExactly(32, 32, 6);
+        assertThat(started.getResponse().getContentAsString().split("\n")).hasSize(71);
+        verify(eventPublisher, times(70)).publishNewsIngested(any());
+    }
+
+    @Test
+    @DisplayName("Streaming a slow feed should write each article before the next one is read")
+    void slowFeedShouldNotWaitForAFullChunk() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Boolean> writtenBeforeNext = new ArrayList<>();
+        when(feedAnalysisService.streamFeed(eq(URL), any())).thenAnswer(invocation -> {
+            Consumer<RssArticle> sink = invocation.getArgument(1);
+            List<RssArticle> articles = articles(3);
+            for (int i = 0; i < articles.size(); i++) {
+                Thread.sleep(150);
+                sink.accept(articles.get(i));
+                writtenBeforeNext.add(out.toString(StandardCharsets.UTF_8).contains(link(i)));
+            }
+            return null;
+        });
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> {
+            Collection<String> links = invocation.getArgument(1);
+            chunkSizes.add(links.size());
+            return Set.copyOf(links);
+        });
+
+        controller.streamNewArticles(URL).getBody().writeTo(out);
+
+        assertThat(chunkSizes).containsExactly(1, 1, 1);
+        assertThat(writtenBeforeNext).containsExactly(true, true, true);
+    }
+
+    @Test
+    @DisplayName("Streaming should stop reading the feed once the client goes away")
+    @SuppressWarnings("unchecked")
+    void streamingShouldStopWhenClientDisconnects() {
+        AtomicInteger read = new AtomicInteger();
+        when(feedAnalysisService.streamFeed(eq(URL), any())).thenAnswer(invocation -> {
+            Consumer<RssArticle> sink = invocation.getArgument(1);
+            for (RssArticle article : articles(100)) {
+                read.incrementAndGet();
+                sink.accept(article);
+            }
+            return null;
+        });
+        claimAll();
+
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> controller.streamNewArticles(URL).getBody().writeTo(disconnected))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        // The first chunk failed to write, so no further article was read
+        assertThat(read).hasValue(32);
+        verify(eventPublisher, never()).publishBatchProcessed(anyString(), anyInt(), anyInt());
+        ArgumentCaptor<Collection<String>> claimed = ArgumentCaptor.forClass(Collection.class);
+        verify(deduplicationService).filterAndMarkNew(anyString(), claimed.capture());
+        assertThat(claimed.getValue()).hasSize(32);
+    }
+
+    @Test
+    @DisplayName("GET /feeds should cluster new articles and alert once per story, like a poll")
+    void manualIngestShouldShareTheClusterAlert() throws Exception {
+        RssArticle copy = new RssArticle("id-0", "Nuclear war threat", "War escalates", link(0), "Author",
+                LocalDateTime.of(2024, 1, 1, 12, 0), Set.of(), 0.0);
+        NearDuplicateDetector.Cluster cluster = new NearDuplicateDetector.Cluster("9f3c0a12e4b87d65", true);
+        when(feedAnalysisService.getFeed(URL)).thenReturn(new FeedAnalysisService.AnalyzedFeed(URL, List.of(copy), null, null));
+        claimAll();
+        when(deduplicationService.assignCluster(any())).thenReturn(cluster);
+        // Another copy of the story was already alerted on
+        when(deduplicationService.claimClusterAlert(cluster)).thenReturn(false);
+
+        MvcResult result = mvc.perform(get("/api/v1/rss/feeds").param("url", URL))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(body.get(0).get("clusterId").asText()).isEqualTo("9f3c0a12e4b87d65");
+
+        ArgumentCaptor<RssArticle> published = ArgumentCaptor.forClass(RssArticle.class);
+        verify(eventPublisher).publishNewsIngested(published.capture());
+        assertThat(published.getValue().clusterId()).isEqualTo("9f3c0a12e4b87d65");
+        assertThat(published.getValue().riskScore()).isGreaterThan(0.6);
+        verify(eventPublisher, never()).publishHighRiskDetected(any());
+    }
+
+    @Test
+    @DisplayName("Fixed-source endpoints should report upstream failures instead of an empty list")
+    void fixedSourceEndpointsShouldReportFetchErrors() throws Exception {
+        when(feedAnalysisService.getFeed(anyString())).thenAnswer(invocation -> new FeedAnalysisService.AnalyzedFeed(
+                invocation.getArgument(0), List.of(), ErrorCategory.CIRCUIT_OPEN, null));
+
+        mvc.perform(get("/api/v1/rss/feeds/bbc")).andExpect(status().isServiceUnavailable());
+        mvc.perform(get("/api/v1/rss/feeds/cnn/analysis")).andExpect(status().isServiceUnavailable());
+
+        when(feedAnalysisService.getFeed(anyString())).thenAnswer(invocation -> new FeedAnalysisService.AnalyzedFeed(
+                invocation.getArgument(0), List.of(), ErrorCategory.NOT_FOUND, null));
+
+        mvc.perform(get("/api/v1/rss/feeds/reuters")).andExpect(status().isBadGateway());
+    }
+
+    private void feed(List<RssArticle> articles) {
+        when(feedAnalysisService.streamFeed(eq(URL), any())).thenAnswer(invocation -> {
+            Consumer<RssArticle> sink = invocation.getArgument(1);
+            articles.forEach(sink);
+            return null;
+        });
+    }
+
+    private void claimAll() {
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection()))
+                .thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
+    }
+
+    private static List<RssArticle> articles(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new RssArticle("id-" + i, "Title " + i, "Description " + i, link(i), "Author",
+                        LocalDateTime.of(2024, 1, 1, 12, 0), Set.of(), 0.1))
+                .toList();
+    }
+
+    private static String link(int i) {
+        return "https://example.com/articles/" + i;
+    }
+}
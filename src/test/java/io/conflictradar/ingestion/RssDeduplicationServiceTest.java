@@ -1,17 +1,47 @@
 package io.conflictradar.ingestion;
 
 import io.conflictradar.ingestion.api.service.RssDeduplicationService;
+import io.conflictradar.ingestion.api.service.dedup.DigestBuckets;
+import io.conflictradar.ingestion.config.DedupConfig;
+import io.conflictradar.ingestion.config.EmbeddedStoreConfig;
+import io.conflictradar.ingestion.config.LocalTierConfig;
+import io.conflictradar.ingestion.config.RedisDedupConfig;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -25,7 +55,7 @@ public class RssDeduplicationServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new RssDeduplicationService(redisTemplate);
+        service = new RssDeduplicationService(redisTemplate, DedupConfig.defaults());
     }
 
     @Test
@@ -64,4 +94,255 @@ public class RssDeduplicationServiceTest {
                 eq(Duration.ofDays(7))
         );
     }
+
+    @Test
+    void shouldClaimNewLinksInSingleScriptCall() {
+        List<String> links = List.of(
+                "https://example.com/news/1",
+                "https://example.com/news/2",
+                "https://example.com/news/1",
+                "https://example.com/news/3"
+        );
+        // Script reports positions 1 and 3 of the de-duplicated key list as claimed
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(1L, 3L));
+
+        Set<String> claimed = service.filterAndMarkNew("BBC News", links);
+
+        assertThat(claimed).containsExactlyInAnyOrder("https://example.com/news/1", "https://example.com/news/3");
+        // Counter keys first, then one article key per link: every key the script touches is in KEYS
+        verify(redisTemplate).execute(any(RedisScript.class),
+                argThat((List<String> keys) -> keys.size() == 6
+                        && keys.subList(0, 3).equals(List.of("rss:stats:day:" + LocalDate.now(ZoneOffset.UTC),
+                                "rss:stats:source:" + LocalDate.now(ZoneOffset.UTC), "rss:stats:since"))
+                        && keys.subList(3, 6).stream().allMatch(k -> k.startsWith("rss:article:"))),
+                anyString(),
+                eq(String.valueOf(Duration.ofDays(7).toMillis())),
+                eq("BBC News"),
+                anyString(),
+                anyString());
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void shouldTakeLinksAsNewWhenSynchronousClaimFails() {
+        service = new RssDeduplicationService(redisTemplate,
+                new DedupConfig(new LocalTierConfig(true, 1024, 10_000, 0.0001, 7)));
+        List<String> links = List.of("https://example.com/news/1", "https://example.com/news/2");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        Set<String> claimed = service.filterAndMarkNew("BBC News", links);
+
+        assertThat(claimed).containsExactlyInAnyOrderElementsOf(links);
+        // Remembered locally, the next tick does not ask Redis again
+        assertThat(service.filterAndMarkNew("BBC News", links)).isEmpty();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldClaimBinaryDigestsIntoDayBucketsWhileMigrating() {
+        service = new RssDeduplicationService(redisTemplate,
+                new DedupConfig(null, null, new RedisDedupConfig(RedisDedupConfig.Layout.MIGRATE, 512)));
+        List<String> links = List.of("https://example.com/news/1", "https://example.com/news/2", "https://example.com/news/3");
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenReturn(List.of(2L));
+
+        Set<String> claimed = service.filterAndMarkNew("BBC News", links);
+
+        assertThat(claimed).containsExactly("https://example.com/news/2");
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                keys.capture(), args.capture());
+
+        // Counter keys, then per link its bucket in each of the 8 days and, while migrating, its legacy key
+        List<String> scriptKeys = keys.getValue();
+        assertThat(scriptKeys).hasSize(3 + 3 * 9);
+        assertThat(scriptKeys.get(0)).isEqualTo("rss:stats:day:" + LocalDate.now(ZoneOffset.UTC));
+        assertThat(scriptKeys.get(3))
+                .startsWith("rss:seen:" + LocalDate.now(ZoneOffset.UTC).format(DateTimeFormatter.BASIC_ISO_DATE) + ":");
+        assertThat(scriptKeys.subList(3, 11)).allMatch(key -> key.startsWith("rss:seen:"));
+        assertThat(scriptKeys.get(11)).startsWith("rss:article:");
+        Object[] argv = args.getValue();
+        assertThat(new String((byte[]) argv[0])).isEqualTo("8");
+        assertThat(new String((byte[]) argv[1])).isEqualTo("1");
+        assertThat((byte[]) argv[4]).hasSize(3 * DigestBuckets.FIELD_BYTES);
+        assertThat(new String((byte[]) argv[5])).isEqualTo("BBC News");
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadProcessedTimeFromBucketOrLegacyKey() {
+        service = new RssDeduplicationService(redisTemplate,
+                new DedupConfig(null, null, new RedisDedupConfig(RedisDedupConfig.Layout.MIGRATE, 512)));
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenReturn(List.of(1L, 615L)).thenReturn(null);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get(anyString())).thenReturn("2025-07-28T09:00:00");
+
+        assertThat(service.getProcessedTime("https://example.com/news/1"))
+                .isEqualTo(LocalDate.now(ZoneOffset.UTC).minusDays(1).atTime(10, 15).toString());
+        assertThat(service.getProcessedTime("https://example.com/news/2")).isEqualTo("2025-07-28T09:00:00");
+        verify(valueOps).get(RssDeduplicationService.generateKey("https://example.com/news/2"));
+    }
+
+    @Test
+    void shouldClaimWithAsyncScriptOnSharedConnection() {
+        RedisClusterAsyncCommands<byte[], byte[]> commands = asyncCommands(CompletableFuture.completedFuture(List.of(2L)));
+        service = new RssDeduplicationService(redisTemplate, new DedupConfig(null, null,
+                new RedisDedupConfig(RedisDedupConfig.Layout.KEYS, 0, true, Duration.ofSeconds(1))));
+
+        Set<String> claimed = service.filterAndMarkNew("BBC News",
+                List.of("https://example.com/news/1", "https://example.com/news/2"));
+
+        assertThat(claimed).containsExactly("https://example.com/news/2");
+        verify(commands).evalsha(anyString(), eq(ScriptOutputType.MULTI),
+                argThat((byte[][] keys) -> keys.length == 3 + 2), any(byte[][].class));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(service.getAsyncClaimStats().calls()).isEqualTo(1);
+        assertThat(service.getAsyncClaimStats().inFlight()).isZero();
+    }
+
+    @Test
+    void shouldTakeLinksAsNewWhenAsyncClaimTimesOut() {
+        asyncCommands(new CompletableFuture<>());
+        service = new RssDeduplicationService(redisTemplate, new DedupConfig(
+                new LocalTierConfig(true, 1024, 10_000, 0.0001, 7), null,
+                new RedisDedupConfig(RedisDedupConfig.Layout.BUCKETS, 0, true, Duration.ofMillis(50))));
+        List<String> links = List.of("https://example.com/news/1", "https://example.com/news/2");
+
+        Set<String> firstTick = service.filterAndMarkNew("BBC News", links);
+        Set<String> secondTick = service.filterAndMarkNew("BBC News", links);
+
+        assertThat(firstTick).containsExactlyInAnyOrderElementsOf(links);
+        // Published once: the local tier remembers links taken as new
+        assertThat(secondTick).isEmpty();
+        assertThat(service.getAsyncClaimStats().timeouts()).isEqualTo(1);
+        assertThat(service.getAsyncClaimStats().failures()).isZero();
+    }
+
+    @Test
+    void shouldFailSingleLinkLookupWhenAsyncReplyTimesOut() {
+        asyncCommands(new CompletableFuture<>());
+        service = new RssDeduplicationService(redisTemplate, new DedupConfig(null, null,
+                new RedisDedupConfig(RedisDedupConfig.Layout.BUCKETS, 0, true, Duration.ofMillis(50))));
+
+        assertThatThrownBy(() -> service.isAlreadyProcessed("https://example.com/news/1"))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThat(service.getAsyncClaimStats().timeouts()).isEqualTo(1);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void shouldKeepLinksInEmbeddedStoreWithoutRedis(@TempDir Path dir) throws IOException {
+        service = new RssDeduplicationService(redisTemplate, new DedupConfig(
+                new LocalTierConfig(true, 1024, 10_000, 0.0001, 7), null, null,
+                new EmbeddedStoreConfig(true, dir.resolve("dedup.store"), 1_000)));
+        List<String> links = List.of("https://example.com/news/1", "https://example.com/news/2");
+
+        Set<String> firstTick = service.filterAndMarkNew("BBC News", List.of("https://example.com/news/1"));
+        Set<String> secondTick = service.filterAndMarkNew("BBC News", links);
+        service.removeProcessedMark("https://example.com/news/1");
+
+        assertThat(firstTick).containsExactly("https://example.com/news/1");
+        assertThat(secondTick).containsExactly("https://example.com/news/2");
+        assertThat(service.isAlreadyProcessed("https://example.com/news/1")).isFalse();
+        assertThat(service.getProcessedTime("https://example.com/news/2")).isNotNull();
+        assertThat(service.getKeyspaceStats().claimedPerDay().values()).containsExactly(2L);
+        assertThat(service.getLocalTierStats()).isNull();
+        verifyNoInteractions(redisTemplate);
+        service.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisClusterAsyncCommands<byte[], byte[]> asyncCommands(CompletableFuture<List<Long>> reply) {
+        LettuceConnectionFactory connectionFactory = mock(LettuceConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisClusterAsyncCommands<byte[], byte[]> commands = mock(RedisClusterAsyncCommands.class);
+        RedisFuture<List<Long>> future = mock(RedisFuture.class);
+
+        when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.getShareNativeConnection()).thenReturn(true);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.getNativeConnection()).thenReturn(commands);
+        when(future.toCompletableFuture()).thenReturn(reply);
+        doReturn(future).when(commands).evalsha(anyString(), any(ScriptOutputType.class), any(byte[][].class), any(byte[][].class));
+        return commands;
+    }
+
+    @Test
+    void shouldNotCallRedisForEmptyBatch() {
+        Set<String> claimed = service.filterAndMarkNew("BBC News", List.of());
+
+        assertThat(claimed).isEmpty();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void shouldAnswerRepeatedLinksFromLocalTier() {
+        service = new RssDeduplicationService(redisTemplate,
+                new DedupConfig(new LocalTierConfig(true, 1024, 10_000, 0.0001, 7)));
+        List<String> links = List.of("https://example.com/news/1", "https://example.com/news/2");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(1L));
+
+        Set<String> firstTick = service.filterAndMarkNew("BBC News", links);
+        Set<String> secondTick = service.filterAndMarkNew("BBC News", links);
+
+        assertThat(firstTick).containsExactly("https://example.com/news/1");
+        assertThat(secondTick).isEmpty();
+        assertThat(service.isAlreadyProcessed("https://example.com/news/2")).isTrue();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verify(redisTemplate, never()).hasKey(anyString());
+        assertThat(service.getLocalTierStats().cacheHits()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldCountArticlesFromDayCounters() {
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(redisTemplate.opsForHash()).thenReturn(hashOps);
+
+        // 8 buckets, oldest first: only yesterday and today have claims
+        List<String> counts = new ArrayList<>(Collections.nCopies(6, null));
+        counts.add("40");
+        counts.add("2");
+        when(valueOps.multiGet(anyList())).thenReturn(counts);
+        when(hashOps.entries(anyString())).thenReturn(Map.of("BBC News", "30", "Reuters", "10"));
+        when(valueOps.get("rss:stats:since"))
+                .thenReturn(String.valueOf(System.currentTimeMillis() - Duration.ofDays(30).toMillis()));
+
+        RssDeduplicationService.KeyspaceStats stats = service.getKeyspaceStats();
+
+        assertThat(stats.activeArticles()).isEqualTo(42);
+        assertThat(stats.countedBy()).isEqualTo("counters");
+        assertThat(stats.claimedPerDay()).containsEntry(LocalDate.now(ZoneOffset.UTC), 2L);
+        assertThat(stats.claimedPerSourcePerDay().get(LocalDate.now(ZoneOffset.UTC).minusDays(1)))
+                .containsEntry("BBC News", 30L);
+        verify(redisTemplate, never()).keys(anyString());
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+    }
+
+    @Test
+    void shouldFallBackToScanUntilCountersCoverTtl() {
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class);
+        Cursor<String> cursor = mock(Cursor.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        when(valueOps.multiGet(anyList())).thenReturn(Collections.nCopies(8, null));
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, true, false);
+
+        RssDeduplicationService.KeyspaceStats stats = service.getKeyspaceStats();
+
+        assertThat(stats.activeArticles()).isEqualTo(3);
+        assertThat(stats.countedBy()).isEqualTo("scan");
+        verify(redisTemplate, never()).keys(anyString());
+
+        // Repeated health checks reuse the count instead of scanning again
+        assertThat(service.getKeyspaceStats().activeArticles()).isEqualTo(3);
+        verify(redisTemplate, times(1)).scan(any(ScanOptions.class));
+    }
 }
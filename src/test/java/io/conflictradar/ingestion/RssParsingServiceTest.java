@@ -0,0 +1,262 @@
+package io.conflictradar.ingestion;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
+import io.conflictradar.ingestion.api.service.FeedHttpClient;
+import io.conflictradar.ingestion.api.service.RssParsingService;
+import io.conflictradar.ingestion.api.service.RssParsingService.FeedResult;
+import io.conflictradar.ingestion.api.service.breaker.FeedCircuitBreaker;
+import io.conflictradar.ingestion.api.service.parser.FeedHints;
+import io.conflictradar.ingestion.config.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RssParsingServiceTest {
+
+    private static final String FEED = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <rss version="2.0">
+                <channel>
+                    <title>Test RSS</title>
+                    <item>
+                        <title>First &lt;b&gt;Article&lt;/b&gt;</title>
+                        <link>https://example.com/1</link>
+                        <description>First description</description>
+                        <pubDate>Tue, 29 Jul 2025 10:00:00 GMT</pubDate>
+                    </item>
+                    <item>
+                        <title>Second Article</title>
+                        <link>https://example.com/2</link>
+                        <description>Second description</description>
+                    </item>
+                </channel>
+            </rss>
+            """;
+
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+    private final List<String> userAgents = new CopyOnWriteArrayList<>();
+    private final List<String> conditionalHeaders = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private FeedHttpClient httpClient;
+    private RssParsingService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/rss.xml", exchange -> respond(exchange, 200, FEED.getBytes(StandardCharsets.UTF_8), null));
+        server.createContext("/gzip.xml", exchange -> respond(exchange, 200, gzip(FEED), "gzip"));
+        server.createContext("/cached.xml", exchange -> {
+            conditionalHeaders.add(String.valueOf(exchange.getRequestHeaders().getFirst("If-None-Match")));
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Last-Modified", "Tue, 29 Jul 2025 10:00:00 GMT");
+            boolean unchanged = "\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            respond(exchange, unchanged ? 304 : 200, unchanged ? new byte[0] : FEED.getBytes(StandardCharsets.UTF_8), null);
+        });
+        server.createContext("/missing.xml", exchange -> respond(exchange, 404, new byte[0], null));
+        server.createContext("/limited.xml", exchange -> {
+            exchange.getResponseHeaders().add("Retry-After", "120");
+            respond(exchange, 429, new byte[0], null);
+        });
+        server.start();
+
+        HttpConfig httpConfig = new HttpConfig(2000, 5000, 3, 1000,
+                List.of("Agent-A", "Agent-B", "Agent-C"), true, 16, 4);
+
+        RssConfig rssConfig = new RssConfig(
+                List.of(),
+                new ProcessingConfig(Duration.ofMinutes(5), Duration.ofSeconds(30), 0.6, true),
+                httpConfig,
+                new RiskAnalysis(Set.of("war"), Set.of("war"), Set.of("nuclear")),
+                ConcurrencyConfig.sequential(),
+                ParserConfig.defaults()
+        );
+
+        httpClient = new FeedHttpClient(rssConfig);
+        service = new RssParsingService(rssConfig, httpClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should parse articles from feed")
+    void shouldParseArticlesFromFeed() {
+        List<RssArticle> articles = service.parseRssFromUrl(url("/rss.xml"));
+
+        assertThat(articles).hasSize(2);
+        assertThat(articles.get(0).title()).isEqualTo("First Article");
+        assertThat(articles.get(0).link()).isEqualTo("https://example.com/1");
+        assertThat(articles.get(1).description()).isEqualTo("Second description");
+    }
+
+    @Test
+    @DisplayName("Should decode gzip encoded feed")
+    void shouldDecodeGzipEncodedFeed() {
+        List<RssArticle> articles = service.parseRssFromUrl(url("/gzip.xml"));
+
+        assertThat(articles).extracting(RssArticle::link)
+                .containsExactly("https://example.com/1", "https://example.com/2");
+    }
+
+    @Test
+    @DisplayName("Should reuse pooled connection across polls")
+    void shouldReusePooledConnectionAcrossPolls() {
+        service.parseRssFromUrl(url("/rss.xml"));
+        service.parseRssFromUrl(url("/rss.xml"));
+        service.parseRssFromUrl(url("/missing.xml"));
+
+        assertThat(clientPorts).hasSize(3);
+        assertThat(clientPorts).containsOnly(clientPorts.get(0));
+    }
+
+    @Test
+    @DisplayName("Should skip parsing when feed is not modified")
+    void shouldSkipParsingWhenFeedIsNotModified() {
+        List<RssArticle> firstPoll = service.parseRssFromUrl(url("/cached.xml"));
+        List<RssArticle> secondPoll = service.parseRssFromUrl(url("/cached.xml"));
+
+        assertThat(firstPoll).hasSize(2);
+        assertThat(secondPoll).isEmpty();
+        assertThat(conditionalHeaders).containsExactly("null", "\"v1\"");
+    }
+
+    @Test
+    @DisplayName("Should send validators only after the caller committed them")
+    void shouldSendValidatorsOnlyOnceCommitted() {
+        FeedResult handedOff = service.fetchRss(url("/cached.xml"));
+        // Not committed, e.g. dedup failed: the feed is downloaded again
+        FeedResult retried = service.fetchRss(url("/cached.xml"));
+        service.commitValidators(url("/cached.xml"), retried);
+        FeedResult unchanged = service.fetchRss(url("/cached.xml"));
+
+        assertThat(handedOff.articles()).hasSize(2);
+        assertThat(handedOff.validators().etag()).isEqualTo("\"v1\"");
+        assertThat(retried.articles()).hasSize(2);
+        assertThat(unchanged.articles()).isEmpty();
+        assertThat(unchanged.validators()).isNull();
+        assertThat(conditionalHeaders).containsExactly("null", "null", "\"v1\"");
+    }
+
+    @Test
+    @DisplayName("Should fetch a full copy of the feed without touching poll validators")
+    void shouldFetchUnconditionallyWithoutTouchingValidators() {
+        service.parseRssFromUrl(url("/cached.xml"));
+
+        List<RssArticle> fetched = new ArrayList<>();
+        ErrorCategory error = service.streamRssFromUrl(url("/cached.xml"), fetched::add);
+
+        assertThat(error).isNull();
+        assertThat(fetched).hasSize(2);
+        assertThat(service.parseRssFromUrl(url("/cached.xml"))).isEmpty();
+        assertThat(conditionalHeaders).containsExactly("null", "null", "\"v1\"");
+    }
+
+    @Test
+    @DisplayName("Should pass sink failures on without counting them against the feed")
+    void shouldPassSinkFailuresOn() {
+        IllegalStateException clientGone = new IllegalStateException("client gone");
+
+        assertThatThrownBy(() -> service.streamRssFromUrl(url("/rss.xml"), article -> {
+            throw clientGone;
+        })).isSameAs(clientGone);
+
+        assertThat(service.getCircuitStatus(url("/rss.xml")).consecutiveFailures()).isZero();
+    }
+
+    @Test
+    @DisplayName("One-off fetches should leave no circuit state or hints behind")
+    void oneOffFetchShouldKeepNoState() {
+        assertThat(service.fetchOnce(url("/missing.xml")).error()).isEqualTo(ErrorCategory.NOT_FOUND);
+        assertThat(service.fetchOnce(url("/missing.xml")).error()).isEqualTo(ErrorCategory.NOT_FOUND);
+        assertThat(service.fetchOnce(url("/cached.xml")).articles()).hasSize(2);
+
+        assertThat(service.getCircuitStatus(url("/missing.xml"))).isEqualTo(FeedCircuitBreaker.Status.CLOSED);
+        assertThat(service.getFeedHints(url("/cached.xml"))).isSameAs(FeedHints.NONE);
+        // The next poll is still a full download
+        assertThat(service.parseRssFromUrl(url("/cached.xml"))).hasSize(2);
+        assertThat(conditionalHeaders).containsExactly("null", "null");
+    }
+
+    @Test
+    @DisplayName("Should return empty list when feed is missing")
+    void shouldReturnEmptyListWhenFeedIsMissing() {
+        assertThat(service.parseRssFromUrl(url("/missing.xml"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not contact a rate limited host again before Retry-After")
+    void shouldSkipRateLimitedHostUntilRetryAfter() {
+        assertThat(service.fetchRss(url("/limited.xml")).error()).isEqualTo(ErrorCategory.RATE_LIMITED);
+        assertThat(service.fetchRss(url("/limited.xml")).error()).isEqualTo(ErrorCategory.CIRCUIT_OPEN);
+        assertThat(service.fetchRss(url("/rss.xml"))).isEqualTo(new FeedResult(List.of(), ErrorCategory.CIRCUIT_OPEN));
+
+        assertThat(userAgents).hasSize(1);
+        assertThat(service.getCircuitStatus(url("/rss.xml")).isOpen()).isTrue();
+        assertThat(service.getCircuitStatus(url("/rss.xml")).nextAttemptAt())
+                .isBetween(Instant.now().plusSeconds(100), Instant.now().plusSeconds(120));
+    }
+
+    @Test
+    @DisplayName("Should rotate user agents between requests")
+    void shouldRotateUserAgentsBetweenRequests() {
+        service.parseRssFromUrl(url("/rss.xml"));
+        service.parseRssFromUrl(url("/rss.xml"));
+        service.parseRssFromUrl(url("/rss.xml"));
+
+        assertThat(userAgents).containsExactly("Agent-A", "Agent-B", "Agent-C");
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private void respond(HttpExchange exchange, int status, byte[] body, String encoding) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        userAgents.add(exchange.getRequestHeaders().getFirst("User-Agent"));
+
+        exchange.getResponseHeaders().add("Content-Type", "application/rss+xml");
+        if (encoding != null) {
+            exchange.getResponseHeaders().add("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(String content) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+                out.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package io.conflictradar.ingestion;
 
 import io.conflictradar.ingestion.api.dto.RssArticle;
+import io.conflictradar.ingestion.api.exception.ErrorCategory;
 import io.conflictradar.ingestion.api.service.EventPublisherService;
 import io.conflictradar.ingestion.api.service.RssDeduplicationService;
 import io.conflictradar.ingestion.api.service.RssParsingService;
 import io.conflictradar.ingestion.api.service.ScheduledRssService;
+import io.conflictradar.ingestion.api.service.dedup.NearDuplicateDetector;
 import io.conflictradar.ingestion.config.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,6 +20,9 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -57,9 +62,13 @@ class ScheduledRssServiceTest {
                 Set.of("nuclear", "genocide")
         );
 
-        HttpConfig httpConfig = new HttpConfig(10000, 30000, 3, 1000, List.of("TestAgent"));
+        HttpConfig httpConfig = new HttpConfig(10000, 30000, 3, 1000, List.of("TestAgent"),
+                true, 16, 4);
 
-        RssConfig rssConfig = new RssConfig(sources, processing, httpConfig, riskAnalysis);
+        ConcurrencyConfig concurrency = new ConcurrencyConfig(true, 4, 1);
+
+        RssConfig rssConfig = new RssConfig(sources, processing, httpConfig, riskAnalysis, concurrency,
+                ParserConfig.defaults());
         service = new ScheduledRssService(rssParsingService, deduplicationService, eventPublisher, rssConfig);
     }
 
@@ -67,15 +76,15 @@ class ScheduledRssServiceTest {
     @DisplayName("Should process only enabled RSS sources")
     void shouldProcessOnlyEnabledRssSources() {
         RssArticle testArticle = createTestArticle("Test Article", "Normal content");
-        when(rssParsingService.parseRssFromUrl(anyString())).thenReturn(List.of(testArticle));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(testArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
-        verify(rssParsingService, times(2)).parseRssFromUrl(anyString()); // Only enabled sources
-        verify(rssParsingService).parseRssFromUrl("https://bbc.com/rss");
-        verify(rssParsingService).parseRssFromUrl("https://reuters.com/rss");
-        verify(rssParsingService, never()).parseRssFromUrl("https://disabled.com/rss"); // Disabled source
+        verify(rssParsingService, times(2)).fetchRss(anyString()); // Only enabled sources
+        verify(rssParsingService).fetchRss("https://bbc.com/rss");
+        verify(rssParsingService).fetchRss("https://reuters.com/rss");
+        verify(rssParsingService, never()).fetchRss("https://disabled.com/rss"); // Disabled source
     }
 
     @Test
@@ -88,8 +97,8 @@ class ScheduledRssServiceTest {
                 "Military conflict escalates with bomb attacks"
         );
 
-        when(rssParsingService.parseRssFromUrl(anyString())).thenReturn(List.of(conflictArticle));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(conflictArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -109,8 +118,8 @@ class ScheduledRssServiceTest {
                 "Violence escalates as military conflict continues"
         );
 
-        when(rssParsingService.parseRssFromUrl(anyString())).thenReturn(List.of(highRiskArticle));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(highRiskArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -128,11 +137,11 @@ class ScheduledRssServiceTest {
         RssArticle terrorismArticle = createTestArticle("Terrorism threat", "Bomb attack planned");
         RssArticle normalArticle = createTestArticle("Economic news", "Trade agreements discussed");
 
-        when(rssParsingService.parseRssFromUrl("https://bbc.com/rss"))
-                .thenReturn(List.of(terrorismArticle));
-        when(rssParsingService.parseRssFromUrl("https://reuters.com/rss"))
-                .thenReturn(List.of(normalArticle));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss("https://bbc.com/rss"))
+                .thenReturn(fetched(terrorismArticle));
+        when(rssParsingService.fetchRss("https://reuters.com/rss"))
+                .thenReturn(fetched(normalArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -161,11 +170,11 @@ class ScheduledRssServiceTest {
                 "Genocide concerns raised by officials"
         );
 
-        when(rssParsingService.parseRssFromUrl("https://bbc.com/rss"))
-                .thenReturn(List.of(criticalArticle));
-        when(rssParsingService.parseRssFromUrl("https://reuters.com/rss"))
-                .thenReturn(List.of());
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss("https://bbc.com/rss"))
+                .thenReturn(fetched(criticalArticle));
+        when(rssParsingService.fetchRss("https://reuters.com/rss"))
+                .thenReturn(fetched());
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -182,11 +191,11 @@ class ScheduledRssServiceTest {
     void shouldApplySourceWeightToRiskScore() {
         RssArticle article = createTestArticle("War news", "Conflict reported");
 
-        when(rssParsingService.parseRssFromUrl("https://bbc.com/rss"))
-                .thenReturn(List.of(article)); // BBC has weight 1.0
-        when(rssParsingService.parseRssFromUrl("https://reuters.com/rss"))
-                .thenReturn(List.of(article)); // Reuters has weight 0.9
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss("https://bbc.com/rss"))
+                .thenReturn(fetched(article)); // BBC has weight 1.0
+        when(rssParsingService.fetchRss("https://reuters.com/rss"))
+                .thenReturn(fetched(article)); // Reuters has weight 0.9
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -213,8 +222,8 @@ class ScheduledRssServiceTest {
                 "Critical violence escalates"
         );
 
-        when(rssParsingService.parseRssFromUrl(anyString())).thenReturn(List.of(highRiskArticle));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(highRiskArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -222,13 +231,58 @@ class ScheduledRssServiceTest {
         verify(eventPublisher, atLeastOnce()).publishHighRiskDetected(any(RssArticle.class));
     }
 
+    @Test
+    @DisplayName("Should publish near-duplicates with their cluster but not alert on them again")
+    void shouldNotAlertOnNearDuplicates() {
+        RssArticle highRiskArticle = createTestArticle(
+                "Nuclear war threat terrorism bomb attack",
+                "Critical violence escalates"
+        );
+
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(highRiskArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
+        when(deduplicationService.assignCluster(any())).thenReturn(new NearDuplicateDetector.Cluster("9f3c0a12e4b87d65", true));
+
+        service.parseAllRssFeeds();
+
+        ArgumentCaptor<RssArticle> articleCaptor = ArgumentCaptor.forClass(RssArticle.class);
+        verify(eventPublisher, times(2)).publishNewsIngested(articleCaptor.capture());
+        assertThat(articleCaptor.getAllValues()).allSatisfy(article ->
+                assertThat(article.clusterId()).isEqualTo("9f3c0a12e4b87d65"));
+        verify(eventPublisher, never()).publishHighRiskDetected(any(RssArticle.class));
+    }
+
+    @Test
+    @DisplayName("Should alert on a high-risk near-duplicate when no copy of the story was alerted on yet")
+    void shouldAlertOnFirstHighRiskCopyOfStory() {
+        RssArticle lowRiskOriginal = createTestArticle("Border talks resume", "Officials meet on Tuesday");
+        RssArticle highRiskCopy = createTestArticle("Border talks collapse: nuclear war threat, terrorism bomb attack",
+                "Critical violence escalates");
+        NearDuplicateDetector.Cluster cluster = new NearDuplicateDetector.Cluster("9f3c0a12e4b87d65", true);
+
+        when(rssParsingService.fetchRss("https://bbc.com/rss")).thenReturn(fetched(lowRiskOriginal));
+        when(rssParsingService.fetchRss("https://reuters.com/rss")).thenReturn(fetched(highRiskCopy));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
+        when(deduplicationService.assignCluster(any())).thenReturn(cluster);
+        when(deduplicationService.claimClusterAlert(cluster)).thenReturn(true);
+
+        service.parseAllRssFeeds();
+
+        verify(eventPublisher, times(2)).publishNewsIngested(any(RssArticle.class));
+        ArgumentCaptor<RssArticle> alerted = ArgumentCaptor.forClass(RssArticle.class);
+        verify(eventPublisher).publishHighRiskDetected(alerted.capture());
+        assertThat(alerted.getValue().link()).isEqualTo(highRiskCopy.link());
+        // The low-risk copy did not use up the alert of the story
+        verify(deduplicationService, times(1)).claimClusterAlert(cluster);
+    }
+
     @Test
     @DisplayName("Should not publish high-risk events when threshold not exceeded")
     void shouldNotPublishHighRiskEventsWhenThresholdNotExceeded() {
         RssArticle lowRiskArticle = createTestArticle("Economic summit", "Trade discussions continue");
 
-        when(rssParsingService.parseRssFromUrl(anyString())).thenReturn(List.of(lowRiskArticle));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(lowRiskArticle));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -242,18 +296,19 @@ class ScheduledRssServiceTest {
         RssArticle article1 = createTestArticle("News 1", "Content 1");
         RssArticle article2 = createTestArticle("News 2", "Content 2");
 
-        when(rssParsingService.parseRssFromUrl(anyString()))
-                .thenReturn(List.of(article1, article2));
+        when(rssParsingService.fetchRss(anyString()))
+                .thenReturn(fetched(article1, article2));
 
-        when(deduplicationService.isAlreadyProcessed(article1.link())).thenReturn(false);
-        when(deduplicationService.isAlreadyProcessed(article2.link())).thenReturn(true);
+        when(deduplicationService.filterAndMarkNew(anyString(), eq(List.of(article1.link(), article2.link()))))
+                .thenReturn(Set.of(article1.link())); // article2 already processed
 
         service.parseAllRssFeeds();
 
         verify(eventPublisher, times(2)).publishNewsIngested(any(RssArticle.class)); // Only for enabled sources
-        verify(deduplicationService, times(4)).isAlreadyProcessed(anyString()); // 2 articles × 2 sources
-        verify(deduplicationService, times(2)).markAsProcessed(article1.link()); // Only new articles
-        verify(deduplicationService, never()).markAsProcessed(article2.link()); // Duplicate not marked
+        verify(deduplicationService).filterAndMarkNew(eq("BBC News"), anyCollection()); // One batch per source
+        verify(deduplicationService).filterAndMarkNew(eq("Reuters"), anyCollection());
+        verify(deduplicationService, never()).isAlreadyProcessed(anyString());
+        verify(deduplicationService, never()).markAsProcessed(anyString());
     }
 
     @Test
@@ -261,8 +316,8 @@ class ScheduledRssServiceTest {
     void shouldPublishBatchProcessedEvent() {
         RssArticle article = createTestArticle("Test", "Content");
 
-        when(rssParsingService.parseRssFromUrl(anyString())).thenReturn(List.of(article));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss(anyString())).thenReturn(fetched(article));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
         service.parseAllRssFeeds();
 
@@ -272,11 +327,11 @@ class ScheduledRssServiceTest {
     @Test
     @DisplayName("Should handle RSS parsing failures gracefully")
     void shouldHandleRssParsingFailuresGracefully() {
-        when(rssParsingService.parseRssFromUrl("https://bbc.com/rss"))
+        when(rssParsingService.fetchRss("https://bbc.com/rss"))
                 .thenThrow(new RuntimeException("Network error"));
-        when(rssParsingService.parseRssFromUrl("https://reuters.com/rss"))
-                .thenReturn(List.of(createTestArticle("Reuters News", "Content")));
-        when(deduplicationService.isAlreadyProcessed(anyString())).thenReturn(false);
+        when(rssParsingService.fetchRss("https://reuters.com/rss"))
+                .thenReturn(fetched(createTestArticle("Reuters News", "Content")));
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
 
 
         service.parseAllRssFeeds();
@@ -285,6 +340,98 @@ class ScheduledRssServiceTest {
         verify(eventPublisher).publishBatchProcessed(anyString(), eq(1), eq(1)); // 1 successful article
     }
 
+    @Test
+    @DisplayName("Ingest should report the error of its own fetch, an open circuit included")
+    void ingestShouldReportTheErrorOfItsFetch() {
+        when(rssParsingService.fetchOnce("https://bbc.com/rss"))
+                .thenReturn(new RssParsingService.FeedResult(List.of(), ErrorCategory.CIRCUIT_OPEN));
+
+        ScheduledRssService.IngestResult result = service.ingest(new RssSource("https://bbc.com/rss", "BBC News", 1.0, true));
+
+        assertThat(result.error()).isEqualTo(ErrorCategory.CIRCUIT_OPEN);
+        assertThat(result.newArticles()).isEmpty();
+        // One-off fetch: no conditional GET, nothing kept for the URL
+        verify(rssParsingService, never()).fetchRss(anyString());
+        verifyNoInteractions(deduplicationService, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should keep the feed validators only once the new articles were published")
+    void shouldCommitValidatorsOnlyAfterPublishing() {
+        RssParsingService.FeedResult bbc = fetched(createTestArticle("News", "Content"));
+        RssParsingService.FeedResult reuters = fetched(createTestArticle("Other news", "Content"));
+        when(rssParsingService.fetchRss("https://bbc.com/rss")).thenReturn(bbc);
+        when(rssParsingService.fetchRss("https://reuters.com/rss")).thenReturn(reuters);
+        when(deduplicationService.filterAndMarkNew(eq("BBC News"), anyCollection()))
+                .thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
+        when(deduplicationService.filterAndMarkNew(eq("Reuters"), anyCollection()))
+                .thenThrow(new IllegalStateException("Redis down"));
+
+        service.parseAllRssFeeds();
+
+        verify(rssParsingService).commitValidators("https://bbc.com/rss", bbc);
+        // Dedup failed: the next poll downloads the feed again instead of getting a 304
+        verify(rssParsingService, never()).commitValidators(eq("https://reuters.com/rss"), any());
+    }
+
+    @Test
+    @DisplayName("Should fetch enabled sources concurrently")
+    void shouldFetchEnabledSourcesConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        when(rssParsingService.fetchRss(anyString())).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            // Each fetch waits for the other one: only completes if both run at the same time
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Sources were fetched sequentially");
+            }
+            return fetched(createTestArticle("News", "Content"));
+        });
+        when(deduplicationService.filterAndMarkNew(anyString(), anyCollection())).thenAnswer(invocation -> Set.copyOf(invocation.getArgument(1)));
+
+        service.parseAllRssFeeds();
+
+        verify(eventPublisher, times(2)).publishNewsIngested(any(RssArticle.class));
+        verify(eventPublisher).publishBatchProcessed(anyString(), eq(2), eq(2));
+    }
+
+    @Test
+    @DisplayName("Sequential polling should run off the timer thread and let stopPolling through")
+    void sequentialPollingShouldNotHoldUpTheTimer() throws Exception {
+        RssConfig sequential = new RssConfig(
+                List.of(new RssSource("https://bbc.com/rss", "BBC News", 1.0, true)),
+                new ProcessingConfig(Duration.ofMinutes(5), Duration.ZERO, 0.6, true),
+                new HttpConfig(10000, 30000, 3, 1000, List.of("TestAgent"), true, 16, 4),
+                new RiskAnalysis(Set.of("war"), Set.of("war"), Set.of("nuclear")),
+                new ConcurrencyConfig(false, 4, 1), ParserConfig.defaults());
+        service = new ScheduledRssService(rssParsingService, deduplicationService, eventPublisher, sequential);
+
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> pollThread = new AtomicReference<>();
+        when(rssParsingService.fetchRss(anyString())).thenAnswer(invocation -> {
+            pollThread.set(Thread.currentThread().getName());
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return fetched();
+        });
+
+        service.startPolling();
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The poll is still fetching: stopping must not wait for it
+        long start = System.nanoTime();
+        service.stopPolling();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(pollThread.get()).isNotEqualTo("rss-poll-timer");
+        assertThat(service.isPolling()).isFalse();
+        release.countDown();
+    }
+
+    private static RssParsingService.FeedResult fetched(RssArticle... articles) {
+        return new RssParsingService.FeedResult(List.of(articles), null);
+    }
+
     private RssArticle createTestArticle(String title, String description) {
         return new RssArticle(
                 "test-id-" + System.nanoTime(),
@@ -0,0 +1,48 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.util.TextNormalizer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    private final TextNormalizer normalizer = new TextNormalizer(16);
+
+    @Test
+    @DisplayName("Should strip tags and collapse whitespace")
+    void shouldStripTagsAndCollapseWhitespace() {
+        String cleaned = normalizer.clean("  <p>Ceasefire <b>talks</b>\n\tresume</p><img src=\"x.gif\"/>  ");
+
+        assertThat(cleaned).isEqualTo("Ceasefire talks resume");
+    }
+
+    @Test
+    @DisplayName("Should decode known entities and drop unknown ones")
+    void shouldDecodeKnownEntitiesAndDropUnknownOnes() {
+        String cleaned = normalizer.clean("Trump &amp; Xi&nbsp;meet &quot;soon&quot; &#8211; aides&#x2019; view &foo; end");
+
+        assertThat(cleaned).isEqualTo("Trump & Xi meet \"soon\" – aides’ view end");
+    }
+
+    @Test
+    @DisplayName("Should keep stray angle brackets and ampersands")
+    void shouldKeepStrayAngleBracketsAndAmpersands() {
+        assertThat(normalizer.clean("Q&A: rates < 5% & rising")).isEqualTo("Q&A: rates < 5% & rising");
+    }
+
+    @Test
+    @DisplayName("Should expose lowercase view of title and description")
+    void shouldExposeLowercaseViewOfTitleAndDescription() {
+        CharSequence view = normalizer.lowercase(normalizer.clean("War In <i>Region</i>"), "Troops ADVANCE");
+
+        assertThat(view.toString()).isEqualTo("war in region troops advance");
+        assertThat(view.length()).isEqualTo(28);
+
+        // The buffer grows and is reused across calls
+        String longText = "Word ".repeat(100);
+        assertThat(normalizer.clean(longText)).hasSize(499);
+        assertThat(normalizer.lowercase("A", null).toString()).isEqualTo("a");
+    }
+}
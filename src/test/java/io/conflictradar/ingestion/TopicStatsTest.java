@@ -0,0 +1,68 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.service.metrics.TopicStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopicStatsTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-07-29T10:00:05Z"));
+    private final TopicStats stats = new TopicStats(clock);
+
+    @Test
+    @DisplayName("Should count attempts, acks, failures and in-flight sends")
+    void shouldCountSendOutcomes() {
+        long first = stats.sent();
+        long second = stats.sent();
+        stats.sent();
+
+        stats.acked(first);
+        stats.failed(second);
+
+        TopicStats.Snapshot total = stats.total();
+        assertThat(total.attempted()).isEqualTo(3);
+        assertThat(total.acked()).isEqualTo(1);
+        assertThat(total.failed()).isEqualTo(1);
+        assertThat(total.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report send-to-ack latency percentiles")
+    void shouldReportLatencyPercentiles() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 99; i++) {
+            stats.sent();
+            stats.acked(now - 2_000_000); // ~2ms ago
+        }
+        stats.sent();
+        stats.acked(now - 500_000_000); // ~500ms ago
+
+        TopicStats.Snapshot total = stats.total();
+        assertThat(total.p50Ms()).isBetween(1.9, 100.0);
+        assertThat(total.p99Ms()).isBetween(1.9, 100.0);
+        assertThat(total.p999Ms()).isGreaterThanOrEqualTo(470.0);
+    }
+
+    @Test
+    @DisplayName("Should drop sends older than the window")
+    void shouldDropSendsOlderThanWindow() {
+        stats.acked(stats.sent());
+
+        clock.advance(Duration.ofMinutes(2));
+        stats.acked(stats.sent());
+        stats.failed(stats.sent());
+
+        assertThat(stats.window(Duration.ofMinutes(1)).attempted()).isEqualTo(2);
+        assertThat(stats.window(Duration.ofMinutes(1)).acked()).isEqualTo(1);
+        assertThat(stats.window(Duration.ofMinutes(5)).attempted()).isEqualTo(3);
+
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(stats.window(Duration.ofMinutes(5)).attempted()).isZero();
+        assertThat(stats.total().attempted()).isEqualTo(3);
+    }
+}
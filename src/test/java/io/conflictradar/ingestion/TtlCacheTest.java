@@ -0,0 +1,104 @@
+package io.conflictradar.ingestion;
+
+import io.conflictradar.ingestion.api.service.cache.TtlCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final TtlCache<String, String> cache = new TtlCache<>(2, Duration.ofMinutes(1), clock,
+            value -> !value.startsWith("error"));
+
+    @Test
+    @DisplayName("Should serve cached value until the TTL expires")
+    void shouldServeCachedValueUntilExpiry() {
+        assertThat(cache.get("a", this::load)).isEqualTo("a#1");
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(cache.get("a", this::load)).isEqualTo("a#1");
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get("a", this::load)).isEqualTo("a#2");
+
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+
+        assertThat(cache.get("a", this::load)).isEqualTo("a#1");
+        assertThat(cache.get("b", this::load)).isEqualTo("b#4");
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not keep values rejected as uncacheable")
+    void shouldNotKeepUncacheableValues() {
+        assertThat(cache.get("error", key -> "error#" + loads.incrementAndGet())).isEqualTo("error#1");
+        assertThat(cache.get("error", key -> "error#" + loads.incrementAndGet())).isEqualTo("error#2");
+    }
+
+    @Test
+    @DisplayName("Should load a key once for concurrent callers")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            results.add(executor.submit(() -> cache.get("slow", key -> {
+                loading.countDown();
+                await(release);
+                return load(key);
+            })));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("slow", this::load)));
+            }
+            // Give the waiters time to join the running load before releasing it
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("slow#1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    private String load(String key) {
+        return key + "#" + loads.incrementAndGet();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}